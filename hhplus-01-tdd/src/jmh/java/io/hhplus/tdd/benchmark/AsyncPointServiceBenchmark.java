@@ -0,0 +1,78 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.service.AsyncPointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /async/point 부하 테스트
+ * inFlight 개의 충전 요청을 한꺼번에 넣고 모두 끝날 때까지의 시간을 잰다.
+ * 요청마다 최대 latencyMillis 의 지연이 세 번(조회, 저장, 내역) 있으므로, 스레드를 막는 방식이라면 inFlight 개의 스레드가 필요하다.
+ * threads 개의 스레드로 한 번의 지연 시간과 비슷하게 끝나는지 본다.
+ * 저장소는 지연 없는 메모리 저장소(PointServiceFixture)이고 지연은 타이머로만 준다.
+ * 서버에서 같은 조건으로 재려면 point.async.latency.* 를 latencyMillis 로, point.storage.user-point=striped,
+ * point.storage.history=mmap(또는 columnar)로 띄운다. 기본값(지연 0, table 저장소)으로는 타이머 지연이 없고,
+ * 대신 테이블 저장소의 sleep 이 pointExecutor 스레드를 막아 이 벤치마크와 다른 것을 재게 된다.
+ *
+ * ./gradlew jmh -Pjmh.includes=AsyncPointServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AsyncPointServiceBenchmark {
+
+    @Param({"10000", "50000"})
+    private int inFlight;
+
+    @Param({"4"})
+    private int threads;
+
+    @Param({"50"})
+    private long latencyMillis;
+
+    @Param({"10000"})
+    private int users;
+
+    private PointServiceFixture fixture;
+    private AsyncPointService pointService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        fixture = new PointServiceFixture(users, 0L);
+        pointService = fixture.async(threads, latencyMillis);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws InterruptedException {
+        pointService.close();
+        fixture.close();
+    }
+
+    @Benchmark
+    public UserPoint chargeAll() {
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[inFlight];
+        for (int i = 0; i < inFlight; i++) {
+            requests[i] = pointService.charge((long) (i % users), 1L);
+        }
+        CompletableFuture.allOf(requests).join();
+        return pointService.getPoint(0L).join();
+    }
+}
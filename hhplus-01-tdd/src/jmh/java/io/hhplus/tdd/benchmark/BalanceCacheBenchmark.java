@@ -0,0 +1,60 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.service.PointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /point/{id} 경로(getPoint) 의 지연 분포를 캐시 사용 여부에 따라 비교한다.
+ * SampleTime 모드의 p99 를 비교하면 된다. 100명의 핫 유저에게 조회의 90% 가 몰린다.
+ *
+ * ./gradlew jmh -Pjmh.includes=BalanceCacheBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class BalanceCacheBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int HOT_USERS = 100;
+
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    @Param({"1"})
+    private long latencyMillis;
+
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PointServiceFixture fixture =
+                new PointServiceFixture(USERS, TimeUnit.MILLISECONDS.toNanos(latencyMillis), cacheEnabled, "sync");
+        for (long id = 0; id < USERS; id++) {
+            fixture.userPointStore.insertOrUpdate(id, 1_000L);
+        }
+        pointService = fixture.pointService();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public UserPoint getPoint() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextInt(10) < 9 ? random.nextInt(HOT_USERS) : random.nextInt(USERS);
+        return pointService.getPoint(id);
+    }
+}
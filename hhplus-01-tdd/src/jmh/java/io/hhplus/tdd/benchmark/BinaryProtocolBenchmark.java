@@ -0,0 +1,133 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.binary.PointBinaryClient;
+import io.hhplus.tdd.point.binary.PointBinaryServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 같은 서버에서 JSON(/point) 과 바이너리 프로토콜(PointBinaryServer) 의 처리량 비교
+ * - json* : java.net.http 클라이언트로 조회(GET /point/{id}) 또는 충전 후 사용(PATCH /point/{id}/charge, use)
+ * - binary* : 스레드 8 개가 PointBinaryClient 연결 하나를 같이 쓰며 응답을 받은 뒤 다음 요청을 보낸다.
+ * - binaryPipelined : 응답을 기다리지 않고 PIPELINE 개의 충전을 보내 모두 받은 뒤, 같은 방식으로 사용을 보낸다.
+ * 저장소는 지연이 없는 striped / columnar 를 사용하므로 전송과 직렬화 비용 차이가 드러난다.
+ *
+ * ./gradlew jmh -Pjmh.includes=BinaryProtocolBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@Fork(1)
+public class BinaryProtocolBenchmark {
+
+    private static final int PIPELINE = 32;
+
+    @Param({"10000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUri;
+    private PointBinaryClient binaryClient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(TddApplication.class,
+                "--server.port=0",
+                "--point.binary.enabled=true",
+                "--point.binary.port=0",
+                "--point.storage.user-point=striped",
+                "--point.storage.history=columnar",
+                "--logging.level.root=warn");
+        int httpPort = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUri = "http://127.0.0.1:" + httpPort + "/point/";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        binaryClient = PointBinaryClient.connect("127.0.0.1", context.getBean(PointBinaryServer.class).port());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        binaryClient.close();
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public String jsonGetPoint() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + randomUser())).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public UserPoint binaryGetPoint() {
+        return binaryClient.getPoint(randomUser());
+    }
+
+    @Benchmark
+    public String jsonChargeUse() throws IOException, InterruptedException {
+        long userId = randomUser();
+        patch(userId, "charge");
+        return patch(userId, "use");
+    }
+
+    @Benchmark
+    public UserPoint binaryChargeUse() {
+        long userId = randomUser();
+        binaryClient.charge(userId, 10L);
+        return binaryClient.use(userId, 10L);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE)
+    public Object binaryPipelined() {
+        long[] userIds = new long[PIPELINE];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[PIPELINE];
+        for (int i = 0; i < PIPELINE; i++) {
+            userIds[i] = randomUser();
+            futures[i] = binaryClient.chargeAsync(userIds[i], 10L);
+        }
+        CompletableFuture.allOf(futures).join();
+        for (int i = 0; i < PIPELINE; i++) {
+            futures[i] = binaryClient.useAsync(userIds[i], 10L);
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+
+    private String patch(long userId, String operation) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUri + userId + "/" + operation))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("10"))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextInt(users);
+    }
+}
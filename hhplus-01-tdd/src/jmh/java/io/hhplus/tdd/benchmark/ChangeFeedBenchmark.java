@@ -0,0 +1,88 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.point.HistoryChanges;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.handler.PointChangeFeed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 새 내역 newRows 개를 가져가는 비용 비교
+ * - pollPerUser : 유저마다 전체 내역을 조회한 뒤 마지막으로 본 id 이후만 고른다. (기존 /point/{id}/histories 폴링)
+ * - changeFeed : 마지막으로 본 id 이후만 읽는다. (/point/changes)
+ * 한 번의 호출마다 newRows 개를 저장한 뒤 가져간다.
+ *
+ * ./gradlew jmh -Pjmh.includes=ChangeFeedBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ChangeFeedBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"10000"})
+    private int users;
+
+    @Param({"1000"})
+    private int newRows;
+
+    private ColumnarPointHistoryStore historyStore;
+    private PointChangeFeed changeFeed;
+    private long cursor;
+    private long inserted;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        historyStore = new ColumnarPointHistoryStore(65536);
+        changeFeed = new PointChangeFeed(historyStore, newRows);
+        appendRows(rows);
+        cursor = inserted;
+    }
+
+    @Benchmark
+    public long pollPerUser() {
+        appendRows(newRows);
+        long last = cursor;
+        long count = 0;
+        for (long userId = 0; userId < users; userId++) {
+            List<PointHistory> histories = historyStore.selectAllByUserId(userId);
+            for (int i = histories.size() - 1; i >= 0 && histories.get(i).id() > cursor; i--) {
+                last = Math.max(last, histories.get(i).id());
+                count++;
+            }
+        }
+        cursor = last;
+        return count;
+    }
+
+    @Benchmark
+    public long changeFeed() {
+        appendRows(newRows);
+        HistoryChanges changes = changeFeed.read(cursor, newRows);
+        cursor = changes.nextCursor();
+        return changes.items().size();
+    }
+
+    private void appendRows(int count) {
+        for (int i = 0; i < count; i++) {
+            historyStore.insert(inserted % users, 100L, TransactionType.CHARGE, inserted);
+            inserted++;
+        }
+    }
+}
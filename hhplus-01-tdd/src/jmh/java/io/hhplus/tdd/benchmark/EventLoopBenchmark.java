@@ -0,0 +1,89 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.service.EventLoopPointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * point.engine=event-loop 의 writer 처리량 벤치마크 (지연 없는 메모리 저장소)
+ * - pipelined : 요청 스레드가 결과를 기다리지 않고 BATCH 개를 넣은 뒤 마지막 결과만 기다린다. writer 스레드 자체의 처리량을 본다.
+ * - sync : charge 마다 결과를 기다린다. PointServiceBenchmark 의 engine=lock 과 비교한다.
+ * - contention=hot 이면 모든 요청이 한 유저(한 writer)로 간다.
+ *
+ * ./gradlew jmh -Pjmh.includes=EventLoopBenchmark -Pjmh.threads=4
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class EventLoopBenchmark {
+
+    private static final int BATCH = 256;
+    private static final long HOT_USER = 1L;
+
+    @Param({"hot", "uniform"})
+    private String contention;
+
+    @Param({"4"})
+    private int partitions;
+
+    @Param({"10000"})
+    private int users;
+
+    private PointServiceFixture fixture;
+    private EventLoopPointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(users, 0L);
+        pointService = fixture.eventLoop(partitions);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        fixture.close();
+    }
+
+    /**
+     * 충전과 같은 금액의 사용을 번갈아 넣어 잔액 한도에 걸리지 않게 한다.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public UserPoint pipelined() {
+        CompletableFuture<UserPoint> last = null;
+        for (int i = 0; i < BATCH; i += 2) {
+            long id = nextUser();
+            pointService.submit(id, TransactionType.CHARGE, 1L);
+            last = pointService.submit(id, TransactionType.USE, 1L);
+        }
+        return last.join();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public UserPoint sync() {
+        long id = nextUser();
+        pointService.charge(id, 1L);
+        return pointService.use(id, 1L);
+    }
+
+    private long nextUser() {
+        return "hot".equals(contention) ? HOT_USER : ThreadLocalRandom.current().nextInt(users);
+    }
+}
@@ -0,0 +1,76 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.service.PointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 플랫폼 스레드 풀(톰캣 기본 200개) 과 가상 스레드에서 동시 요청을 처리할 때의 처리량 비교
+ * 한 번의 벤치마크 호출이 concurrency 개의 요청(유저마다 charge 후 use)을 동시에 보내고 모두 끝날 때까지 기다린다.
+ * 저장소 호출마다 latencyMillis 만큼 고정 지연을 준다.
+ *
+ * ./gradlew jmh -Pjmh.includes=ExecutionModeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"200", "2000", "10000"})
+    private int concurrency;
+
+    @Param({"5"})
+    private long latencyMillis;
+
+    private ExecutorService executor;
+    private PointServiceFixture fixture;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+        fixture = new PointServiceFixture(concurrency, TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        pointService = fixture.pointService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.close();
+        fixture.close();
+    }
+
+    @Benchmark
+    public void concurrentRequests() {
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            long userId = i;
+            requests[i] = CompletableFuture.runAsync(() -> {
+                pointService.charge(userId, 1L);
+                pointService.use(userId, 1L);
+            }, executor);
+        }
+        CompletableFuture.allOf(requests).join();
+    }
+}
@@ -0,0 +1,108 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.exceptions.PointHotKeyException;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.handler.HotKeyGuard;
+import io.hhplus.tdd.point.service.PointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 한 명에게 요청이 몰릴 때 다른 유저의 응답 시간 비교 (hot key 입장 제한 on/off)
+ * 요청 스레드 풀(톰캣 풀 역할, REQUEST_THREADS 개) 에 hot 그룹은 유저 1 의 충전을, other 그룹은 임의 유저의 충전을 넣고 끝날 때까지 기다린다.
+ * 제한이 없으면 유저 1 의 요청이 풀 스레드를 모두 붙잡고 유저 락을 기다리므로 other 요청도 풀에서 기다린다.
+ * 저장소 호출마다 latencyMillis 만큼 고정 지연을 준다. other 의 응답 시간 분포를 비교한다.
+ *
+ * ./gradlew jmh -Pjmh.includes=HotKeyGuardBenchmark
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class HotKeyGuardBenchmark {
+
+    private static final int REQUEST_THREADS = 8;
+    private static final long HOT_USER = 0L;
+
+    @Param({"false", "true"})
+    private boolean guardEnabled;
+
+    @Param({"1"})
+    private long latencyMillis;
+
+    private ExecutorService executor;
+    private PointServiceFixture fixture;
+    private PointService pointService;
+    private HotKeyGuard hotKeyGuard;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(REQUEST_THREADS);
+        fixture = new PointServiceFixture(100_000, TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+        pointService = fixture.pointService();
+        hotKeyGuard = new HotKeyGuard(guardEnabled, 1_000L, 1_000, REQUEST_THREADS / 2, 2, 4096,
+                System::currentTimeMillis);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.close();
+        fixture.close();
+        System.out.printf("%n[guard=%s] %s%n", guardEnabled, hotKeyGuard.stats());
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(16)
+    public Object hot() {
+        return request(HOT_USER);
+    }
+
+    @Benchmark
+    @Group("storm")
+    @GroupThreads(2)
+    public Object other() {
+        return request(1 + ThreadLocalRandom.current().nextInt(99_999));
+    }
+
+    private Object request(long userId) {
+        try {
+            return CompletableFuture.supplyAsync(() -> hotKeyGuard.execute(userId, () -> charge(userId)), executor)
+                    .join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof PointHotKeyException rejected) {
+                return rejected;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 충전 한도에 닿으면 한 번 모두 사용하고 다시 충전한다.
+     */
+    private UserPoint charge(long userId) {
+        UserPoint charged = pointService.charge(userId, 1L);
+        if (charged.point() >= 900_000L) {
+            return pointService.use(userId, charged.point());
+        }
+        return charged;
+    }
+}
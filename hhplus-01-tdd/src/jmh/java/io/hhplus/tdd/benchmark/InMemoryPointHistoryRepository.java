@@ -0,0 +1,44 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 지연 없는 내역 저장소
+ * 유저별 큐에 저장하므로 조회 시 다른 유저의 내역을 훑지 않는다.
+ * 큐는 락 없이 추가/순회하므로 저장소 자체가 벤치마크의 경합 지점이 되지 않는다.
+ * 같은 유저 내역의 id 순서는 서비스가 유저 단위로 insert 를 직렬화한다는 전제에서만 지켜진다.
+ */
+public class InMemoryPointHistoryRepository implements PointHistoryRepository {
+
+    private final ConcurrentHashMap<Long, Queue<PointHistory>> table = new ConcurrentHashMap<>();
+    private final AtomicLong cursor = new AtomicLong(1);
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+        table.computeIfAbsent(userId, key -> new ConcurrentLinkedQueue<>()).add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        Queue<PointHistory> histories = table.get(userId);
+        return histories == null ? List.of() : List.copyOf(histories);
+    }
+
+    @Override
+    public void forEach(Consumer<PointHistory> consumer) {
+        for (Queue<PointHistory> histories : table.values()) {
+            histories.forEach(consumer);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.benchmark;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 테이블의 throttle(임의 sleep) 대신 사용하는 고정 지연
+ * 0 이면 지연 없이 바로 반환한다.
+ */
+public final class Latency {
+
+    private Latency() {
+    }
+
+    public static void pause(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + nanos;
+        long remaining = nanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+}
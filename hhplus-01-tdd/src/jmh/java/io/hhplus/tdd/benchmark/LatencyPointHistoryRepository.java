@@ -0,0 +1,39 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 내역 저장소 호출마다 고정 지연을 추가한다.
+ */
+public class LatencyPointHistoryRepository implements PointHistoryRepository {
+
+    private final PointHistoryRepository delegate;
+    private final long latencyNanos;
+
+    public LatencyPointHistoryRepository(PointHistoryRepository delegate, long latencyNanos) {
+        this.delegate = delegate;
+        this.latencyNanos = latencyNanos;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        Latency.pause(latencyNanos);
+        return delegate.insert(userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        Latency.pause(latencyNanos);
+        return delegate.selectAllByUserId(userId);
+    }
+
+    @Override
+    public void forEach(Consumer<PointHistory> consumer) {
+        delegate.forEach(consumer);
+    }
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+
+import java.util.function.Consumer;
+
+/**
+ * 잔액 저장소 호출마다 고정 지연을 추가한다.
+ */
+public class LatencyUserPointRepository implements UserPointRepository {
+
+    private final UserPointRepository delegate;
+    private final long latencyNanos;
+
+    public LatencyUserPointRepository(UserPointRepository delegate, long latencyNanos) {
+        this.delegate = delegate;
+        this.latencyNanos = latencyNanos;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        Latency.pause(latencyNanos);
+        return delegate.selectById(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        Latency.pause(latencyNanos);
+        return delegate.insertOrUpdate(id, amount);
+    }
+
+    @Override
+    public UserPoint compareAndSet(long id, long expectedVersion, long amount) {
+        Latency.pause(latencyNanos);
+        return delegate.compareAndSet(id, expectedVersion, amount);
+    }
+
+    @Override
+    public void forEach(Consumer<UserPoint> consumer) {
+        delegate.forEach(consumer);
+    }
+
+    @Override
+    public void restore(UserPoint userPoint) {
+        delegate.restore(userPoint);
+    }
+}
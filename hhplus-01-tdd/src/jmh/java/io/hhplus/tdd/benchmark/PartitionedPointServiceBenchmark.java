@@ -0,0 +1,82 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.exceptions.PointMaxException;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.service.PartitionedPointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * point.engine=partitioned 의 shard 수에 따른 처리량 벤치마크
+ * - shard 마다 저장소와 락, threadsPerShard 개의 스레드를 따로 가지므로, 저장소 지연이 있을 때 처리량이 shard 수에 비례해 늘어나는지 본다.
+ * - 요청 스레드 수가 shards * threadsPerShard 보다 적으면 shard 를 늘려도 처리량이 늘지 않으므로 -Pjmh.threads 를 충분히 준다.
+ *
+ * ./gradlew jmh -Pjmh.includes=PartitionedPointServiceBenchmark -Pjmh.threads=64
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class PartitionedPointServiceBenchmark {
+
+    private static final long INITIAL_POINT = 500_000L;
+
+    @Param({"1", "2", "4", "8"})
+    private int shards;
+
+    @Param({"100"})
+    private long latencyMicros;
+
+    @Param({"8"})
+    private int threadsPerShard;
+
+    @Param({"10000"})
+    private int users;
+
+    private PartitionedPointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long latencyNanos = TimeUnit.MICROSECONDS.toNanos(latencyMicros);
+        pointService = new PartitionedPointService(
+                shardId -> new PointServiceFixture(users, latencyNanos).shard(shardId, threadsPerShard),
+                shards,
+                128
+        );
+        for (long id = 0; id < users; id++) {
+            pointService.charge(id, INITIAL_POINT);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pointService.close();
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        long id = ThreadLocalRandom.current().nextInt(users);
+        try {
+            return pointService.charge(id, 1L);
+        } catch (PointMaxException e) {
+            return pointService.use(id, INITIAL_POINT);
+        }
+    }
+
+    @Benchmark
+    public UserPoint getPoint() {
+        return pointService.getPoint((long) ThreadLocalRandom.current().nextInt(users));
+    }
+}
@@ -0,0 +1,118 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 만료 대기 lot 이 수백만 개일 때 tick 하나를 처리하는 비용
+ * - expireTick : 시계를 tick 하나 진행하고 {@link PointExpiry#expireDue()} 를 호출한다. 만료된 만큼 새로 충전해 대기 lot 수를 유지한다.
+ * - scanHistory : 같은 시각에 만료 대상을 찾으려고 충전 내역 전체를 훑는 비용 (FIFO 차감 계산을 뺀 하한)
+ * 유저마다 lotsPerUser 번을 만료 기간 안의 임의 시각에 충전해 둔다. 잔액은 만료량보다 넉넉하게 채운다. 적재 후 lot 하나당 heap 사용량을 출력한다.
+ *
+ * ./gradlew jmh -Pjmh.includes=PointExpiryBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PointExpiryBenchmark {
+
+    private static final long TICK_MILLIS = 1_000L;
+    private static final Duration PERIOD = Duration.ofHours(1);
+
+    @Param({"1000000"})
+    private int users;
+
+    @Param({"4"})
+    private int lotsPerUser;
+
+    private final AtomicLong clock = new AtomicLong();
+    private ColumnarPointHistoryStore historyStore;
+    private PointExpiry pointExpiry;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        StripedUserPointStore userPointStore = new StripedUserPointStore(64, users);
+        historyStore = new ColumnarPointHistoryStore(65536);
+        LockManager lockManager = new LockManager();
+        PointHistorySummary summary = new PointHistorySummary(historyStore, "Asia/Seoul", 92, 24);
+        pointExpiry = new PointExpiry(userPointStore, lockManager, new BalanceCache(lockManager, false, 1, 1),
+                new PointHistoryWriter(historyStore, summary, "sync", 1, 1), true, PERIOD, TICK_MILLIS, clock::get);
+
+        long[] chargedAt = new long[users * lotsPerUser];
+        for (int i = 0; i < chargedAt.length; i++) {
+            chargedAt[i] = (long) (random.nextDouble() * PERIOD.toMillis());
+        }
+        Arrays.sort(chargedAt);
+        for (int i = 0; i < chargedAt.length; i++) {
+            historyStore.insert(i % users, 100L, TransactionType.CHARGE, chargedAt[i]);
+        }
+        for (long id = 0; id < users; id++) {
+            userPointStore.insertOrUpdate(id, PointPolicy.MAX_POINT);
+        }
+
+        long before = usedHeap();
+        for (int i = 0; i < chargedAt.length; i++) {
+            pointExpiry.record(i % users, TransactionType.CHARGE, 100L, chargedAt[i]);
+        }
+        long after = usedHeap();
+        System.out.printf("%n[expiry] users=%d lots=%d heap/lot=%.1f bytes%n", users, chargedAt.length,
+                (double) (after - before) / chargedAt.length);
+        clock.set(PERIOD.toMillis());
+    }
+
+    @Benchmark
+    public long expireTick() {
+        long now = clock.addAndGet(TICK_MILLIS);
+        long expired = pointExpiry.expireDue();
+        for (long charged = 0; charged < expired; charged += 100L) {
+            pointExpiry.record(random.nextInt(users), TransactionType.CHARGE, 100L, now);
+        }
+        return expired;
+    }
+
+    @Benchmark
+    public long scanHistory() {
+        long dueBefore = clock.get() - PERIOD.toMillis();
+        long[] due = new long[1];
+        historyStore.forEach(history -> {
+            if (history.type() == TransactionType.CHARGE && history.updateMillis() <= dueBefore) {
+                due[0] += history.amount();
+            }
+        });
+        return due[0];
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,118 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.exceptions.PointConflictException;
+import io.hhplus.tdd.exceptions.PointMaxException;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.service.IPointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 핫 패스(charge, use, getPoint, getHistory) 벤치마크
+ * - contention=hot : 모든 스레드가 한 유저에게 요청한다.
+ * - contention=uniform : users 명에게 고르게 요청한다.
+ * - latencyMicros : 저장소 호출마다 주는 고정 지연 (0 이면 엔진 자체만 측정)
+ * - engine : point.engine 과 같은 값 (lock, batch, optimistic, event-loop)
+ *   optimistic 은 경합이 없으면(uniform) 락 비용이 없고, 한 유저에 몰리면(hot) 충돌과 재시도가 늘어난다.
+ * 스레드 수는 -Pjmh.threads 로 바꿔 가며 측정한다.
+ *
+ * ./gradlew jmh -Pjmh.includes=PointServiceBenchmark -Pjmh.threads=8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+public class PointServiceBenchmark {
+
+    private static final long HOT_USER = 1L;
+    private static final long INITIAL_POINT = 500_000L;
+    private static final int HISTORIES_PER_USER = 20;
+
+    @Param({"hot", "uniform"})
+    private String contention;
+
+    @Param({"0", "100"})
+    private long latencyMicros;
+
+    @Param({"lock", "batch", "optimistic", "event-loop"})
+    private String engine;
+
+    @Param({"10000"})
+    private int users;
+
+    private PointServiceFixture fixture;
+    private IPointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(users, TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+        for (long id = 0; id < users; id++) {
+            fixture.userPointStore.insertOrUpdate(id, INITIAL_POINT);
+        }
+        for (int i = 0; i < HISTORIES_PER_USER; i++) {
+            for (long id = 0; id < users; id++) {
+                fixture.pointHistoryRepository.insert(id, 1L, TransactionType.CHARGE, i);
+            }
+        }
+        pointService = fixture.engine(engine);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        long id = nextUser();
+        try {
+            return pointService.charge(id, 1L);
+        } catch (PointMaxException e) {
+            return pointService.use(id, INITIAL_POINT);
+        } catch (PointConflictException e) {
+            return null; // optimistic 재시도 한도 초과
+        }
+    }
+
+    @Benchmark
+    public UserPoint use() {
+        long id = nextUser();
+        try {
+            return pointService.use(id, 1L);
+        } catch (PointNotException e) {
+            return pointService.charge(id, INITIAL_POINT);
+        } catch (PointConflictException e) {
+            return null; // optimistic 재시도 한도 초과
+        }
+    }
+
+    @Benchmark
+    public UserPoint getPoint() {
+        return pointService.getPoint(nextUser());
+    }
+
+    @Benchmark
+    public List<PointHistory> getHistory() {
+        return pointService.getHistory(nextUser());
+    }
+
+    private long nextUser() {
+        return "hot".equals(contention) ? HOT_USER : ThreadLocalRandom.current().nextInt(users);
+    }
+}
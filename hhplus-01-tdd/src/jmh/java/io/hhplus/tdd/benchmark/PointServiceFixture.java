@@ -0,0 +1,143 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointBatcher;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import io.hhplus.tdd.point.handler.PointTransferHandler;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.partition.PointShard;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.AsyncPointService;
+import io.hhplus.tdd.point.service.BatchPointService;
+import io.hhplus.tdd.point.service.EventLoopPointService;
+import io.hhplus.tdd.point.service.IPointService;
+import io.hhplus.tdd.point.service.OptimisticPointService;
+import io.hhplus.tdd.point.service.PointService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크용 포인트 서비스 조립
+ * UserPointTable/PointHistoryTable 의 임의 sleep 대신 지연 없는 메모리 저장소를 쓰고,
+ * latencyNanos 가 0 보다 크면 저장소 호출마다 고정 지연을 준다.
+ */
+public class PointServiceFixture {
+
+    public final StripedUserPointStore userPointStore;
+    public final UserPointRepository userPointRepository;
+    public final PointHistoryRepository pointHistoryRepository;
+    public final LockManager lockManager;
+    public final BalanceCache balanceCache;
+    public final PointHistorySummary pointHistorySummary;
+    public final PointHistoryWriter pointHistoryWriter;
+    public final PointMetrics pointMetrics;
+    private final List<EventLoopPointService> eventLoops = new ArrayList<>();
+
+    public PointServiceFixture(int expectedUsers, long latencyNanos) {
+        this(expectedUsers, latencyNanos, false, "sync");
+    }
+
+    public PointServiceFixture(int expectedUsers, long latencyNanos, boolean cacheEnabled, String historyWriteMode) {
+        this(expectedUsers, latencyNanos, cacheEnabled, historyWriteMode, PointMetrics.noop());
+    }
+
+    public PointServiceFixture(int expectedUsers, long latencyNanos, boolean cacheEnabled, String historyWriteMode,
+                               PointMetrics pointMetrics) {
+        this.userPointStore = new StripedUserPointStore(64, expectedUsers);
+        this.userPointRepository = new LatencyUserPointRepository(userPointStore, latencyNanos);
+        this.pointHistoryRepository = new LatencyPointHistoryRepository(new InMemoryPointHistoryRepository(), latencyNanos);
+        this.lockManager = new LockManager();
+        this.balanceCache = new BalanceCache(lockManager, cacheEnabled, Math.max(1, expectedUsers), 16);
+        this.pointHistorySummary = new PointHistorySummary(pointHistoryRepository, "Asia/Seoul", 92, 24);
+        this.pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, pointHistorySummary, historyWriteMode,
+                512, 65536);
+        this.pointMetrics = pointMetrics;
+    }
+
+    public PointService pointService() {
+        return new PointService(pointHistoryRepository, userPointRepository, lockManager, balanceCache, pointHistoryWriter,
+                pointHistorySummary, pointMetrics, transferHandler(), PointExpiry.disabled());
+    }
+
+    public PointTransferHandler transferHandler() {
+        return new PointTransferHandler(userPointRepository, lockManager, balanceCache, pointHistoryWriter,
+                PointExpiry.disabled());
+    }
+
+    /**
+     * 이 fixture 의 저장소와 락으로 shard 하나를 만든다. 닫으면 내역 기록기도 함께 닫힌다.
+     */
+    public PointShard shard(String shardId, int threads) {
+        return new PointShard(shardId, userPointRepository, pointHistoryRepository, lockManager, balanceCache,
+                pointHistorySummary, pointHistoryWriter, pointMetrics, threads);
+    }
+
+    /**
+     * point.engine 값과 같은 이름으로 서비스 구현을 고른다.
+     */
+    public IPointService engine(String engine) {
+        return switch (engine) {
+            case "lock" -> pointService();
+            case "batch" -> new BatchPointService(
+                    pointHistoryRepository,
+                    userPointRepository,
+                    new PointBatcher(userPointRepository, pointHistoryWriter, lockManager, balanceCache,
+                            PointExpiry.disabled(), 256),
+                    balanceCache,
+                    pointHistoryWriter,
+                    pointHistorySummary,
+                    pointMetrics,
+                    transferHandler()
+            );
+            case "optimistic" -> new OptimisticPointService(
+                    pointHistoryRepository,
+                    userPointRepository,
+                    balanceCache,
+                    pointHistoryWriter,
+                    pointHistorySummary,
+                    pointMetrics,
+                    32,
+                    1_000L,
+                    1_000_000L
+            );
+            case "event-loop" -> eventLoop(4);
+            default -> throw new IllegalArgumentException("알 수 없는 engine: " + engine);
+        };
+    }
+
+    public EventLoopPointService eventLoop(int partitions) {
+        EventLoopPointService service = new EventLoopPointService(
+                pointHistoryRepository,
+                userPointRepository,
+                balanceCache,
+                pointHistoryWriter,
+                pointHistorySummary,
+                pointMetrics,
+                partitions,
+                16384
+        );
+        eventLoops.add(service);
+        return service;
+    }
+
+    /**
+     * 저장소 지연을 latencyMillis 이하의 타이머로 흉내 내는 비동기 서비스를 만든다.
+     * 저장소에 지연이 없으므로 lock 엔진 호출은 타이머 스레드에서 바로 실행한다.
+     */
+    public AsyncPointService async(int threads, long latencyMillis) {
+        return new AsyncPointService(pointService(), Runnable::run, threads, latencyMillis, latencyMillis, latencyMillis);
+    }
+
+    public void close() throws InterruptedException {
+        for (EventLoopPointService eventLoop : eventLoops) {
+            eventLoop.close();
+        }
+        pointHistoryWriter.close();
+    }
+}
@@ -0,0 +1,100 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import io.hhplus.tdd.point.handler.PointReconciler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전체 유저의 잔액과 내역 합계를 대조하는 비용 (불일치 유저 1 명)
+ * - replayPerUser : 유저마다 전체 내역을 조회해 합계를 내고 잔액과 비교한다. (지금까지 장애 후 하던 방식)
+ * - reconcile : {@link PointReconciler} 로 내역을 구간별로 나눠 parallelism 개 스레드에서 동시에 읽는다. (0 이면 코어 수)
+ * 내역 rows 개를 users 명에게 고르게 나눠 충전한 상태에서 측정한다. (행 하나에 17 byte, 1억 건은 jvmArgsAppend 의 heap 을 4g 이상으로 늘려 측정한다)
+ *
+ * ./gradlew jmh -Pjmh.includes=ReconcileBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class ReconcileBenchmark {
+
+    @Param({"20000000"})
+    private long rows;
+
+    @Param({"1000000"})
+    private int users;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private StripedUserPointStore userPointStore;
+    private ColumnarPointHistoryStore historyStore;
+    private PointReconciler reconciler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userPointStore = new StripedUserPointStore(64, users);
+        historyStore = new ColumnarPointHistoryStore(65536);
+        SplittableRandom random = new SplittableRandom(42);
+        long[] balances = new long[users];
+        for (long i = 0; i < rows; i++) {
+            int userId = random.nextInt(users);
+            historyStore.insert(userId, 10L, TransactionType.CHARGE, i);
+            balances[userId] += 10L;
+        }
+        for (int userId = 0; userId < users; userId++) {
+            userPointStore.insertOrUpdate(userId, balances[userId]);
+        }
+        userPointStore.insertOrUpdate(1L, balances[1] + 1);
+
+        LockManager lockManager = new LockManager();
+        PointHistorySummary summary = new PointHistorySummary(historyStore, "Asia/Seoul", 92, 24);
+        reconciler = new PointReconciler(historyStore, userPointStore, lockManager,
+                new BalanceCache(lockManager, false, 1, 1), new PointHistoryWriter(historyStore, summary, "sync", 1, 1),
+                PointExpiry.disabled(), "lock", false, "columnar", parallelism, 1 << 20, 1_000);
+    }
+
+    @Benchmark
+    public int replayPerUser() {
+        int mismatches = 0;
+        for (long userId = 0; userId < users; userId++) {
+            long sum = 0;
+            for (PointHistory history : historyStore.selectAllByUserId(userId)) {
+                sum += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+            }
+            if (sum != userPointStore.selectById(userId).point()) {
+                mismatches++;
+            }
+        }
+        return mismatches;
+    }
+
+    @Benchmark
+    public int reconcile() {
+        return reconciler.reconcile(false).mismatches();
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.benchmark;
+
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.point.service.IPointService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 간 송금이 몰릴 때의 처리량
+ * - transfer : 두 유저의 락을 정해진 순서로 잡고 한 번에 옮긴다.
+ * - useThenCharge : 보낸 유저 use 후 받는 유저 charge (기존 방식, 두 번째가 실패하면 첫 번째만 반영된다)
+ * 임의의 두 유저를 골라 송금하므로 서로 반대 방향 송금이 계속 섞인다. users 가 작을수록 같은 유저에 몰린다.
+ * 끝나면 전체 잔액 합계가 처음과 같은지 출력한다.
+ *
+ * ./gradlew jmh -Pjmh.includes=TransferBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(8)
+public class TransferBenchmark {
+
+    private static final long INITIAL_POINT = 100_000L;
+
+    @Param({"2", "16", "10000"})
+    private int users;
+
+    @Param({"lock", "batch"})
+    private String engine;
+
+    @Param({"0", "100"})
+    private long latencyMicros;
+
+    private PointServiceFixture fixture;
+    private IPointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new PointServiceFixture(users, TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+        for (long id = 0; id < users; id++) {
+            fixture.userPointStore.insertOrUpdate(id, INITIAL_POINT);
+        }
+        pointService = fixture.engine(engine);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        long total = 0;
+        for (long id = 0; id < users; id++) {
+            total += fixture.userPointStore.selectById(id).point();
+        }
+        System.out.printf("%n[%s, users=%d] total=%d (expected %d)%n", engine, users, total, INITIAL_POINT * users);
+        fixture.close();
+    }
+
+    @Benchmark
+    public Object transfer() {
+        long from = randomUser();
+        try {
+            return pointService.transfer(from, otherUser(from), 1L);
+        } catch (PointNotException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object useThenCharge() {
+        long from = randomUser();
+        try {
+            pointService.use(from, 1L);
+            return pointService.charge(otherUser(from), 1L);
+        } catch (PointNotException e) {
+            return e;
+        }
+    }
+
+    private long randomUser() {
+        return ThreadLocalRandom.current().nextInt(users);
+    }
+
+    private long otherUser(long from) {
+        return (from + 1 + ThreadLocalRandom.current().nextInt(users - 1)) % users;
+    }
+}
@@ -0,0 +1,102 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointHistoryTable 의 저장 구조(ArrayList&lt;PointHistory&gt;) 와 {@link ColumnarPointHistoryStore} 의 행당 heap 사용량 비교
+ * PointHistoryTable 자체는 호출마다 최대 300ms 를 sleep 하므로 수천만 건 적재가 불가능하다.
+ * 그래서 같은 저장 구조를 throttle 없이 재현한 {@link RecordListStore} 를 기준선으로 사용한다.
+ * 적재 후 heap/row 를 출력하고, 유저 한 명의 내역 조회 처리량을 측정한다.
+ *
+ * ./gradlew jmh -Pjmh.includes=PointHistoryStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class PointHistoryStoreBenchmark {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    @Param({"10000000", "50000000"})
+    private int rows;
+
+    @Param({"100000"})
+    private int users;
+
+    @Param({"list", "columnar"})
+    private String store;
+
+    private RecordListStore listStore;
+    private ColumnarPointHistoryStore columnarStore;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long before = usedHeap();
+        long startedAt = System.currentTimeMillis();
+        if ("columnar".equals(store)) {
+            columnarStore = new ColumnarPointHistoryStore(65536);
+            for (int i = 0; i < rows; i++) {
+                columnarStore.insert(i % users, 1_000L + i % 1_000, TYPES[i & 1], startedAt + i / 1_000);
+            }
+        } else {
+            listStore = new RecordListStore();
+            for (int i = 0; i < rows; i++) {
+                listStore.insert(i % users, 1_000L + i % 1_000, TYPES[i & 1], startedAt + i / 1_000);
+            }
+        }
+        long after = usedHeap();
+        System.out.printf("%n[%s] rows=%d heap/row=%.1f bytes%n", store, rows, (double) (after - before) / rows);
+    }
+
+    /**
+     * 기준선은 PointHistoryTable 과 같이 전체 목록을 훑으므로 유저 수와 관계없이 행 수에 비례한다.
+     */
+    @Benchmark
+    public List<PointHistory> selectAllByUserId() {
+        long userId = ThreadLocalRandom.current().nextInt(users);
+        return columnarStore != null ? columnarStore.selectAllByUserId(userId) : listStore.selectAllByUserId(userId);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * throttle 을 제외한 PointHistoryTable 의 저장 구조
+     */
+    static class RecordListStore {
+        private final List<PointHistory> table = new ArrayList<>();
+        private long cursor = 1;
+
+        PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
+            table.add(pointHistory);
+            return pointHistory;
+        }
+
+        List<PointHistory> selectAllByUserId(long userId) {
+            return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * UserPointTable 의 저장 구조(HashMap&lt;Long, UserPoint&gt;) 와 {@link StripedUserPointStore} 비교
+ * UserPointTable 자체는 호출마다 최대 300ms 를 sleep 하므로 100만 건 적재가 불가능하다.
+ * 그래서 같은 저장 구조를 throttle 없이 재현한 {@link BoxedHashMapStore} 를 기준선으로 사용한다.
+ *
+ * ./gradlew jmh -Pjmh.includes=UserPointStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class UserPointStoreBenchmark {
+
+    @Param({"1000000", "10000000"})
+    private int users;
+
+    @Param({"hashmap", "striped"})
+    private String store;
+
+    private UserPointRepository repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = "striped".equals(store)
+                ? new StripedUserPointStore(64, users)
+                : new BoxedHashMapStore();
+
+        long before = usedHeap();
+        for (long id = 0; id < users; id++) {
+            repository.insertOrUpdate(id, id % 1_000_000L);
+        }
+        long after = usedHeap();
+        System.out.printf("%n[%s] users=%d heap/entry=%d bytes%n", store, users, (after - before) / users);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UserPoint selectById() {
+        return repository.selectById(ThreadLocalRandom.current().nextInt(users));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public UserPoint insertOrUpdate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return repository.insertOrUpdate(random.nextInt(users), random.nextInt(1_000_000));
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * throttle 을 제외한 UserPointTable 의 저장 구조
+     * 여러 스레드에서 측정하기 위해 synchronized 로 감쌌다.
+     */
+    static class BoxedHashMapStore implements UserPointRepository {
+        private final Map<Long, UserPoint> table = Collections.synchronizedMap(new HashMap<>());
+
+        @Override
+        public UserPoint selectById(long id) {
+            return table.getOrDefault(id, UserPoint.empty(id));
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            synchronized (table) {
+                UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis(), selectById(id).version() + 1);
+                table.put(id, userPoint);
+                return userPoint;
+            }
+        }
+
+        @Override
+        public UserPoint compareAndSet(long id, long expectedVersion, long amount) {
+            synchronized (table) {
+                return selectById(id).version() == expectedVersion ? insertOrUpdate(id, amount) : null;
+            }
+        }
+
+        @Override
+        public void forEach(Consumer<UserPoint> consumer) {
+            synchronized (table) {
+                table.values().forEach(consumer);
+            }
+        }
+    }
+}
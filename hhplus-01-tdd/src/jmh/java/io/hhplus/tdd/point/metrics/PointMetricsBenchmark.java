@@ -0,0 +1,109 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.benchmark.InMemoryPointHistoryRepository;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import io.hhplus.tdd.point.handler.PointTransferHandler;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지표 기록 비용 측정
+ * - none : 아무 곳에도 내보내지 않는 PointMetrics, 저장소 타이머 없음 (기준선)
+ * - prometheus : Prometheus 레지스트리 + 서비스 히스토그램 + 저장소 타이머
+ * 저장소 지연이 없는 상태에서 측정하므로, 두 결과의 차이가 곧 요청당 지표 기록 비용이다.
+ *
+ * ./gradlew jmh -Pjmh.includes=PointMetricsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Threads(4)
+public class PointMetricsBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final long INITIAL_POINT = 500_000L;
+
+    @Param({"none", "prometheus"})
+    private String metrics;
+
+    private PointHistoryWriter pointHistoryWriter;
+    private PointService pointService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StripedUserPointStore store = new StripedUserPointStore(64, USERS);
+        for (long id = 0; id < USERS; id++) {
+            store.insertOrUpdate(id, INITIAL_POINT);
+        }
+        UserPointRepository userPointRepository = store;
+        PointHistoryRepository pointHistoryRepository = new InMemoryPointHistoryRepository();
+        PointMetrics pointMetrics = PointMetrics.noop();
+        if ("prometheus".equals(metrics)) {
+            PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+            userPointRepository = new TimedUserPointRepository(store, "userPointStore", registry);
+            pointHistoryRepository = new TimedPointHistoryRepository(pointHistoryRepository, "pointHistoryRepository", registry);
+            pointMetrics = new PointMetrics(registry);
+        }
+        LockManager lockManager = new LockManager();
+        PointHistorySummary summary = new PointHistorySummary(pointHistoryRepository, "Asia/Seoul", 92, 24);
+        pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, summary, "sync", 1, 1);
+        BalanceCache balanceCache = new BalanceCache(lockManager, false, 1, 1);
+        pointService = new PointService(
+                pointHistoryRepository,
+                userPointRepository,
+                lockManager,
+                balanceCache,
+                pointHistoryWriter,
+                summary,
+                pointMetrics,
+                new PointTransferHandler(userPointRepository, lockManager, balanceCache, pointHistoryWriter,
+                        PointExpiry.disabled()),
+                PointExpiry.disabled()
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pointHistoryWriter.close();
+    }
+
+    @Benchmark
+    public UserPoint getPoint() {
+        return pointService.getPoint((long) ThreadLocalRandom.current().nextInt(USERS));
+    }
+
+    /**
+     * 충전과 사용을 번갈아 해 잔액을 유지한다.
+     */
+    @Benchmark
+    public UserPoint chargeAndUse() {
+        long id = ThreadLocalRandom.current().nextInt(USERS);
+        pointService.charge(id, 1L);
+        return pointService.use(id, 1L);
+    }
+}
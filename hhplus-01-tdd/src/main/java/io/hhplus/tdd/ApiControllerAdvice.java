@@ -1,5 +1,10 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.exceptions.PointBulkSizeException;
+import io.hhplus.tdd.exceptions.PointConflictException;
+import io.hhplus.tdd.exceptions.PointHotKeyException;
+import io.hhplus.tdd.exceptions.PointIdempotencyKeyException;
+import io.hhplus.tdd.exceptions.PointTransferException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -7,6 +12,31 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+    @ExceptionHandler(value = PointBulkSizeException.class)
+    public ResponseEntity<ErrorResponse> handleBulkSize(PointBulkSizeException e) {
+        return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = PointTransferException.class)
+    public ResponseEntity<ErrorResponse> handleTransfer(PointTransferException e) {
+        return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = PointConflictException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(PointConflictException e) {
+        return ResponseEntity.status(409).body(new ErrorResponse("409", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = PointIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKey(PointIdempotencyKeyException e) {
+        return ResponseEntity.status(422).body(new ErrorResponse("422", e.getMessage()));
+    }
+
+    @ExceptionHandler(value = PointHotKeyException.class)
+    public ResponseEntity<ErrorResponse> handleHotKey(PointHotKeyException e) {
+        return ResponseEntity.status(429).header("Retry-After", "1").body(new ErrorResponse("429", e.getMessage()));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
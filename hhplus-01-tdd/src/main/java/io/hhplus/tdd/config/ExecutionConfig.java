@@ -0,0 +1,28 @@
+package io.hhplus.tdd.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 포인트 서비스 작업을 실행할 스레드 설정
+ * - spring.threads.virtual.enabled=true : 톰캣 요청 스레드와 pointExecutor 모두 가상 스레드를 사용한다.
+ * - false (기본) : 톰캣 스레드 풀과 point.execution.platform-threads 크기의 플랫폼 스레드 풀을 사용한다.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService pointExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtual,
+            @Value("${point.execution.platform-threads:200}") int platformThreads
+    ) {
+        if (virtual) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("point-virtual-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(platformThreads, Thread.ofPlatform().name("point-", 0).factory());
+    }
+}
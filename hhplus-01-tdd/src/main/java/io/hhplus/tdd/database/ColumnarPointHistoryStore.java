@@ -0,0 +1,315 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.PendingHistory;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 내역을 컬럼별 primitive 배열에 나눠 담는 메모리 내역 저장소
+ * - 한 행(17 byte) : userNo(4) amount(4) updateMillis(4) type(1) next(4). id 는 행 번호 + 1 이라 따로 저장하지 않는다.
+ * - userId 는 유저마다 붙인 번호로, updateMillis 는 chunk 첫 행과의 차이로 저장한다.
+ *   amount 나 시간 차이가 int 범위를 벗어나는 드문 행만 overflow 맵에 원래 값을 따로 둔다.
+ * - 유저별로 첫 행과 마지막 행을 기억하고, next 컬럼으로 같은 유저의 다음 행을 이어 조회 시 해당 유저의 행만 읽는다.
+ * - 행은 chunkRows 개씩 배열 묶음(chunk)에 담기므로 배열을 늘릴 때 기존 행을 복사하지 않는다.
+ * - {@link PointHistory} 는 조회 결과를 돌려줄 때만 만든다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.storage.history", havingValue = "columnar")
+public class ColumnarPointHistoryStore implements PointHistoryRepository {
+
+    private static final int OVERFLOW = Integer.MIN_VALUE;
+    private static final int END = -1;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final int chunkRows;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, UserChain> index = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Long> overflowAmounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Long> overflowMillis = new ConcurrentHashMap<>();
+    private volatile Chunk[] chunks = new Chunk[0];
+    private volatile long[] userIds = new long[1024];
+    private volatile int published;
+    // 아래 두 값은 writeLock 안에서만 읽고 쓴다.
+    private int written;
+    private int userCount;
+
+    public ColumnarPointHistoryStore(
+            @Value("${point.storage.columnar.chunk-rows:65536}") int chunkRows
+    ) {
+        if (chunkRows <= 0) {
+            throw new IllegalArgumentException("chunkRows 범위를 벗어났습니다: " + chunkRows);
+        }
+        this.chunkRows = chunkRows;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        writeLock.lock();
+        try {
+            int row = append(userId, amount, type, updateMillis);
+            published = written;
+            return new PointHistory(row + 1L, userId, amount, type, updateMillis);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 락을 한 번만 잡고 이어 쓴 뒤 한 번에 게시한다.
+     */
+    @Override
+    public void insertAll(List<PendingHistory> histories) {
+        writeLock.lock();
+        try {
+            for (PendingHistory history : histories) {
+                append(history.userId(), history.amount(), history.type(), history.updateMillis());
+            }
+            published = written;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserChain chain = index.get(userId);
+        if (chain == null) {
+            return List.of();
+        }
+        int limit = published;
+        Chunk[] current = chunks;
+        List<PointHistory> result = new ArrayList<>(chain.size);
+        for (int row = chain.first; row != END && row < limit; row = next(current, row)) {
+            result.add(read(current, row, userId));
+        }
+        return result;
+    }
+
+    /**
+     * cursor 가 이 유저의 행이면 (이전 페이지의 마지막 id) 그 다음 행부터 읽고, 아니면 처음부터 따라가며 건너뛴다.
+     */
+    @Override
+    public void forEachByUserId(long userId, HistoryQuery query, Predicate<PointHistory> visitor) {
+        UserChain chain = index.get(userId);
+        if (chain == null) {
+            return;
+        }
+        int limit = published;
+        Chunk[] current = chunks;
+        int row = chain.first;
+        Long cursor = query.cursor();
+        if (cursor != null) {
+            long cursorRow = cursor - 1;
+            if (cursorRow >= chain.first && cursorRow < limit && userNo(current, (int) cursorRow) == chain.userNo) {
+                row = next(current, (int) cursorRow);
+            } else {
+                while (row != END && row < limit && row <= cursorRow) {
+                    row = next(current, row);
+                }
+            }
+        }
+        for (; row != END && row < limit; row = next(current, row)) {
+            PointHistory history = read(current, row, userId);
+            if (query.matches(history) && !visitor.test(history)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 이 시점까지 기록된 행을 id 순서대로 읽는다.
+     */
+    @Override
+    public void forEach(Consumer<PointHistory> consumer) {
+        int limit = published;
+        Chunk[] current = chunks;
+        long[] users = userIds;
+        for (int row = 0; row < limit; row++) {
+            consumer.accept(read(current, row, users[userNo(current, row)]));
+        }
+    }
+
+    /**
+     * id = 행 번호 + 1 이므로 afterId 번째 행부터 이 시점까지 기록된 행만 읽는다.
+     */
+    @Override
+    public void forEachAfter(long afterId, Predicate<PointHistory> visitor) {
+        int limit = published;
+        Chunk[] current = chunks;
+        long[] users = userIds;
+        for (long row = Math.max(afterId, 0L); row < limit; row++) {
+            if (!visitor.test(read(current, (int) row, users[userNo(current, (int) row)]))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public long lastId() {
+        return published;
+    }
+
+    /**
+     * 행 번호 = id - 1 인 구간을 chunk 단위로 컬럼 배열에서 바로 읽는다.
+     */
+    @Override
+    public void forEachInRange(long fromId, long toId, RowVisitor visitor) {
+        int limit = published;
+        Chunk[] current = chunks;
+        long[] users = userIds;
+        int row = (int) Math.min(Math.max(fromId - 1, 0L), limit);
+        int end = (int) Math.min(toId - 1, limit);
+        while (row < end) {
+            Chunk chunk = current[row / chunkRows];
+            int base = row - row % chunkRows;
+            int chunkEnd = Math.min(end, base + chunkRows);
+            for (; row < chunkEnd; row++) {
+                int amount = chunk.amounts[row - base];
+                visitor.visit(row + 1L, users[chunk.userNos[row - base]],
+                        amount == OVERFLOW ? overflowAmounts.get(row) : amount, TYPES[chunk.types[row - base]]);
+            }
+        }
+    }
+
+    /**
+     * 지금까지 기록된 행 수
+     */
+    public long size() {
+        return published;
+    }
+
+    /**
+     * writeLock 을 잡은 상태에서 호출된다. 행과 유저 연결을 모두 쓴 뒤 호출한 쪽에서 published 를 올려 게시한다.
+     */
+    private int append(long userId, long amount, TransactionType type, long updateMillis) {
+        int row = written;
+        if (row == Integer.MAX_VALUE) {
+            throw new IllegalStateException("포인트 내역 저장소가 가득 찼습니다: " + row);
+        }
+        int chunkNo = row / chunkRows;
+        Chunk chunk = chunkNo < chunks.length ? chunks[chunkNo] : addChunk(updateMillis);
+        int offset = row % chunkRows;
+
+        UserChain chain = index.get(userId);
+        int userNo = chain == null ? addUser(userId) : chain.userNo;
+        chunk.userNos[offset] = userNo;
+        chunk.amounts[offset] = compact(amount, amount, row, overflowAmounts);
+        chunk.millis[offset] = compact(updateMillis - chunk.baseMillis, updateMillis, row, overflowMillis);
+        chunk.types[offset] = (byte) type.ordinal();
+        chunk.next[offset] = END;
+
+        if (chain == null) {
+            index.put(userId, new UserChain(userNo, row));
+        } else {
+            Chunk lastChunk = chunks[chain.last / chunkRows];
+            lastChunk.next[chain.last % chunkRows] = row;
+            chain.last = row;
+            chain.size++;
+        }
+        written = row + 1;
+        return row;
+    }
+
+    /**
+     * value 가 int 범위면 그대로 저장하고, 아니면 original 을 overflow 맵에 둔다.
+     */
+    private int compact(long value, long original, int row, ConcurrentHashMap<Integer, Long> overflow) {
+        if (value > OVERFLOW && value <= Integer.MAX_VALUE) {
+            return (int) value;
+        }
+        overflow.put(row, original);
+        return OVERFLOW;
+    }
+
+    private Chunk addChunk(long baseMillis) {
+        Chunk chunk = new Chunk(chunkRows, baseMillis);
+        Chunk[] grown = Arrays.copyOf(chunks, chunks.length + 1);
+        grown[grown.length - 1] = chunk;
+        chunks = grown;
+        return chunk;
+    }
+
+    private int addUser(long userId) {
+        int userNo = userCount++;
+        long[] users = userIds;
+        if (userNo == users.length) {
+            users = Arrays.copyOf(users, userNo << 1);
+        }
+        users[userNo] = userId;
+        userIds = users;
+        return userNo;
+    }
+
+    private PointHistory read(Chunk[] current, int row, long userId) {
+        Chunk chunk = current[row / chunkRows];
+        int offset = row % chunkRows;
+        int amount = chunk.amounts[offset];
+        int millis = chunk.millis[offset];
+        return new PointHistory(
+                row + 1L,
+                userId,
+                amount == OVERFLOW ? overflowAmounts.get(row) : amount,
+                TYPES[chunk.types[offset]],
+                millis == OVERFLOW ? overflowMillis.get(row) : chunk.baseMillis + millis
+        );
+    }
+
+    private int userNo(Chunk[] current, int row) {
+        return current[row / chunkRows].userNos[row % chunkRows];
+    }
+
+    private int next(Chunk[] current, int row) {
+        return current[row / chunkRows].next[row % chunkRows];
+    }
+
+    /**
+     * chunkRows 개 행의 컬럼 배열. updateMillis 는 baseMillis(첫 행의 시각) 와의 차이로 저장한다.
+     */
+    private static final class Chunk {
+        private final long baseMillis;
+        private final int[] userNos;
+        private final int[] amounts;
+        private final int[] millis;
+        private final byte[] types;
+        private final int[] next;
+
+        private Chunk(int rows, long baseMillis) {
+            this.baseMillis = baseMillis;
+            this.userNos = new int[rows];
+            this.amounts = new int[rows];
+            this.millis = new int[rows];
+            this.types = new byte[rows];
+            this.next = new int[rows];
+        }
+    }
+
+    /**
+     * 유저별 행 연결의 처음과 끝. first 는 고정이고, last/size 는 writeLock 안에서만 바뀐다.
+     */
+    private static final class UserChain {
+        private final int userNo;
+        private final int first;
+        private int last;
+        private volatile int size;
+
+        private UserChain(int userNo, int first) {
+            this.userNo = userNo;
+            this.first = first;
+            this.last = first;
+            this.size = 1;
+        }
+    }
+}
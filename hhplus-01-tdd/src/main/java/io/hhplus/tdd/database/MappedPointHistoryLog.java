@@ -0,0 +1,435 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.PendingHistory;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 메모리 맵 세그먼트 파일에 고정 길이 레코드를 이어 쓰는 포인트 내역 로그
+ * - 레코드(40 byte) : id(8) userId(8) amount(8) updateMillis(8) type(4) commitMark(4)
+ * - 세그먼트 파일마다 segmentRecords 개의 레코드를 담고, n 번째 레코드의 id 는 n + 1 이다.
+ * - 유저별로 레코드 번호 목록을 인덱스로 유지하므로 조회 시 해당 유저의 레코드만 읽는다.
+ * - 기동 시 세그먼트들을 병렬로 스캔해 인덱스를 다시 만들고, commitMark 가 없는 레코드부터는 버린다.
+ *   버린 자리부터 끝까지 남은 바이트는 0 으로 지운다. 남겨 두면 그 자리에 새로 쓰다 다시 멈췄을 때 뒤의 옛 레코드가 이어서 복구된다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "point.storage.history", havingValue = "mmap")
+public class MappedPointHistoryLog implements PointHistoryRepository, AutoCloseable {
+
+    static final int RECORD_SIZE = 40;
+    private static final int COMMIT_MARK = 0x50484C31;
+    private static final String SEGMENT_PREFIX = "history-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final boolean forceOnWrite;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, UserIndex> index = new ConcurrentHashMap<>();
+    private volatile MappedByteBuffer[] segments;
+    private volatile long published;
+
+    public MappedPointHistoryLog(
+            @Value("${point.storage.mmap.directory:./data/history}") String directory,
+            @Value("${point.storage.mmap.segment-records:1048576}") int segmentRecords,
+            @Value("${point.storage.mmap.force-on-write:false}") boolean forceOnWrite
+    ) {
+        if (segmentRecords <= 0 || (long) segmentRecords * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentRecords 범위를 벗어났습니다: " + segmentRecords);
+        }
+        this.directory = Paths.get(directory);
+        this.segmentRecords = segmentRecords;
+        this.forceOnWrite = forceOnWrite;
+        try {
+            Files.createDirectories(this.directory);
+            this.segments = openSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        recover();
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        writeLock.lock();
+        try {
+            long from = published;
+            PointHistory history = append(userId, amount, type, updateMillis);
+            forceIfNeeded(from, published);
+            return history;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 락을 한 번만 잡고 이어 쓴 뒤, force-on-write 인 경우 디스크 동기화도 한 번만 한다.
+     */
+    @Override
+    public void insertAll(List<PendingHistory> histories) {
+        writeLock.lock();
+        try {
+            long from = published;
+            for (PendingHistory history : histories) {
+                append(history.userId(), history.amount(), history.type(), history.updateMillis());
+            }
+            forceIfNeeded(from, published);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        UserIndex userIndex = index.get(userId);
+        if (userIndex == null) {
+            return List.of();
+        }
+        int size = userIndex.size;
+        int[] seqs = userIndex.seqs;
+        MappedByteBuffer[] current = segments;
+        List<PointHistory> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(read(current, seqs[i]));
+        }
+        return result;
+    }
+
+    /**
+     * cursor 가 있으면 유저 인덱스에서 이진 탐색으로 시작 위치를 찾고, 그 이후 레코드만 읽는다.
+     */
+    @Override
+    public void forEachByUserId(long userId, HistoryQuery query, Predicate<PointHistory> visitor) {
+        UserIndex userIndex = index.get(userId);
+        if (userIndex == null) {
+            return;
+        }
+        int size = userIndex.size;
+        int[] seqs = userIndex.seqs;
+        MappedByteBuffer[] current = segments;
+        int start = query.cursor() == null ? 0 : firstSeqAtLeast(seqs, size, query.cursor());
+        for (int i = start; i < size; i++) {
+            PointHistory history = read(current, seqs[i]);
+            if (query.matches(history) && !visitor.test(history)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 이 시점까지 기록된 레코드를 id 순서대로 읽는다.
+     */
+    @Override
+    public void forEach(Consumer<PointHistory> consumer) {
+        long size = published;
+        MappedByteBuffer[] current = segments;
+        for (long seq = 0; seq < size; seq++) {
+            consumer.accept(read(current, seq));
+        }
+    }
+
+    /**
+     * id = seq + 1 이므로 afterId 번째 레코드부터 이 시점까지 기록된 레코드만 읽는다.
+     */
+    @Override
+    public void forEachAfter(long afterId, Predicate<PointHistory> visitor) {
+        long size = published;
+        MappedByteBuffer[] current = segments;
+        for (long seq = Math.max(afterId, 0L); seq < size; seq++) {
+            if (!visitor.test(read(current, seq))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public long lastId() {
+        return published;
+    }
+
+    /**
+     * seq = id - 1 인 구간의 레코드를 세그먼트에서 바로 읽는다.
+     */
+    @Override
+    public void forEachInRange(long fromId, long toId, RowVisitor visitor) {
+        long end = Math.min(toId - 1, published);
+        MappedByteBuffer[] current = segments;
+        for (long seq = Math.max(fromId - 1, 0L); seq < end; seq++) {
+            MappedByteBuffer segment = current[(int) (seq / segmentRecords)];
+            int offset = (int) (seq % segmentRecords) * RECORD_SIZE;
+            visitor.visit(seq + 1, segment.getLong(offset + 8), segment.getLong(offset + 16),
+                    TYPES[segment.getInt(offset + 32)]);
+        }
+    }
+
+    /**
+     * 지금까지 기록된 레코드 수
+     */
+    public long size() {
+        return published;
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * writeLock 을 잡은 상태에서 호출된다.
+     */
+    private PointHistory append(long userId, long amount, TransactionType type, long updateMillis) {
+        long seq = published;
+        if (seq >= Integer.MAX_VALUE) {
+            throw new IllegalStateException("포인트 내역 로그가 가득 찼습니다: " + seq);
+        }
+        int segmentNo = (int) (seq / segmentRecords);
+        MappedByteBuffer segment = segmentNo < segments.length ? segments[segmentNo] : addSegment(segmentNo);
+        int offset = (int) (seq % segmentRecords) * RECORD_SIZE;
+        long id = seq + 1;
+
+        segment.putLong(offset, id);
+        segment.putLong(offset + 8, userId);
+        segment.putLong(offset + 16, amount);
+        segment.putLong(offset + 24, updateMillis);
+        segment.putInt(offset + 32, type.ordinal());
+        segment.putInt(offset + 36, COMMIT_MARK);
+
+        index.computeIfAbsent(userId, key -> new UserIndex()).add((int) seq);
+        published = seq + 1;
+        return new PointHistory(id, userId, amount, type, updateMillis);
+    }
+
+    private void forceIfNeeded(long fromSeq, long toSeq) {
+        if (!forceOnWrite || fromSeq >= toSeq) {
+            return;
+        }
+        long seq = fromSeq;
+        while (seq < toSeq) {
+            int segmentNo = (int) (seq / segmentRecords);
+            long segmentEnd = Math.min(toSeq, (long) (segmentNo + 1) * segmentRecords);
+            int offset = (int) (seq % segmentRecords) * RECORD_SIZE;
+            segments[segmentNo].force(offset, (int) (segmentEnd - seq) * RECORD_SIZE);
+            seq = segmentEnd;
+        }
+    }
+
+    private PointHistory read(MappedByteBuffer[] current, long seq) {
+        MappedByteBuffer segment = current[(int) (seq / segmentRecords)];
+        int offset = (int) (seq % segmentRecords) * RECORD_SIZE;
+        return new PointHistory(
+                segment.getLong(offset),
+                segment.getLong(offset + 8),
+                segment.getLong(offset + 16),
+                TYPES[segment.getInt(offset + 32)],
+                segment.getLong(offset + 24)
+        );
+    }
+
+    /**
+     * id = seq + 1 이므로 id 가 cursor 보다 큰 첫 레코드는 seq 가 cursor 이상인 첫 레코드다.
+     */
+    private static int firstSeqAtLeast(int[] seqs, int size, long cursor) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (seqs[mid] < cursor) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private MappedByteBuffer addSegment(int segmentNo) {
+        try {
+            MappedByteBuffer segment = map(segmentPath(segmentNo));
+            MappedByteBuffer[] grown = Arrays.copyOf(segments, segmentNo + 1);
+            grown[segmentNo] = segment;
+            segments = grown;
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private MappedByteBuffer[] openSegments() throws IOException {
+        int count;
+        try (Stream<Path> files = Files.list(directory)) {
+            count = (int) files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .count();
+        }
+        MappedByteBuffer[] opened = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            Path path = segmentPath(i);
+            if (!Files.exists(path)) {
+                throw new IllegalStateException("세그먼트 파일이 누락되었습니다: " + path);
+            }
+            opened[i] = map(path);
+        }
+        return opened;
+    }
+
+    private MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) segmentRecords * RECORD_SIZE);
+        }
+    }
+
+    private Path segmentPath(int segmentNo) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segmentNo, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * 세그먼트마다 유효한 레코드를 병렬로 스캔한 뒤, 세그먼트 순서대로 인덱스에 합친다.
+     */
+    private void recover() {
+        long startedAt = System.currentTimeMillis();
+        MappedByteBuffer[] current = segments;
+        List<SegmentScan> scans = IntStream.range(0, current.length)
+                .parallel()
+                .mapToObj(segmentNo -> scan(current[segmentNo], segmentNo))
+                .toList();
+
+        long recovered = 0;
+        for (SegmentScan scan : scans) {
+            scan.users.forEach((userId, seqs) ->
+                    index.computeIfAbsent(userId, key -> new UserIndex()).addAll(seqs));
+            recovered += scan.count;
+            if (scan.count < segmentRecords) {
+                break;
+            }
+        }
+        published = recovered;
+        clearFrom(current, recovered);
+        log.info("point history log recovered. records: {}, users: {}, elapsed: {}ms",
+                recovered, index.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    private SegmentScan scan(MappedByteBuffer segment, int segmentNo) {
+        Map<Long, UserIndex> users = new HashMap<>();
+        int count = 0;
+        long base = (long) segmentNo * segmentRecords;
+        while (count < segmentRecords) {
+            int offset = count * RECORD_SIZE;
+            if (segment.getInt(offset + 36) != COMMIT_MARK) {
+                break;
+            }
+            users.computeIfAbsent(segment.getLong(offset + 8), key -> new UserIndex()).add((int) (base + count));
+            count++;
+        }
+        return new SegmentScan(count, users);
+    }
+
+    /**
+     * fromSeq 번 레코드부터 마지막 세그먼트 끝까지 0 이 아닌 레코드를 지우고 디스크에 반영한다.
+     */
+    private void clearFrom(MappedByteBuffer[] current, long fromSeq) {
+        int firstSegment = (int) (fromSeq / segmentRecords);
+        int firstRecord = (int) (fromSeq % segmentRecords);
+        long cleared = IntStream.range(firstSegment, current.length)
+                .parallel()
+                .mapToLong(segmentNo -> clear(current[segmentNo], segmentNo == firstSegment ? firstRecord : 0))
+                .sum();
+        if (cleared > 0) {
+            log.warn("point history log cleared records after the last committed one. from id: {}, records: {}",
+                    fromSeq + 1, cleared);
+        }
+    }
+
+    private int clear(MappedByteBuffer segment, int fromRecord) {
+        int cleared = 0;
+        for (int record = fromRecord; record < segmentRecords; record++) {
+            int offset = record * RECORD_SIZE;
+            if (isZero(segment, offset)) {
+                continue;
+            }
+            for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+                segment.putLong(offset + i, 0L);
+            }
+            cleared++;
+        }
+        if (cleared > 0) {
+            segment.force();
+        }
+        return cleared;
+    }
+
+    private static boolean isZero(MappedByteBuffer segment, int offset) {
+        for (int i = 0; i < RECORD_SIZE; i += Long.BYTES) {
+            if (segment.getLong(offset + i) != 0L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record SegmentScan(int count, Map<Long, UserIndex> users) {
+    }
+
+    /**
+     * 유저별 레코드 번호 목록
+     * 쓰기는 writeLock 안에서만 일어나고, 읽기는 size 를 먼저 읽어 그 이전까지만 본다.
+     */
+    private static final class UserIndex {
+        private int[] seqs = new int[4];
+        private volatile int size;
+
+        private void add(int seq) {
+            int n = size;
+            if (n == seqs.length) {
+                seqs = Arrays.copyOf(seqs, n << 1);
+            }
+            seqs[n] = seq;
+            size = n + 1;
+        }
+
+        private void addAll(UserIndex other) {
+            int n = size;
+            int otherSize = other.size;
+            if (n + otherSize > seqs.length) {
+                seqs = Arrays.copyOf(seqs, Math.max(seqs.length << 1, n + otherSize));
+            }
+            System.arraycopy(other.seqs, 0, seqs, n, otherSize);
+            size = n + otherSize;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 전체 잔액 스냅샷 파일 (snapshot-{lsn}.snap)
+ * - header(16 byte) : magic(4) version(4) lsn(8)
+ * - 레코드(24 byte) : userId(8) point(8) updateMillis(8)
+ * - trailer(12 byte) : 레코드 수(8) crc32c(4) (header 부터 레코드 수까지)
+ * 임시 파일에 모두 쓰고 동기화한 뒤 이름을 바꾸므로, 완성되지 않은 스냅샷은 읽히지 않는다.
+ */
+@Slf4j
+public final class PointSnapshotFile {
+
+    private static final int MAGIC = 0x50534E31;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 24;
+    private static final int TRAILER_SIZE = 12;
+    private static final int BUFFER_SIZE = RECORD_SIZE * 64 * 1024;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    private PointSnapshotFile() {
+    }
+
+    /**
+     * source 가 넘겨주는 잔액을 lsn 시점의 스냅샷으로 저장하고, 이전 스냅샷은 삭제한다.
+     */
+    public static Path write(Path directory, long lsn, Consumer<Consumer<UserPoint>> source) {
+        Path target = directory.resolve(String.format("%s%020d%s", PREFIX, lsn, SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            Writer writer = new Writer(out);
+            writer.buffer.putInt(MAGIC).putInt(VERSION).putLong(lsn);
+            source.accept(writer::write);
+            writer.finish();
+            out.force(true);
+        } catch (IOException e) {
+            delete(temp);
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            delete(temp);
+            throw e;
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (Path old : snapshots(directory)) {
+            if (!old.equals(target)) {
+                delete(old);
+            }
+        }
+        return target;
+    }
+
+    /**
+     * 가장 최근의 온전한 스냅샷을 읽어 잔액을 넘겨주고, 스냅샷의 lsn 을 반환한다. 스냅샷이 없으면 0 을 반환한다.
+     * 손상된 스냅샷은 건너뛰고 그 이전 스냅샷을 사용한다.
+     */
+    public static long load(Path directory, Consumer<UserPoint> consumer) {
+        List<Path> snapshots = snapshots(directory);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path snapshot = snapshots.get(i);
+            if (scan(snapshot, null) >= 0) {
+                return scan(snapshot, consumer);
+            }
+            log.warn("손상된 스냅샷을 건너뜁니다: {}", snapshot);
+        }
+        return 0L;
+    }
+
+    /**
+     * crc 와 레코드 수를 확인하고 lsn 을 반환한다. 맞지 않으면 -1 을 반환한다.
+     * consumer 가 있으면 읽은 레코드를 넘겨준다. 잔액을 반영하기 전에 consumer 없이 한 번 먼저 확인한다.
+     */
+    private static long scan(Path snapshot, Consumer<UserPoint> consumer) {
+        try (FileChannel in = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long size = in.size();
+            long body = size - HEADER_SIZE - TRAILER_SIZE;
+            if (body < 0 || body % RECORD_SIZE != 0) {
+                return -1;
+            }
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            CRC32C crc = new CRC32C();
+            readFully(in, buffer, HEADER_SIZE);
+            crc.update(buffer.duplicate());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return -1;
+            }
+            long lsn = buffer.getLong();
+
+            long remaining = body;
+            while (remaining > 0) {
+                int chunk = (int) Math.min(BUFFER_SIZE, remaining);
+                readFully(in, buffer, chunk);
+                crc.update(buffer.duplicate());
+                if (consumer != null) {
+                    while (buffer.hasRemaining()) {
+                        consumer.accept(new UserPoint(buffer.getLong(), buffer.getLong(), buffer.getLong()));
+                    }
+                }
+                remaining -= chunk;
+            }
+
+            readFully(in, buffer, TRAILER_SIZE);
+            long count = buffer.getLong();
+            crc.update(buffer.duplicate().position(0).limit(8));
+            int expectedCrc = buffer.getInt();
+            if (count != body / RECORD_SIZE || expectedCrc != (int) crc.getValue()) {
+                return -1;
+            }
+            return lsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void readFully(FileChannel in, ByteBuffer buffer, int length) throws IOException {
+        buffer.clear().limit(length);
+        while (buffer.hasRemaining()) {
+            if (in.read(buffer) < 0) {
+                throw new IOException("스냅샷이 예상보다 짧습니다.");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static List<Path> snapshots(Path directory) {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 버퍼가 차면 파일에 쓰면서 crc 와 레코드 수를 누적한다.
+     */
+    private static final class Writer {
+        private final FileChannel out;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final CRC32C crc = new CRC32C();
+        private long count;
+
+        private Writer(FileChannel out) {
+            this.out = out;
+        }
+
+        private void write(UserPoint userPoint) {
+            if (buffer.remaining() < RECORD_SIZE) {
+                flush();
+            }
+            buffer.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+            count++;
+        }
+
+        private void finish() {
+            if (buffer.remaining() < TRAILER_SIZE) {
+                flush();
+            }
+            buffer.putLong(count);
+            flush();
+            buffer.putInt((int) crc.getValue());
+            flushWithoutCrc();
+        }
+
+        private void flush() {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            drain();
+        }
+
+        private void flushWithoutCrc() {
+            buffer.flip();
+            drain();
+        }
+
+        private void drain() {
+            try {
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.clear();
+        }
+    }
+}
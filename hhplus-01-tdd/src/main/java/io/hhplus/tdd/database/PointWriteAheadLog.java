@@ -0,0 +1,337 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 잔액 변경을 순서대로 기록하는 write-ahead log
+ * - 레코드(36 byte) : lsn(8) userId(8) point(8) updateMillis(8) crc32c(4)
+ * - 변경 후 잔액을 그대로 기록하므로, 같은 레코드를 여러 번 다시 적용해도 결과가 같다.
+ * - 세그먼트 파일(wal-{첫 lsn}.log)이 segmentBytes 를 넘거나 스냅샷을 뜰 때 새 세그먼트로 넘어간다.
+ * - fsync 모드
+ *   group : 기록한 스레드가 디스크 동기화까지 기다린다. 동기화 중에 들어온 기록은 다음 한 번의 동기화로 함께 처리된다.
+ *   interval : 백그라운드 스레드가 fsyncIntervalMillis 마다 동기화한다. 기록한 스레드는 기다리지 않는다.
+ *   none : 동기화를 OS 에 맡긴다.
+ */
+@Slf4j
+public class PointWriteAheadLog implements AutoCloseable {
+
+    public enum FsyncMode {
+        GROUP, INTERVAL, NONE
+    }
+
+    static final int RECORD_SIZE = 36;
+    private static final int PAYLOAD_SIZE = 32;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final FsyncMode fsyncMode;
+    private final long segmentBytes;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    private final AtomicLong durableLsn = new AtomicLong();
+    private final Thread syncer;
+    private FileChannel channel;
+    private long channelBytes;
+    private volatile long lastLsn;
+    private volatile boolean closed;
+
+    public PointWriteAheadLog(Path directory, String fsyncMode, long fsyncIntervalMillis, long segmentBytes) {
+        this.directory = directory;
+        this.fsyncMode = FsyncMode.valueOf(fsyncMode.trim().toUpperCase(Locale.ROOT));
+        this.segmentBytes = Math.max(RECORD_SIZE, segmentBytes);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (this.fsyncMode == FsyncMode.INTERVAL) {
+            long intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, fsyncIntervalMillis));
+            this.syncer = Thread.ofPlatform().name("point-wal-sync").daemon().unstarted(() -> syncLoop(intervalNanos));
+        } else {
+            this.syncer = null;
+        }
+    }
+
+    /**
+     * 세그먼트를 순서대로 읽어 afterLsn 보다 큰 레코드를 넘겨주고, 쓰기를 시작한다.
+     * crc 가 맞지 않거나 잘린 레코드를 만나면 그 위치에서 로그를 잘라낸다. (기록 도중 종료된 경우)
+     */
+    public long replay(long afterLsn, Consumer<UserPoint> consumer) {
+        long[] readLsn = {0L};
+        boolean truncated = false;
+        for (Path segment : segments()) {
+            if (truncated) {
+                log.warn("손상된 레코드 이후의 WAL 세그먼트를 삭제합니다: {}", segment);
+                delete(segment);
+                continue;
+            }
+            long validBytes = readSegment(segment, afterLsn, readLsn, consumer);
+            try {
+                if (validBytes < Files.size(segment)) {
+                    log.warn("WAL {} 의 {} byte 이후 레코드를 버립니다.", segment, validBytes);
+                    try (FileChannel truncate = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                        truncate.truncate(validBytes);
+                        truncate.force(true);
+                    }
+                    truncated = true;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        long expected = Math.max(afterLsn, readLsn[0]);
+        appendLock.lock();
+        try {
+            lastLsn = expected;
+            durableLsn.set(expected);
+            openSegment(expected + 1);
+        } finally {
+            appendLock.unlock();
+        }
+        if (syncer != null) {
+            syncer.start();
+        }
+        return expected;
+    }
+
+    /**
+     * 레코드를 기록하고, group 모드이면 디스크에 동기화될 때까지 기다린다.
+     */
+    public long append(UserPoint userPoint) {
+        long lsn;
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("WAL 이 종료되었습니다.");
+            }
+            lsn = lastLsn + 1;
+            record.clear();
+            record.putLong(lsn).putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+            record.putInt(crc(record.array(), 0));
+            record.flip();
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+            channelBytes += RECORD_SIZE;
+            lastLsn = lsn;
+            if (channelBytes >= segmentBytes) {
+                rotate();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            appendLock.unlock();
+        }
+        if (fsyncMode == FsyncMode.GROUP) {
+            awaitDurable(lsn);
+        }
+        return lsn;
+    }
+
+    /**
+     * 새 세그먼트로 넘어가고, 이전 세그먼트까지 기록된 마지막 lsn 을 반환한다.
+     * 반환된 lsn 이하의 레코드는 모두 이전 세그먼트들에 있다.
+     */
+    public long rollover() {
+        appendLock.lock();
+        try {
+            rotate();
+            return lastLsn;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * lsn 이하의 레코드만 담은 세그먼트를 삭제한다. (스냅샷에 반영된 구간)
+     */
+    public void deleteUpTo(long lsn) {
+        List<Path> segments = segments();
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstLsnOf(segments.get(i + 1)) <= lsn + 1) {
+                delete(segments.get(i));
+            }
+        }
+    }
+
+    public long lastLsn() {
+        return lastLsn;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        appendLock.lock();
+        try {
+            closed = true;
+            if (channel != null) {
+                channel.force(false);
+                durableLsn.accumulateAndGet(lastLsn, Math::max);
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            appendLock.unlock();
+        }
+        if (syncer != null) {
+            syncer.interrupt();
+            syncer.join();
+        }
+    }
+
+    /**
+     * 이미 다른 스레드가 lsn 이후까지 동기화했다면 바로 반환한다.
+     * 그렇지 않으면 그 시점까지 기록된 레코드 전체를 한 번에 동기화한다.
+     */
+    private void awaitDurable(long lsn) {
+        if (durableLsn.get() >= lsn) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durableLsn.get() >= lsn) {
+                return;
+            }
+            FileChannel current;
+            long target;
+            appendLock.lock();
+            try {
+                current = channel;
+                target = lastLsn;
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                current.force(false);
+            } catch (ClosedChannelException e) {
+                // 세그먼트 교체 시 이전 세그먼트는 동기화한 뒤 닫는다.
+                return;
+            }
+            durableLsn.accumulateAndGet(target, Math::max);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void syncLoop(long intervalNanos) {
+        while (!closed) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(intervalNanos);
+                awaitDurable(lastLsn);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("WAL 동기화 실패", e);
+            }
+        }
+    }
+
+    /**
+     * appendLock 을 잡은 상태에서 호출된다.
+     */
+    private void rotate() throws IOException {
+        channel.force(false);
+        durableLsn.accumulateAndGet(lastLsn, Math::max);
+        channel.close();
+        openSegment(lastLsn + 1);
+    }
+
+    private void openSegment(long firstLsn) {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            channelBytes = channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 유효한 레코드가 끝나는 위치(byte)를 반환한다. readLsn[0] 은 마지막으로 읽은 lsn 이며, lsn 이 이어지지 않으면 거기서 멈춘다.
+     */
+    private static long readSegment(Path segment, long afterLsn, long[] readLsn, Consumer<UserPoint> consumer) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_SIZE * 32 * 1024);
+        byte[] bytes = new byte[RECORD_SIZE];
+        long valid = 0;
+        try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+            while (in.read(buffer) > 0 || buffer.position() > 0) {
+                buffer.flip();
+                if (buffer.remaining() < RECORD_SIZE) {
+                    return valid;
+                }
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    buffer.get(bytes);
+                    ByteBuffer view = ByteBuffer.wrap(bytes);
+                    long lsn = view.getLong(0);
+                    if (view.getInt(PAYLOAD_SIZE) != crc(bytes, 0) || (readLsn[0] > 0 && lsn != readLsn[0] + 1)) {
+                        return valid;
+                    }
+                    if (lsn > afterLsn) {
+                        consumer.accept(new UserPoint(view.getLong(8), view.getLong(16), view.getLong(24)));
+                    }
+                    readLsn[0] = lsn;
+                    valid += RECORD_SIZE;
+                }
+                buffer.compact();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return valid;
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long firstLsnOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int crc(byte[] bytes, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, PAYLOAD_SIZE);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,281 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * long 키 기반의 스트라이프 잔액 저장소
+ * - 유저 id 를 해시해 스트라이프를 고르고, 스트라이프마다 StampedLock 으로 보호되는 오픈 어드레싱 테이블을 둔다.
+ * - 한 슬롯은 [id, point, updateMillis, version] 네 개의 long 으로 저장되어 엔트리당 32 byte (load factor 0.75 기준 최대 43 byte) 를 사용한다.
+ * - 조회는 낙관적 읽기로 처리하고, 쓰기와 겹친 경우에만 읽기 락을 잡는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.storage.user-point", havingValue = "striped")
+@Qualifier(UserPointRepository.STORE)
+public class StripedUserPointStore implements UserPointRepository {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int SLOT_WIDTH = 4;
+    private static final long ANY_VERSION = -1L;
+    private static final int MAX_CAPACITY = 1 << 29;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public StripedUserPointStore(
+            @Value("${point.storage.striped.stripes:64}") int stripeCount,
+            @Value("${point.storage.striped.expected-users:1048576}") long expectedUsers
+    ) {
+        int count = tableSizeFor(Math.max(1, stripeCount));
+        long perStripe = Math.max(16, expectedUsers / count);
+        int capacity = tableSizeFor((int) Math.min(MAX_CAPACITY, perStripe * 4 / 3 + 1));
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(capacity);
+        }
+        this.stripeMask = count - 1;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        checkId(id);
+        long hash = mix(id);
+        return stripeFor(hash).get(id, (int) hash);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        checkId(id);
+        long hash = mix(id);
+        long updateMillis = System.currentTimeMillis();
+        long version = stripeFor(hash).update(id, (int) hash, amount, updateMillis, ANY_VERSION);
+        return new UserPoint(id, amount, updateMillis, version);
+    }
+
+    @Override
+    public UserPoint compareAndSet(long id, long expectedVersion, long amount) {
+        checkId(id);
+        long hash = mix(id);
+        long updateMillis = System.currentTimeMillis();
+        long version = stripeFor(hash).update(id, (int) hash, amount, updateMillis, expectedVersion);
+        return version == ANY_VERSION ? null : new UserPoint(id, amount, updateMillis, version);
+    }
+
+    /**
+     * 스트라이프마다 읽기 락을 잡고 슬롯 배열을 복사한 뒤, 락을 놓고 순회한다.
+     */
+    @Override
+    public void forEach(Consumer<UserPoint> consumer) {
+        for (Stripe stripe : stripes) {
+            long[] copy = stripe.copySlots();
+            for (int i = 0; i < copy.length; i += SLOT_WIDTH) {
+                if (copy[i] != EMPTY) {
+                    consumer.accept(new UserPoint(copy[i], copy[i + 1], copy[i + 2], copy[i + 3]));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void restore(UserPoint userPoint) {
+        checkId(userPoint.id());
+        long hash = mix(userPoint.id());
+        stripeFor(hash).restore(userPoint.id(), (int) hash, userPoint.point(), userPoint.updateMillis(), userPoint.version());
+    }
+
+    public long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(long hash) {
+        return stripes[(int) (hash >>> 32) & stripeMask];
+    }
+
+    private static void checkId(long id) {
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("지원하지 않는 유저 id 입니다: " + id);
+        }
+    }
+
+    private static long mix(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+        return Math.min(Math.max(size, 1), MAX_CAPACITY);
+    }
+
+    private static final class Stripe {
+        private final StampedLock lock = new StampedLock();
+        private long[] slots;
+        private int size;
+
+        private Stripe(int capacity) {
+            this.slots = newSlots(capacity);
+        }
+
+        private UserPoint get(long id, int hash) {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp != 0L) {
+                long[] current = slots;
+                int index = indexOf(current, id, hash);
+                long point = index >= 0 ? current[index + 1] : 0L;
+                long updateMillis = index >= 0 ? current[index + 2] : 0L;
+                long version = index >= 0 ? current[index + 3] : 0L;
+                if (lock.validate(stamp)) {
+                    return index >= 0 ? new UserPoint(id, point, updateMillis, version) : UserPoint.empty(id);
+                }
+            }
+            stamp = lock.readLock();
+            try {
+                int index = indexOf(slots, id, hash);
+                return index >= 0
+                        ? new UserPoint(id, slots[index + 1], slots[index + 2], slots[index + 3])
+                        : UserPoint.empty(id);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        /**
+         * expectedVersion 이 ANY_VERSION 이 아니면 저장된 version 과 같을 때만 바꾼다.
+         * 바꾼 경우 새 version 을, 바꾸지 않은 경우 ANY_VERSION 을 반환한다.
+         */
+        private long update(long id, int hash, long point, long updateMillis, long expectedVersion) {
+            long stamp = lock.writeLock();
+            try {
+                int index = indexOf(slots, id, hash);
+                long version = index >= 0 ? slots[index + 3] : 0L;
+                if (expectedVersion != ANY_VERSION && expectedVersion != version) {
+                    return ANY_VERSION;
+                }
+                if (index < 0) {
+                    index = insert(id, hash);
+                }
+                slots[index + 1] = point;
+                slots[index + 2] = updateMillis;
+                slots[index + 3] = version + 1;
+                return version + 1;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void restore(long id, int hash, long point, long updateMillis, long version) {
+            long stamp = lock.writeLock();
+            try {
+                int index = indexOf(slots, id, hash);
+                if (index < 0) {
+                    index = insert(id, hash);
+                }
+                slots[index + 1] = point;
+                slots[index + 2] = updateMillis;
+                slots[index + 3] = version;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * 쓰기 락을 잡은 상태에서 없는 키의 슬롯을 만들고 시작 인덱스를 반환한다.
+         */
+        private int insert(long id, int hash) {
+            if ((size + 1) * 4L > capacity(slots) * 3L) {
+                resize();
+            }
+            int index = -indexOf(slots, id, hash) - 1;
+            slots[index] = id;
+            size++;
+            return index;
+        }
+
+        private long[] copySlots() {
+            long stamp = lock.readLock();
+            try {
+                return slots.clone();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private long size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void resize() {
+            long[] old = slots;
+            int oldCapacity = capacity(old);
+            if (oldCapacity >= MAX_CAPACITY) {
+                throw new IllegalStateException("스트라이프 용량을 초과했습니다: " + oldCapacity);
+            }
+            long[] resized = newSlots(oldCapacity << 1);
+            for (int i = 0; i < old.length; i += SLOT_WIDTH) {
+                long key = old[i];
+                if (key != EMPTY) {
+                    int index = -indexOf(resized, key, (int) mix(key)) - 1;
+                    resized[index] = key;
+                    resized[index + 1] = old[i + 1];
+                    resized[index + 2] = old[i + 2];
+                    resized[index + 3] = old[i + 3];
+                }
+            }
+            slots = resized;
+        }
+
+        /**
+         * 키가 있으면 슬롯의 시작 인덱스를, 없으면 (-(삽입할 인덱스) - 1) 을 반환한다.
+         */
+        private static int indexOf(long[] slots, long id, int hash) {
+            int capacity = capacity(slots);
+            int mask = capacity - 1;
+            int slot = hash & mask;
+            for (int probe = 0; probe < capacity; probe++) {
+                int index = slot * SLOT_WIDTH;
+                long key = slots[index];
+                if (key == id) {
+                    return index;
+                }
+                if (key == EMPTY) {
+                    return -index - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return Integer.MIN_VALUE;
+        }
+
+        private static int capacity(long[] slots) {
+            return slots.length / SLOT_WIDTH;
+        }
+
+        private static long[] newSlots(int capacity) {
+            long[] slots = new long[capacity * SLOT_WIDTH];
+            for (int i = 0; i < slots.length; i += SLOT_WIDTH) {
+                slots[i] = EMPTY;
+            }
+            return slots;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package io.hhplus.tdd.exceptions;
+
+public class PointBulkSizeException extends RuntimeException {
+    public static final String MESSAGE_FORMAT = "잘못된 요청: 한 번에 %d 건까지 처리할 수 있습니다. 요청: %d 건";
+
+    public PointBulkSizeException(int size, int maxCommands) {
+        super(String.format(MESSAGE_FORMAT, maxCommands, size));
+    }
+}
@@ -0,0 +1,9 @@
+package io.hhplus.tdd.exceptions;
+
+public class PointConflictException extends RuntimeException {
+    public static final String MESSAGE_FORMAT = "동시 요청 충돌: 잠시 후 다시 시도해주세요. userId: %d, 시도 횟수: %d";
+
+    public PointConflictException(long userId, int attempts) {
+        super(String.format(MESSAGE_FORMAT, userId, attempts));
+    }
+}
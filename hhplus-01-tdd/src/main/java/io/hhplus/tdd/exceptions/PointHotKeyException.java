@@ -0,0 +1,9 @@
+package io.hhplus.tdd.exceptions;
+
+public class PointHotKeyException extends RuntimeException {
+    public static final String MESSAGE_FORMAT = "요청이 몰린 유저입니다: 잠시 후 다시 시도해주세요. userId: %d";
+
+    public PointHotKeyException(long userId) {
+        super(String.format(MESSAGE_FORMAT, userId));
+    }
+}
@@ -0,0 +1,9 @@
+package io.hhplus.tdd.exceptions;
+
+public class PointIdempotencyKeyException extends RuntimeException {
+    public static final String MESSAGE_FORMAT = "잘못된 요청: 이미 다른 요청에 사용된 Idempotency-Key 입니다. userId: %d";
+
+    public PointIdempotencyKeyException(long userId) {
+        super(String.format(MESSAGE_FORMAT, userId));
+    }
+}
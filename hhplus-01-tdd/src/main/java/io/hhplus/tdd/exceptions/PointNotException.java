@@ -3,7 +3,14 @@ package io.hhplus.tdd.exceptions;
 public class PointNotException extends RuntimeException {
     public static final String MESSAGE_FORMAT = "잘못된 사용 요청: 금액이 부족합니다 요청한 금액: %d";
 
+    private final long value;
+
     public PointNotException(long value) {
         super(String.format(MESSAGE_FORMAT, value));
+        this.value = value;
+    }
+
+    public long value() {
+        return value;
     }
 }
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.exceptions;
+
+public class PointTransferException extends RuntimeException {
+    public static final String MESSAGE_FORMAT = "잘못된 송금 요청: %s fromUserId: %d, toUserId: %d";
+
+    private final long fromUserId;
+    private final long toUserId;
+
+    public PointTransferException(long fromUserId, long toUserId, String reason) {
+        super(String.format(MESSAGE_FORMAT, reason, fromUserId, toUserId));
+        this.fromUserId = fromUserId;
+        this.toUserId = toUserId;
+    }
+
+    public long fromUserId() {
+        return fromUserId;
+    }
+
+    public long toUserId() {
+        return toUserId;
+    }
+}
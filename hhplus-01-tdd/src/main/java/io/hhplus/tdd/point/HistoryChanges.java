@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 전체 유저의 포인트 내역 변경분 (id 순서)
+ * nextCursor 는 이번에 받은 마지막 id 이며, 받은 내역이 없으면 요청한 cursor 그대로다. hasMore 가 false 면 지금까지의 내역을 모두 받았다.
+ */
+public record HistoryChanges(
+        List<PointHistory> items,
+        long nextCursor,
+        boolean hasMore
+) {
+}
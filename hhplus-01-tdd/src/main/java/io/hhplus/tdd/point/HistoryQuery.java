@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 내역 조회 조건
+ * - cursor : 해당 id 이후(초과)의 내역만 조회
+ * - size : 최대 조회 건수 (최대 {@link #MAX_SIZE}), 없으면 제한 없음
+ * - from, to : from <= updateMillis < to 인 내역만 조회
+ * - type : 해당 트랜잭션 종류만 조회
+ */
+public record HistoryQuery(
+        Long cursor,
+        Integer size,
+        Long from,
+        Long to,
+        TransactionType type
+) {
+
+    public static final int MAX_SIZE = 1000;
+
+    public static HistoryQuery all() {
+        return new HistoryQuery(null, null, null, null, null);
+    }
+
+    public boolean isUnbounded() {
+        return cursor == null && size == null && from == null && to == null && type == null;
+    }
+
+    public int limit() {
+        if (size == null) {
+            return Integer.MAX_VALUE;
+        }
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public boolean matches(PointHistory history) {
+        return (cursor == null || history.id() > cursor)
+                && (from == null || history.updateMillis() >= from)
+                && (to == null || history.updateMillis() < to)
+                && (type == null || history.type() == type);
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.ErrorResponse;
+
+/**
+ * 일괄 충전/사용 요청 한 건의 처리 결과
+ * 성공하면 userPoint, 실패하면 error 가 채워진다.
+ */
+public record PointBulkResult(
+        long userId,
+        long amount,
+        TransactionType type,
+        UserPoint userPoint,
+        ErrorResponse error
+) {
+    public static PointBulkResult success(PointCommand command, UserPoint userPoint) {
+        return new PointBulkResult(command.userId(), command.amount(), command.type(), userPoint, null);
+    }
+
+    public static PointBulkResult failure(PointCommand command, ErrorResponse error) {
+        return new PointBulkResult(command.userId(), command.amount(), command.type(), null, error);
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.exceptions.PointMaxException;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.exceptions.PointOverException;
+
+/**
+ * 포인트 충전/사용 정책
+ * - 충전 금액은 0 이상이어야 한다.
+ * - 잔액은 1,000,000 을 넘을 수 없다.
+ * - 잔액보다 많은 포인트는 사용할 수 없다.
+ * - 만료는 잔액보다 많이 빼지 않는다.
+ */
+public final class PointPolicy {
+
+    public static final long MAX_POINT = 1_000_000L;
+
+    private PointPolicy() {
+    }
+
+    public static void validateChargeAmount(long amount) {
+        if (amount < 0) {
+            throw new PointOverException(amount);
+        }
+    }
+
+    /**
+     * 현재 잔액에 충전 금액을 더한 새 잔액을 반환한다.
+     */
+    public static long charge(long currentPoint, long amount) {
+        long newAmount = currentPoint + amount;
+        if (newAmount > MAX_POINT) {
+            throw new PointMaxException(newAmount);
+        }
+        return newAmount;
+    }
+
+    /**
+     * 현재 잔액에서 사용 금액을 뺀 새 잔액을 반환한다.
+     */
+    public static long use(long currentPoint, long amount) {
+        if (currentPoint < amount) {
+            throw new PointNotException(amount);
+        }
+        return currentPoint - amount;
+    }
+
+    /**
+     * 현재 잔액에서 만료 금액을 뺀 새 잔액을 반환한다. 잔액보다 많으면 0 이 된다.
+     */
+    public static long expire(long currentPoint, long amount) {
+        return Math.max(0, currentPoint - amount);
+    }
+
+    public static long apply(long currentPoint, TransactionType type, long amount) {
+        return switch (type) {
+            case CHARGE -> charge(currentPoint, amount);
+            case USE -> use(currentPoint, amount);
+            case EXPIRE -> expire(currentPoint, amount);
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * 유저의 충전/이용 합계
+ * lifetime 은 전체 기간, daily 는 date 하루, monthly 는 month 한 달 동안의 TransactionType 별 금액 합과 건수다.
+ */
+public record PointSummary(
+        long userId,
+        Map<TransactionType, Total> lifetime,
+        LocalDate date,
+        Map<TransactionType, Total> daily,
+        YearMonth month,
+        Map<TransactionType, Total> monthly
+) {
+
+    public record Total(
+            long amount,
+            long count
+    ) {
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 송금 요청 한 건
+ */
+public record PointTransfer(
+        long fromUserId,
+        long toUserId,
+        long amount
+) {
+}
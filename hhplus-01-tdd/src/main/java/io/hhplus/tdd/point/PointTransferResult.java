@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 송금 후 보낸 유저와 받은 유저의 포인트
+ */
+public record PointTransferResult(
+        UserPoint from,
+        UserPoint to
+) {
+}
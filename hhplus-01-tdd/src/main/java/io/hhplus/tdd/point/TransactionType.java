@@ -5,7 +5,9 @@ package io.hhplus.tdd.point;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - EXPIRE : 만료 (요청으로는 만들 수 없고 만료 처리에서만 남긴다)
+ * 저장소가 순서(ordinal)로 기록하므로 새 값은 맨 뒤에 추가한다.
  */
 public enum TransactionType {
-    CHARGE, USE
+    CHARGE, USE, EXPIRE
 }
\ No newline at end of file
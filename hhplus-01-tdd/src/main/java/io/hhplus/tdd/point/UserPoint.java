@@ -1,11 +1,19 @@
 package io.hhplus.tdd.point;
 
+/**
+ * version : 잔액이 바뀔 때마다 1 씩 증가한다. 낙관적 동시성 제어(compareAndSet)에 사용한다.
+ */
 public record UserPoint(
         long id,
         long point,
-        long updateMillis
+        long updateMillis,
+        long version
 ) {
 
+    public UserPoint(long id, long point, long updateMillis) {
+        this(id, point, updateMillis, 0L);
+    }
+
     public static UserPoint empty(long id) {
         return new UserPoint(id, 0, System.currentTimeMillis());
     }
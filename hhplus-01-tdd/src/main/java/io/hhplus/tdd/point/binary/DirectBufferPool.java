@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point.binary;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 크기가 같은 direct ByteBuffer 풀
+ * direct buffer 는 만드는 비용이 크고 GC 로 바로 회수되지 않으므로, 연결이 열릴 때 빌리고 닫힐 때 돌려받아 다시 쓴다.
+ * maxPooled 개까지만 보관하고 그보다 많이 돌아온 버퍼는 버린다.
+ */
+final class DirectBufferPool {
+
+    private final int bufferBytes;
+    private final ArrayBlockingQueue<ByteBuffer> pool;
+    private final LongAdder allocated = new LongAdder();
+
+    DirectBufferPool(int bufferBytes, int maxPooled) {
+        this.bufferBytes = bufferBytes;
+        this.pool = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+        if (buffer == null) {
+            allocated.increment();
+            return ByteBuffer.allocateDirect(bufferBytes);
+        }
+        return buffer;
+    }
+
+    void release(ByteBuffer buffer) {
+        pool.offer(buffer.clear());
+    }
+
+    int bufferBytes() {
+        return bufferBytes;
+    }
+
+    long allocated() {
+        return allocated.sum();
+    }
+}
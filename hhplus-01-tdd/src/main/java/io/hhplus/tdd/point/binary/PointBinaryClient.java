@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point.binary;
+
+import io.hhplus.tdd.point.UserPoint;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link PointBinaryServer} 클라이언트
+ * - 연결 하나를 여러 스레드가 같이 쓴다. 요청은 응답을 기다리지 않고 보내며, 응답은 읽기 스레드가 requestId 로 찾아 완료한다.
+ * - 실패 응답은 서버에서 난 것과 같은 종류의 예외로 바꾼다. (PointNotException 등)
+ */
+@Slf4j
+public class PointBinaryClient implements AutoCloseable {
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(PointWireFormat.FRAME_BYTES);
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong requestIds = new AtomicLong();
+    private final Map<Long, CompletableFuture<UserPoint>> pending = new ConcurrentHashMap<>();
+    private final Thread reader;
+    private volatile boolean closed;
+
+    private PointBinaryClient(SocketChannel channel) {
+        this.channel = channel;
+        this.reader = Thread.ofPlatform().name("point-binary-client").daemon().start(this::readLoop);
+    }
+
+    public static PointBinaryClient connect(String host, int port) {
+        try {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress(host, port));
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            return new PointBinaryClient(channel);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public UserPoint getPoint(long userId) {
+        return join(getPointAsync(userId));
+    }
+
+    public UserPoint charge(long userId, long amount) {
+        return join(chargeAsync(userId, amount));
+    }
+
+    public UserPoint use(long userId, long amount) {
+        return join(useAsync(userId, amount));
+    }
+
+    /**
+     * 송금 후 보낸 유저의 포인트를 반환한다.
+     */
+    public UserPoint transfer(long fromUserId, long toUserId, long amount) {
+        return join(transferAsync(fromUserId, toUserId, amount));
+    }
+
+    public CompletableFuture<UserPoint> getPointAsync(long userId) {
+        return send(PointWireFormat.OP_GET_POINT, userId, 0, 0);
+    }
+
+    public CompletableFuture<UserPoint> chargeAsync(long userId, long amount) {
+        return send(PointWireFormat.OP_CHARGE, userId, amount, 0);
+    }
+
+    public CompletableFuture<UserPoint> useAsync(long userId, long amount) {
+        return send(PointWireFormat.OP_USE, userId, amount, 0);
+    }
+
+    public CompletableFuture<UserPoint> transferAsync(long fromUserId, long toUserId, long amount) {
+        return send(PointWireFormat.OP_TRANSFER, fromUserId, amount, toUserId);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            log.debug("바이너리 클라이언트 닫기 실패 {}", e.getMessage());
+        }
+        reader.join();
+    }
+
+    private CompletableFuture<UserPoint> send(byte op, long userId, long amount, long targetUserId) {
+        long requestId = requestIds.incrementAndGet();
+        CompletableFuture<UserPoint> future = new CompletableFuture<>();
+        pending.put(requestId, future);
+        writeLock.lock();
+        try {
+            out.clear();
+            PointWireFormat.writeRequest(out, op, requestId, userId, amount, targetUserId);
+            out.flip();
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        } catch (IOException e) {
+            pending.remove(requestId);
+            future.completeExceptionally(new UncheckedIOException(e));
+        } finally {
+            writeLock.unlock();
+        }
+        // 보내는 사이에 읽기 스레드가 끝났으면 남은 요청을 직접 실패시킨다.
+        if (!reader.isAlive()) {
+            failPending(new IOException("연결이 닫혔습니다."));
+        }
+        return future;
+    }
+
+    private void readLoop() {
+        ByteBuffer in = ByteBuffer.allocateDirect(PointWireFormat.FRAME_BYTES * 256);
+        try {
+            while (channel.read(in) >= 0) {
+                in.flip();
+                int length;
+                while ((length = PointWireFormat.completeFrame(in, in.capacity() - PointWireFormat.LENGTH_BYTES)) >= 0) {
+                    int next = in.position() + PointWireFormat.LENGTH_BYTES + length;
+                    in.position(in.position() + PointWireFormat.LENGTH_BYTES);
+                    complete(in.get(), in.getLong(), in.getLong(), in.getLong(), in.getLong());
+                    in.position(next);
+                }
+                in.compact();
+            }
+            failPending(new IOException("서버가 연결을 닫았습니다."));
+        } catch (IOException | RuntimeException e) {
+            if (!closed) {
+                log.warn("바이너리 클라이언트 읽기 실패", e);
+            }
+            failPending(e);
+        }
+    }
+
+    private void complete(byte status, long requestId, long userId, long point, long updateMillis) {
+        CompletableFuture<UserPoint> future = pending.remove(requestId);
+        if (future == null) {
+            return;
+        }
+        if (status == PointWireFormat.OK) {
+            future.complete(new UserPoint(userId, point, updateMillis));
+        } else {
+            future.completeExceptionally(PointWireFormat.exception(status, userId, point));
+        }
+    }
+
+    private void failPending(Exception cause) {
+        RuntimeException failure = cause instanceof IOException io ? new UncheckedIOException(io)
+                : (RuntimeException) cause;
+        for (Long requestId : pending.keySet()) {
+            CompletableFuture<UserPoint> future = pending.remove(requestId);
+            if (future != null) {
+                future.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * 실패 응답의 예외를 CompletionException 으로 감싸지 않고 그대로 던진다.
+     */
+    private static UserPoint join(CompletableFuture<UserPoint> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package io.hhplus.tdd.point.binary;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.handler.HotKeyGuard;
+import io.hhplus.tdd.point.service.IPointService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 내부 호출용 바이너리 TCP 서버 (point.binary.enabled=true 일 때 사용, 형식은 {@link PointWireFormat})
+ * - JSON 변환과 MVC 디스패치 없이 요청을 {@link IPointService} 호출로 바로 바꾼다. 충전/사용/송금은 /point 와 같이 {@link HotKeyGuard} 를 거친다.
+ *   Idempotency-Key 는 지원하지 않는다.
+ * - selector 스레드 하나가 연결 수락과 읽기/쓰기를 맡고, 서비스 호출은 pointExecutor 에서 실행한다.
+ * - 연결마다 읽기/쓰기 버퍼를 direct buffer 풀에서 빌린다. 요청은 버퍼에서 바로 읽고, 응답은 쓰기 버퍼에 바로 써서 보낸다.
+ * - 한 연결에서 응답을 기다리지 않고 여러 요청을 보낼 수 있다. 요청은 동시에 처리되고 응답은 끝난 순서대로 가므로 requestId 로 짝을 맞춘다.
+ *   처리 중이거나 아직 보내지 못한 응답이 max-in-flight 개가 되면 그 연결은 더 읽지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "point.binary.enabled", havingValue = "true")
+public class PointBinaryServer implements AutoCloseable {
+
+    private final IPointService pointService;
+    private final HotKeyGuard hotKeyGuard;
+    private final Executor executor;
+    private final DirectBufferPool bufferPool;
+    private final int maxInFlight;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final Thread ioThread;
+    private final ConcurrentLinkedQueue<Connection> ready = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private volatile boolean closed;
+
+    @Autowired
+    public PointBinaryServer(
+            IPointService pointService,
+            HotKeyGuard hotKeyGuard,
+            ExecutorService pointExecutor,
+            @Value("${point.binary.port:7070}") int port,
+            @Value("${point.binary.buffer-bytes:65536}") int bufferBytes,
+            @Value("${point.binary.max-in-flight:1024}") int maxInFlight,
+            @Value("${point.binary.max-pooled-buffers:256}") int maxPooledBuffers
+    ) {
+        this(pointService, hotKeyGuard, (Executor) pointExecutor, new InetSocketAddress(port), bufferBytes, maxInFlight,
+                maxPooledBuffers);
+    }
+
+    public PointBinaryServer(IPointService pointService, HotKeyGuard hotKeyGuard, Executor executor,
+                             InetSocketAddress address, int bufferBytes, int maxInFlight, int maxPooledBuffers) {
+        if (bufferBytes < PointWireFormat.FRAME_BYTES || maxInFlight <= 0) {
+            throw new IllegalArgumentException("point.binary 설정이 올바르지 않습니다.");
+        }
+        this.pointService = pointService;
+        this.hotKeyGuard = hotKeyGuard;
+        this.executor = executor;
+        this.bufferPool = new DirectBufferPool(bufferBytes, maxPooledBuffers);
+        // 보내지 못한 응답이 쓰기 버퍼를 넘지 않도록 버퍼에 들어가는 응답 수로 제한한다.
+        this.maxInFlight = Math.min(maxInFlight, bufferBytes / PointWireFormat.FRAME_BYTES);
+        try {
+            this.selector = Selector.open();
+            this.serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(address);
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.ioThread = Thread.ofPlatform().name("point-binary-io").daemon().start(this::ioLoop);
+        log.info("바이너리 서버 시작 {}", serverChannel.socket().getLocalSocketAddress());
+    }
+
+    public int port() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public Stats stats() {
+        return new Stats(connections.get(), requests.sum(), bufferPool.allocated());
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        selector.wakeup();
+        ioThread.join();
+    }
+
+    private void ioLoop() {
+        try {
+            while (!closed) {
+                selector.select();
+                wakeupPending.set(false);
+                Connection connection;
+                while ((connection = ready.poll()) != null) {
+                    connection.onReady();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection target = (Connection) key.attachment();
+                    if (key.isWritable()) {
+                        target.onWritable();
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        target.onReadable();
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            log.error("바이너리 서버 selector 종료", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection connection) {
+                    connection.close();
+                }
+            }
+            closeQuietly();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection connection = new Connection(channel);
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            connections.incrementAndGet();
+        }
+    }
+
+    /**
+     * 작업 스레드에서 selector 스레드로 연결을 넘긴다. wakeup 은 한 번 깨울 때까지 한 번만 호출한다.
+     */
+    private void signal(Connection connection) {
+        ready.add(connection);
+        if (wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    private UserPoint execute(byte op, long userId, long amount, long targetUserId) {
+        return switch (op) {
+            case PointWireFormat.OP_GET_POINT -> pointService.getPoint(userId);
+            case PointWireFormat.OP_CHARGE -> hotKeyGuard.execute(userId, () -> pointService.charge(userId, amount));
+            case PointWireFormat.OP_USE -> hotKeyGuard.execute(userId, () -> pointService.use(userId, amount));
+            case PointWireFormat.OP_TRANSFER -> hotKeyGuard.execute(userId,
+                    () -> pointService.transfer(userId, targetUserId, amount).from());
+            default -> throw new IllegalArgumentException("알 수 없는 op 입니다: " + op);
+        };
+    }
+
+    private void closeQuietly() {
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            log.warn("바이너리 서버 종료 실패", e);
+        }
+    }
+
+    public record Stats(
+            int connections,
+            long requests,
+            long allocatedBuffers
+    ) {
+    }
+
+    /**
+     * in, readPaused 는 selector 스레드만 사용한다. out 은 outLock 안에서만 쓴다.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in;
+        private final ByteBuffer out;
+        private final ReentrantLock outLock = new ReentrantLock();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private SelectionKey key;
+        private volatile int pendingBytes;
+        private volatile boolean readPaused;
+        private volatile boolean broken;
+        private boolean open = true;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.in = bufferPool.acquire();
+            this.out = bufferPool.acquire();
+        }
+
+        private void onReadable() {
+            try {
+                if (channel.read(in) < 0) {
+                    close();
+                    return;
+                }
+                dispatch();
+            } catch (IOException | RuntimeException e) {
+                log.debug("바이너리 연결 종료 {}", e.getMessage());
+                close();
+            }
+        }
+
+        /**
+         * 읽기 버퍼에 모인 요청을 꺼내 작업 스레드에 넘긴다. 한도에 닿으면 남은 요청은 버퍼에 둔 채 읽기를 멈춘다.
+         */
+        private void dispatch() {
+            in.flip();
+            try {
+                int length;
+                while (outstanding() < maxInFlight
+                        && (length = PointWireFormat.completeFrame(in, in.capacity() - PointWireFormat.LENGTH_BYTES)) >= 0) {
+                    int next = in.position() + PointWireFormat.LENGTH_BYTES + length;
+                    in.position(in.position() + PointWireFormat.LENGTH_BYTES);
+                    byte op = in.get();
+                    long requestId = in.getLong();
+                    long userId = in.getLong();
+                    long amount = in.getLong();
+                    long targetUserId = in.getLong();
+                    in.position(next);
+                    inFlight.incrementAndGet();
+                    requests.increment();
+                    executor.execute(() -> complete(op, requestId, userId, amount, targetUserId));
+                }
+            } finally {
+                in.compact();
+            }
+            readPaused = true;
+            if (outstanding() < maxInFlight) {
+                readPaused = false;
+                key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+            } else {
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            }
+        }
+
+        /**
+         * 작업 스레드에서 호출된다. 응답을 쓰기 버퍼에 쓰고 바로 보내 본다. 다 보내지 못하면 selector 에 맡긴다.
+         */
+        private void complete(byte op, long requestId, long userId, long amount, long targetUserId) {
+            byte status = PointWireFormat.OK;
+            long point = 0;
+            long updateMillis = 0;
+            try {
+                UserPoint result = execute(op, userId, amount, targetUserId);
+                point = result.point();
+                updateMillis = result.updateMillis();
+            } catch (RuntimeException e) {
+                status = PointWireFormat.status(e);
+                point = PointWireFormat.value(e);
+                if (status == PointWireFormat.SERVER_ERROR) {
+                    log.error("바이너리 요청 처리 실패 userId: {}", userId, e);
+                }
+            }
+            boolean flushed = false;
+            outLock.lock();
+            try {
+                if (open) {
+                    PointWireFormat.writeResponse(out, status, requestId, userId, point, updateMillis);
+                    flushed = flush();
+                }
+            } catch (IOException e) {
+                broken = true;
+            } finally {
+                outLock.unlock();
+            }
+            inFlight.decrementAndGet();
+            if (!flushed || readPaused) {
+                signal(this);
+            }
+        }
+
+        /**
+         * outLock 을 잡은 상태에서 호출된다.
+         */
+        private boolean flush() throws IOException {
+            out.flip();
+            try {
+                channel.write(out);
+            } finally {
+                out.compact();
+                pendingBytes = out.position();
+            }
+            return pendingBytes == 0;
+        }
+
+        private void onWritable() {
+            outLock.lock();
+            try {
+                if (flush()) {
+                    key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+                }
+            } catch (IOException e) {
+                broken = true;
+            } finally {
+                outLock.unlock();
+            }
+            onReady();
+        }
+
+        /**
+         * selector 스레드에서 호출된다. 못 보낸 응답이 있으면 쓰기를 기다리고, 멈춘 읽기는 한도 아래로 내려가면 다시 시작한다.
+         */
+        private void onReady() {
+            if (!key.isValid()) {
+                return;
+            }
+            if (broken) {
+                close();
+                return;
+            }
+            if (pendingBytes > 0) {
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+            }
+            if (readPaused && outstanding() < maxInFlight) {
+                try {
+                    dispatch();
+                } catch (RuntimeException e) {
+                    close();
+                }
+            }
+        }
+
+        /**
+         * 처리 중인 요청 수와 아직 보내지 못한 응답 수의 합
+         */
+        private int outstanding() {
+            return inFlight.get() + (pendingBytes + PointWireFormat.FRAME_BYTES - 1) / PointWireFormat.FRAME_BYTES;
+        }
+
+        private void close() {
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("바이너리 연결 닫기 실패 {}", e.getMessage());
+            }
+            outLock.lock();
+            try {
+                if (!open) {
+                    return;
+                }
+                open = false;
+                bufferPool.release(out);
+            } finally {
+                outLock.unlock();
+            }
+            bufferPool.release(in);
+            connections.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point.binary;
+
+import io.hhplus.tdd.exceptions.PointConflictException;
+import io.hhplus.tdd.exceptions.PointHotKeyException;
+import io.hhplus.tdd.exceptions.PointMaxException;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.exceptions.PointOverException;
+import io.hhplus.tdd.exceptions.PointTransferException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 내부 호출용 바이너리 프로토콜 형식 (big-endian)
+ * 요청 : [길이 int][op byte][requestId long][userId long][amount long][targetUserId long]
+ * 응답 : [길이 int][status byte][requestId long][userId long][point long][updateMillis long]
+ * - 길이는 자기 자신을 뺀 바이트 수다. 지금은 요청, 응답 모두 33 이며, 뒤에 필드가 늘면 받는 쪽은 모르는 부분을 건너뛴다.
+ * - op : 1 조회, 2 충전, 3 사용, 4 송금 (userId 가 targetUserId 에게 보내고, 응답은 보낸 유저의 포인트)
+ * - status : 0 성공, 그 밖에는 실패. 실패하면 point 에 예외의 값(요청 금액, 충전 후 금액, 송금 받을 유저 등)을 담는다.
+ */
+public final class PointWireFormat {
+
+    public static final int LENGTH_BYTES = 4;
+    public static final int BODY_BYTES = 33;
+    public static final int FRAME_BYTES = LENGTH_BYTES + BODY_BYTES;
+
+    public static final byte OP_GET_POINT = 1;
+    public static final byte OP_CHARGE = 2;
+    public static final byte OP_USE = 3;
+    public static final byte OP_TRANSFER = 4;
+
+    public static final byte OK = 0;
+    public static final byte OVER = 1;
+    public static final byte MAX = 2;
+    public static final byte NOT_ENOUGH = 3;
+    public static final byte CONFLICT = 4;
+    public static final byte HOT_KEY = 5;
+    public static final byte BAD_REQUEST = 6;
+    public static final byte UNSUPPORTED = 7;
+    public static final byte TRANSFER = 8;
+    public static final byte SERVER_ERROR = 9;
+
+    private PointWireFormat() {
+    }
+
+    public static void writeRequest(ByteBuffer buffer, byte op, long requestId, long userId, long amount,
+                                    long targetUserId) {
+        buffer.putInt(BODY_BYTES)
+                .put(op)
+                .putLong(requestId)
+                .putLong(userId)
+                .putLong(amount)
+                .putLong(targetUserId);
+    }
+
+    public static void writeResponse(ByteBuffer buffer, byte status, long requestId, long userId, long point,
+                                     long updateMillis) {
+        buffer.putInt(BODY_BYTES)
+                .put(status)
+                .putLong(requestId)
+                .putLong(userId)
+                .putLong(point)
+                .putLong(updateMillis);
+    }
+
+    /**
+     * buffer(읽기 모드)에 프레임 하나가 모두 들어 있으면 본문 길이를, 아직 덜 왔으면 -1 을 반환한다.
+     * 길이가 BODY_BYTES 보다 작거나 maxBodyBytes 보다 크면 연결을 끊어야 하므로 예외를 던진다.
+     */
+    public static int completeFrame(ByteBuffer buffer, int maxBodyBytes) {
+        if (buffer.remaining() < LENGTH_BYTES) {
+            return -1;
+        }
+        int length = buffer.getInt(buffer.position());
+        if (length < BODY_BYTES || length > maxBodyBytes) {
+            throw new IllegalStateException("잘못된 프레임 길이입니다: " + length);
+        }
+        return buffer.remaining() < LENGTH_BYTES + length ? -1 : length;
+    }
+
+    /**
+     * 서버에서 난 예외를 응답 status 로 바꾼다.
+     */
+    public static byte status(RuntimeException e) {
+        if (e instanceof PointOverException) {
+            return OVER;
+        } else if (e instanceof PointMaxException) {
+            return MAX;
+        } else if (e instanceof PointNotException) {
+            return NOT_ENOUGH;
+        } else if (e instanceof PointConflictException) {
+            return CONFLICT;
+        } else if (e instanceof PointHotKeyException) {
+            return HOT_KEY;
+        } else if (e instanceof PointTransferException) {
+            return TRANSFER;
+        } else if (e instanceof UnsupportedOperationException) {
+            return UNSUPPORTED;
+        } else if (e instanceof IllegalArgumentException) {
+            return BAD_REQUEST;
+        }
+        return SERVER_ERROR;
+    }
+
+    /**
+     * 실패 응답에 담을 예외의 값
+     */
+    public static long value(RuntimeException e) {
+        if (e instanceof PointOverException over) {
+            return over.value();
+        } else if (e instanceof PointMaxException max) {
+            return max.value();
+        } else if (e instanceof PointNotException not) {
+            return not.value();
+        } else if (e instanceof PointTransferException transfer) {
+            return transfer.toUserId();
+        }
+        return 0;
+    }
+
+    /**
+     * 실패 응답을 서버에서 난 것과 같은 종류의 예외로 바꾼다.
+     */
+    public static RuntimeException exception(byte status, long userId, long value) {
+        return switch (status) {
+            case OVER -> new PointOverException(value);
+            case MAX -> new PointMaxException(value);
+            case NOT_ENOUGH -> new PointNotException(value);
+            case CONFLICT -> new PointConflictException(userId, 0);
+            case HOT_KEY -> new PointHotKeyException(userId);
+            case TRANSFER -> new PointTransferException(userId, value, "송금할 수 없습니다.");
+            case UNSUPPORTED -> new UnsupportedOperationException("지원하지 않는 요청입니다. userId: " + userId);
+            case BAD_REQUEST -> new IllegalArgumentException("잘못된 요청입니다. userId: " + userId);
+            default -> new IllegalStateException("요청 처리에 실패했습니다. status: " + status + ", userId: " + userId);
+        };
+    }
+}
@@ -0,0 +1,168 @@
+package io.hhplus.tdd.point.cache;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.handler.LockManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * 유저 잔액 캐시 (point.cache.enabled=true 일 때 사용)
+ * - 조회 시 캐시에 없으면 유저 락을 잡고 저장소에서 읽어 채운다.
+ * - charge/use 는 유저 락을 잡은 상태에서 저장 직후 캐시를 갱신하므로, 락 밖에서 오래된 값으로 덮어쓰는 경우가 없다.
+ * - 락 없이 갱신하는 경우(point.engine=optimistic)를 위해, 캐시에 있는 값보다 version 이 낮은 값으로는 덮어쓰지 않는다.
+ * - 세그먼트별 LRU 로 point.cache.capacity 개까지만 유지한다.
+ */
+@Component
+public class BalanceCache {
+
+    private final LockManager lockManager;
+    private final boolean enabled;
+    private final Segment[] segments;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public BalanceCache(
+            LockManager lockManager,
+            @Value("${point.cache.enabled:false}") boolean enabled,
+            @Value("${point.cache.capacity:100000}") int capacity,
+            @Value("${point.cache.segments:16}") int segmentCount
+    ) {
+        this.lockManager = lockManager;
+        this.enabled = enabled;
+        int count = segmentCount <= 1 ? 1 : Integer.highestOneBit(segmentCount - 1) << 1;
+        int perSegment = Math.max(1, capacity / count);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        this.mask = count - 1;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * 캐시에 있으면 바로 반환하고, 없으면 유저 락을 잡고 loader 로 읽어 캐시에 채운다.
+     */
+    public UserPoint getOrLoad(long id, LongFunction<UserPoint> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        UserPoint cached = segmentFor(id).get(id);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        ReentrantLock lock = lockManager.getLock(id);
+        lock.lock();
+        try {
+            UserPoint loaded = loader.apply(id);
+            put(loaded);
+            return loaded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 유저 락을 잡은 상태이거나, compareAndSet 으로 저장에 성공한 값으로만 호출해야 한다.
+     */
+    public void put(UserPoint userPoint) {
+        if (enabled) {
+            segmentFor(userPoint.id()).put(userPoint);
+        }
+    }
+
+    public void invalidate(long id) {
+        if (enabled) {
+            segmentFor(id).remove(id);
+        }
+    }
+
+    public CacheStats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new CacheStats(enabled, size, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private Segment segmentFor(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return segments[(int) (h ^ (h >>> 32)) & mask];
+    }
+
+    public record CacheStats(
+            boolean enabled,
+            long size,
+            long hits,
+            long misses,
+            long evictions
+    ) {
+    }
+
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Long, UserPoint> entries;
+
+        private Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, UserPoint> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private UserPoint get(long id) {
+            lock.lock();
+            try {
+                return entries.get(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(UserPoint userPoint) {
+            lock.lock();
+            try {
+                entries.merge(userPoint.id(), userPoint,
+                        (cached, updated) -> updated.version() >= cached.version() ? updated : cached);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void remove(long id) {
+            lock.lock();
+            try {
+                entries.remove(id);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
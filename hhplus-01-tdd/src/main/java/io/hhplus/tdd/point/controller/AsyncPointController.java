@@ -0,0 +1,52 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.service.IAsyncPointService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * /point 와 같은 기능을 요청 스레드를 붙잡지 않고 처리하는 API
+ * 컨트롤러는 CompletableFuture 를 바로 반환하고, 응답은 저장소 작업이 끝났을 때 비동기 서블릿으로 쓴다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/async/point")
+public class AsyncPointController {
+
+    private final IAsyncPointService asyncPointService;
+
+    @GetMapping("{id}")
+    public CompletableFuture<UserPoint> point(
+            @PathVariable Long id
+    ) {
+        return asyncPointService.getPoint(id);
+    }
+
+    @GetMapping("{id}/histories")
+    public CompletableFuture<List<PointHistory>> history(
+            @PathVariable Long id
+    ) {
+        return asyncPointService.getHistory(id);
+    }
+
+    @PatchMapping("{id}/charge")
+    public CompletableFuture<UserPoint> charge(
+            @PathVariable Long id,
+            @RequestBody Long amount
+    ) {
+        return asyncPointService.charge(id, amount);
+    }
+
+    @PatchMapping("{id}/use")
+    public CompletableFuture<UserPoint> use(
+            @PathVariable Long id,
+            @RequestBody Long amount
+    ) {
+        return asyncPointService.use(id, amount);
+    }
+}
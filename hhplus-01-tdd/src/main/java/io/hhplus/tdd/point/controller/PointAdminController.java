@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.HotKeyGuard;
+import io.hhplus.tdd.point.handler.IdempotencyStore;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointReconciler;
+import io.hhplus.tdd.point.service.AsyncPointService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 운영자용 API
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/point")
+public class PointAdminController {
+
+    private final LockManager lockManager;
+    private final BalanceCache balanceCache;
+    private final PointHistorySummary pointHistorySummary;
+    private final IdempotencyStore idempotencyStore;
+    private final AsyncPointService asyncPointService;
+    private final HotKeyGuard hotKeyGuard;
+    private final PointExpiry pointExpiry;
+    private final PointReconciler pointReconciler;
+
+    /**
+     * 경합이 많은 락 스트라이프 조회
+     */
+    @GetMapping("locks")
+    public List<LockManager.StripeStats> locks(
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return lockManager.hottestStripes(limit);
+    }
+
+    /**
+     * 잔액 캐시 적중/미스/축출 통계 조회
+     */
+    @GetMapping("cache")
+    public BalanceCache.CacheStats cache() {
+        return balanceCache.stats();
+    }
+
+    /**
+     * Idempotency-Key 보관 수/세대 수/재사용 횟수 조회
+     */
+    @GetMapping("idempotency")
+    public IdempotencyStore.Stats idempotency() {
+        return idempotencyStore.stats();
+    }
+
+    /**
+     * /async/point 의 응답 대기 요청 수 조회
+     */
+    @GetMapping("async")
+    public AsyncPointService.Stats async() {
+        return asyncPointService.stats();
+    }
+
+    /**
+     * 요청이 몰려 입장을 제한 중인 유저 목록과 누적 거절 수 조회
+     */
+    @GetMapping("hot-keys")
+    public HotKeyGuard.Stats hotKeys() {
+        return hotKeyGuard.stats();
+    }
+
+    /**
+     * 만료 대기 중인 유저/lot 수와 누적 만료량 조회
+     */
+    @GetMapping("expiry")
+    public PointExpiry.Stats expiry() {
+        return pointExpiry.stats();
+    }
+
+    /**
+     * 다음 tick 을 기다리지 않고 지금까지 만료된 포인트를 처리한다.
+     */
+    @PostMapping("expiry/run")
+    public long runExpiry() {
+        return pointExpiry.expireDue();
+    }
+
+    /**
+     * 내역 저장소 전체를 읽어 충전/이용 합계를 다시 만든다.
+     */
+    @PostMapping("summary/rebuild")
+    public PointHistorySummary.RebuildResult rebuildSummary() {
+        return pointHistorySummary.rebuild();
+    }
+
+    /**
+     * 유저별 내역 합계와 잔액을 대조한다. repair 이면 다른 잔액을 내역 합계로 고친다.
+     */
+    @PostMapping("reconcile")
+    public PointReconciler.Report reconcile(
+            @RequestParam(defaultValue = "false") boolean repair
+    ) {
+        return pointReconciler.reconcile(repair);
+    }
+}
@@ -0,0 +1,89 @@
+package io.hhplus.tdd.point.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.HistoryChanges;
+import io.hhplus.tdd.point.handler.PointChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * 전체 유저의 포인트 내역 변경분 API
+ * 분석/이상거래 탐지처럼 새 내역을 따라가야 하는 시스템은 유저별 내역 조회 대신 이 API 로 마지막 id 이후만 받는다.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/point/changes")
+public class PointChangeFeedController {
+
+    private final PointChangeFeed pointChangeFeed;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * id 가 after 보다 큰 내역을 id 순서대로 최대 limit 개 조회한다. 다음 요청에는 nextCursor 를 after 로 넘긴다.
+     */
+    @GetMapping
+    public HistoryChanges changes(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "1000") int limit
+    ) {
+        return pointChangeFeed.read(after, limit);
+    }
+
+    /**
+     * id 가 after 보다 큰 내역을 한 줄에 하나씩(NDJSON) 내려준다. 목록을 만들지 않고 읽는 대로 응답에 쓴다.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) long limit
+    ) {
+        StreamingResponseBody body = outputStream -> pointChangeFeed.stream(after, limit, history -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(history));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * 구독자가 commit 한 cursor 이후의 내역을 조회한다. cursor 는 옮기지 않는다.
+     */
+    @GetMapping("consumers/{consumer}")
+    public HistoryChanges poll(
+            @PathVariable String consumer,
+            @RequestParam(defaultValue = "1000") int limit
+    ) {
+        return pointChangeFeed.poll(consumer, limit);
+    }
+
+    /**
+     * 처리를 마친 마지막 id 를 구독자의 cursor 로 저장한다.
+     */
+    @PutMapping("consumers/{consumer}/cursor")
+    public PointChangeFeed.ConsumerCursor commit(
+            @PathVariable String consumer,
+            @RequestBody Long cursor
+    ) {
+        return pointChangeFeed.commit(consumer, cursor);
+    }
+
+    /**
+     * 구독자별 cursor 조회
+     */
+    @GetMapping("consumers")
+    public List<PointChangeFeed.ConsumerCursor> consumers() {
+        return pointChangeFeed.consumers();
+    }
+}
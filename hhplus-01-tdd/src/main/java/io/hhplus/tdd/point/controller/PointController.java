@@ -1,13 +1,32 @@
 package io.hhplus.tdd.point.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointBulkResult;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointTransfer;
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.service.IPointService;
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.handler.HotKeyGuard;
+import io.hhplus.tdd.point.handler.IdempotencyStore;
+import io.hhplus.tdd.point.handler.PointBulkProcessor;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -16,7 +35,14 @@ import java.util.List;
 public class PointController{
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final IPointService pointService;
+    private final ObjectMapper objectMapper;
+    private final PointBulkProcessor pointBulkProcessor;
+    private final IdempotencyStore idempotencyStore;
+    private final HotKeyGuard hotKeyGuard;
 
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
@@ -32,33 +58,116 @@ public class PointController{
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
-            @PathVariable Long id
+    public ResponseEntity<List<PointHistory>> history(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
+    ) {
+        HistoryQuery query = new HistoryQuery(cursor, size, from, to, type);
+        if (query.isUnbounded()) {
+            return ResponseEntity.ok(pointService.getHistory(id));
+        }
+        HistoryPage page = pointService.getHistory(id, query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        }
+        return response.body(page.items());
+    }
+
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 한 줄에 하나씩(NDJSON) 내려주는 기능
+     * 목록을 만들지 않고 읽는 대로 응답에 쓴다.
+     */
+    @GetMapping(value = "{id}/histories", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to,
+            @RequestParam(required = false) TransactionType type
     ) {
-        return pointService.getHistory(id);
+        HistoryQuery query = new HistoryQuery(cursor, size, from, to, type);
+        StreamingResponseBody body = outputStream -> pointService.streamHistory(id, query, history -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(history));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
+    /**
+     * 특정 유저의 충전/이용 합계(전체, date 일, date 가 속한 월)를 조회하는 기능
+     * date 가 없으면 오늘 기준이며, 내역을 다시 읽지 않고 미리 집계한 값을 반환한다.
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return pointService.getSummary(id, date);
+    }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 온 요청에는 처음 결과를 그대로 돌려준다.
+     * 요청이 몰린 유저는 동시에 처리하는 수를 제한하고 넘치는 요청은 바로 거절한다.
      */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable Long id,
-            @RequestBody Long amount
+            @RequestBody Long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
 
-        return pointService.charge(id, amount);
+        return hotKeyGuard.execute(id, () -> idempotencyStore.execute(idempotencyKey, id, TransactionType.CHARGE, amount,
+                () -> pointService.charge(id, amount)));
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키로 다시 온 요청에는 처음 결과를 그대로 돌려준다.
+     * 요청이 몰린 유저는 동시에 처리하는 수를 제한하고 넘치는 요청은 바로 거절한다.
      */
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable Long id,
-            @RequestBody Long amount
+            @RequestBody Long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return hotKeyGuard.execute(id, () -> idempotencyStore.execute(idempotencyKey, id, TransactionType.USE, amount,
+                () -> pointService.use(id, amount)));
+    }
+
+    /**
+     * 여러 유저의 포인트를 한 번에 충전/사용하는 기능
+     * 유저별로 요청 순서대로 처리하고, 건별 결과(성공 시 포인트, 실패 시 에러)를 요청 순서대로 반환한다.
+     */
+    @PostMapping("batch")
+    public List<PointBulkResult> batch(
+            @RequestBody List<PointCommand> commands
+    ) {
+        return pointBulkProcessor.process(commands);
+    }
+
+    /**
+     * 특정 유저의 포인트를 다른 유저에게 보내는 기능
+     * 보낸 유저의 잔액 차감, 받는 유저의 잔액 증가와 두 유저의 내역이 함께 반영된다.
+     */
+    @PostMapping("transfer")
+    public PointTransferResult transfer(
+            @RequestBody PointTransfer transfer
     ) {
-        return pointService.use(id, amount);
+        return hotKeyGuard.execute(transfer.fromUserId(),
+                () -> pointService.transfer(transfer.fromUserId(), transfer.toUserId(), transfer.amount()));
     }
 }
@@ -0,0 +1,36 @@
+package io.hhplus.tdd.point.controller;
+
+import io.hhplus.tdd.point.service.PartitionedPointService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * point.engine=partitioned 일 때의 운영자용 API
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/point/partitions")
+@ConditionalOnProperty(name = "point.engine", havingValue = "partitioned")
+public class PointPartitionController {
+
+    private final PartitionedPointService partitionedPointService;
+
+    /**
+     * shard 별 담당 유저 수 조회
+     */
+    @GetMapping
+    public List<PartitionedPointService.ShardStats> shards() {
+        return partitionedPointService.shards();
+    }
+
+    /**
+     * shard 를 하나 추가하고 새 shard 로 배정된 유저를 옮긴다. 옮기는 동안 요청은 기다린다.
+     */
+    @PostMapping
+    public PartitionedPointService.RebalanceResult addShard() {
+        return partitionedPointService.addShard();
+    }
+}
@@ -0,0 +1,273 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.exceptions.PointHotKeyException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 요청이 몰린 유저(hot key) 감지와 충전/사용 요청 입장 제한
+ * - 유저별 요청 수와 처리 중인 요청 수(= 유저 락 대기열 길이)를 count-min sketch 로 센다. 유저마다 객체를 만들지 않는다.
+ *   요청 수는 window-millis 단위로 나눠 세고, 직전 window 를 지난 시간만큼 줄여 더해 최근 window-millis 동안의 요청 수로 본다.
+ * - 요청 수가 rate-threshold 이상이거나 처리 중인 요청 수가 queue-threshold 이상이 되면 hot key 로 등록한다.
+ *   hot key 는 max-concurrency 개까지만 동시에 처리하고, 나머지는 락을 기다리지 않고 {@link PointHotKeyException} 으로 바로 거절한다.
+ *   한 유저가 요청 스레드를 max-concurrency 개보다 많이 붙잡지 못하므로 다른 유저의 요청은 스레드를 기다리지 않는다.
+ * - 두 값이 모두 기준의 절반 아래로 내려가고 window 하나가 지나면 hot key 에서 해제한다.
+ * - sketch 는 실제보다 크게 셀 수는 있어도 작게 세지 않는다. 크게 센 유저는 제한 안에서는 그대로 처리된다.
+ */
+@Component
+public class HotKeyGuard {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+    private static final int DEPTH = SEEDS.length;
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int rateThreshold;
+    private final int queueThreshold;
+    private final int maxConcurrency;
+    private final int width;
+    private final int mask;
+    private final LongSupplier clock;
+    private final AtomicIntegerArray inFlight;
+    private final ConcurrentHashMap<Long, HotKey> hotKeys = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private final ReentrantLock rotateLock = new ReentrantLock();
+    private volatile Window current;
+    private volatile Window previous;
+
+    @Autowired
+    public HotKeyGuard(
+            @Value("${point.hot-key.enabled:true}") boolean enabled,
+            @Value("${point.hot-key.window-millis:1000}") long windowMillis,
+            @Value("${point.hot-key.rate-threshold:1000}") int rateThreshold,
+            @Value("${point.hot-key.queue-threshold:16}") int queueThreshold,
+            @Value("${point.hot-key.max-concurrency:4}") int maxConcurrency,
+            @Value("${point.hot-key.sketch-width:4096}") int sketchWidth
+    ) {
+        this(enabled, windowMillis, rateThreshold, queueThreshold, maxConcurrency, sketchWidth,
+                System::currentTimeMillis);
+    }
+
+    public HotKeyGuard(boolean enabled, long windowMillis, int rateThreshold, int queueThreshold, int maxConcurrency,
+                       int sketchWidth, LongSupplier clock) {
+        if (windowMillis <= 0 || rateThreshold <= 0 || queueThreshold <= 0 || maxConcurrency <= 0) {
+            throw new IllegalArgumentException("point.hot-key 설정은 0 보다 커야 합니다.");
+        }
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.rateThreshold = rateThreshold;
+        this.queueThreshold = queueThreshold;
+        this.maxConcurrency = maxConcurrency;
+        this.width = Integer.highestOneBit(Math.max(1, sketchWidth - 1)) << 1;
+        this.mask = width - 1;
+        this.clock = clock;
+        this.inFlight = new AtomicIntegerArray(DEPTH * width);
+        this.current = new Window(clock.getAsLong(), DEPTH * width);
+    }
+
+    /**
+     * 유저의 요청을 세고 입장을 허용하면 action 을 실행한다. hot key 의 동시 처리 수가 가득 찼으면 바로 거절한다.
+     */
+    public <T> T execute(long userId, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        long now = clock.getAsLong();
+        int rate = addRequest(userId, now);
+        HotKey hotKey = hotKeys.get(userId);
+        if (hotKey == null && (rate >= rateThreshold || queued(userId) >= queueThreshold)) {
+            hotKey = hotKeys.computeIfAbsent(userId, key -> new HotKey(key, now));
+        }
+        if (hotKey != null && !coolDown(hotKey, rate, now)) {
+            return executeHot(hotKey, userId, action);
+        }
+        addInFlight(userId, 1);
+        try {
+            return action.get();
+        } finally {
+            addInFlight(userId, -1);
+        }
+    }
+
+    /**
+     * 현재 hot key 목록 (최근 요청 수가 많은 순서)과 누적 거절 수
+     */
+    public Stats stats() {
+        long now = clock.getAsLong();
+        evictIdle(now);
+        List<HotKeyStats> keys = new ArrayList<>(hotKeys.size());
+        for (HotKey hotKey : hotKeys.values()) {
+            keys.add(new HotKeyStats(hotKey.userId, rate(hotKey.userId, now), queued(hotKey.userId),
+                    hotKey.inFlight.get(), hotKey.rejected.sum(), hotKey.since));
+        }
+        keys.sort(Comparator.comparingInt(HotKeyStats::requestRate).reversed());
+        return new Stats(rejected.sum(), keys);
+    }
+
+    private <T> T executeHot(HotKey hotKey, long userId, Supplier<T> action) {
+        hotKey.lastSeen = clock.getAsLong();
+        if (hotKey.inFlight.incrementAndGet() > maxConcurrency) {
+            hotKey.inFlight.decrementAndGet();
+            hotKey.rejected.increment();
+            rejected.increment();
+            throw new PointHotKeyException(userId);
+        }
+        addInFlight(userId, 1);
+        try {
+            return action.get();
+        } finally {
+            addInFlight(userId, -1);
+            hotKey.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * 등록 후 window 하나가 지났고 요청 수와 처리 중인 요청 수가 모두 기준의 절반 아래면 해제한다.
+     */
+    private boolean coolDown(HotKey hotKey, int rate, long now) {
+        if (now - hotKey.since < windowMillis || rate * 2 >= rateThreshold
+                || queued(hotKey.userId) * 2 >= queueThreshold) {
+            return false;
+        }
+        hotKeys.remove(hotKey.userId, hotKey);
+        return true;
+    }
+
+    /**
+     * 이번 window 의 요청 수를 하나 늘리고 최근 window-millis 동안의 요청 수를 추정한다.
+     */
+    private int addRequest(long userId, long now) {
+        Window window = window(now);
+        int counted = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            counted = Math.min(counted, window.counts.incrementAndGet(index(row, userId)));
+        }
+        return counted + carried(userId, window, now);
+    }
+
+    private int rate(long userId, long now) {
+        Window window = window(now);
+        return estimate(window.counts, userId) + carried(userId, window, now);
+    }
+
+    /**
+     * 직전 window 의 요청 수 중 아직 최근 window-millis 안에 들어오는 비율만큼
+     */
+    private int carried(long userId, Window window, long now) {
+        Window before = previous;
+        if (before == null) {
+            return 0;
+        }
+        long remaining = windowMillis - Math.min(windowMillis, now - window.startedAt);
+        return (int) (estimate(before.counts, userId) * remaining / windowMillis);
+    }
+
+    private int queued(long userId) {
+        return estimate(inFlight, userId);
+    }
+
+    private void addInFlight(long userId, int delta) {
+        for (int row = 0; row < DEPTH; row++) {
+            inFlight.addAndGet(index(row, userId), delta);
+        }
+    }
+
+    private int estimate(AtomicIntegerArray counts, long userId) {
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counts.get(index(row, userId)));
+        }
+        return estimate;
+    }
+
+    private int index(int row, long userId) {
+        long h = userId * SEEDS[row];
+        h ^= h >>> 29;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 32;
+        return row * width + ((int) h & mask);
+    }
+
+    /**
+     * window-millis 가 지났으면 새 window 로 넘어간다. 다른 스레드가 넘기는 중이면 기다리지 않고 지금 window 에 센다.
+     */
+    private Window window(long now) {
+        Window window = current;
+        if (now - window.startedAt < windowMillis || !rotateLock.tryLock()) {
+            return window;
+        }
+        try {
+            window = current;
+            if (now - window.startedAt >= windowMillis) {
+                previous = now - window.startedAt < windowMillis * 2 ? window : null;
+                window = new Window(now, DEPTH * width);
+                current = window;
+                evictIdle(now);
+            }
+            return window;
+        } finally {
+            rotateLock.unlock();
+        }
+    }
+
+    /**
+     * window 두 개 동안 요청이 없었던 hot key 를 지운다.
+     */
+    private void evictIdle(long now) {
+        hotKeys.values().removeIf(hotKey -> hotKey.inFlight.get() == 0 && now - hotKey.lastSeen >= windowMillis * 2);
+    }
+
+    public record Stats(
+            long rejected,
+            List<HotKeyStats> hotKeys
+    ) {
+    }
+
+    public record HotKeyStats(
+            long userId,
+            int requestRate,
+            int queued,
+            int inFlight,
+            long rejected,
+            long hotSinceMillis
+    ) {
+    }
+
+    private static final class Window {
+        private final long startedAt;
+        private final AtomicIntegerArray counts;
+
+        private Window(long startedAt, int size) {
+            this.startedAt = startedAt;
+            this.counts = new AtomicIntegerArray(size);
+        }
+    }
+
+    private static final class HotKey {
+        private final long userId;
+        private final long since;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final LongAdder rejected = new LongAdder();
+        private volatile long lastSeen;
+
+        private HotKey(long userId, long since) {
+            this.userId = userId;
+            this.since = since;
+            this.lastSeen = since;
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.exceptions.PointIdempotencyKeyException;
+import io.hhplus.tdd.exceptions.PointMaxException;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.exceptions.PointOverException;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별 충전/사용 결과 저장소
+ * - 같은 키로 다시 들어온 요청은 락을 잡거나 저장소를 읽지 않고, 기록된 결과(UserPoint 또는 정책 위반 예외)를 그대로 돌려준다.
+ * - 같은 키의 요청이 처리 중이면 끝날 때까지 기다렸다가 같은 결과를 돌려준다.
+ * - 같은 키로 유저/유형/금액이 다른 요청이 오면 {@link PointIdempotencyKeyException} 을 던진다.
+ * - 결과가 정해지지 않은 실패(동시 요청 충돌, 저장소 오류 등)는 기록하지 않으므로 같은 키로 다시 시도할 수 있다.
+ * 저장 구조
+ * - 키는 128bit 해시로 줄여 결과와 함께 long 8개(64 byte)에 담고, 세대(generation)별 open addressing 배열에 저장한다. 키마다 객체를 만들지 않는다.
+ * - ttl / (generations - 1) 마다, 또는 현재 세대가 max-keys / generations 개를 넘으면 새 세대로 넘어가고 가장 오래된 세대는 배열째 버린다.
+ *   만료된 키를 하나씩 찾아 지우는 작업이 없고, max-keys 를 넘지 않는 동안 키는 최소 ttl 동안 유지된다.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final int WIDTH = 8;
+    private static final int HIGH = 0;
+    private static final int LOW = 1;
+    private static final int USER_ID = 2;
+    private static final int AMOUNT = 3;
+    private static final int META = 4;
+    private static final int POINT = 5;
+    private static final int MILLIS = 6;
+    private static final int VERSION = 7;
+
+    private static final int SUCCESS = 1;
+    private static final int OVER = 2;
+    private static final int MAX = 3;
+    private static final int NOT = 4;
+
+    private static final int SEGMENTS = 16;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final int generationCount;
+    private final long intervalNanos;
+    private final int generationKeys;
+    private final LongSupplier clock;
+    private final ReentrantLock rotateLock = new ReentrantLock();
+    private final ConcurrentHashMap<Key, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder replays = new LongAdder();
+    private volatile Generation[] generations;
+    private volatile long rotateAt;
+
+    @Autowired
+    public IdempotencyStore(
+            @Value("${point.idempotency.ttl-seconds:3600}") long ttlSeconds,
+            @Value("${point.idempotency.generations:4}") int generations,
+            @Value("${point.idempotency.max-keys:1000000}") int maxKeys
+    ) {
+        this(ttlSeconds, generations, maxKeys, System::nanoTime);
+    }
+
+    IdempotencyStore(long ttlSeconds, int generations, int maxKeys, LongSupplier clock) {
+        this.generationCount = Math.max(2, generations);
+        this.intervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(ttlSeconds) / (generationCount - 1));
+        this.generationKeys = Math.max(1, maxKeys / generationCount);
+        this.clock = clock;
+        this.generations = new Generation[]{new Generation()};
+        this.rotateAt = clock.getAsLong() + intervalNanos;
+    }
+
+    /**
+     * 키가 없으면 action 을 그대로 실행한다.
+     * 기록된 결과가 있으면 다시 돌려주고, 없으면 action 을 실행해 결과를 기록한다.
+     */
+    public UserPoint execute(String idempotencyKey, long userId, TransactionType type, long amount,
+                             Supplier<UserPoint> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        Key key = keyOf(idempotencyKey);
+        long[] recorded = find(key);
+        if (recorded != null) {
+            replays.increment();
+            return replay(recorded, userId, type, amount);
+        }
+
+        InFlight mine = new InFlight(userId, type, amount);
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            replays.increment();
+            return await(running, userId, type, amount);
+        }
+        try {
+            // 먼저 끝난 같은 키의 요청이 결과를 기록하고 빠져나간 직후일 수 있다.
+            recorded = find(key);
+            UserPoint result = recorded != null ? replay(recorded, userId, type, amount) : run(key, mine, action);
+            mine.future.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public Stats stats() {
+        long keys = 0;
+        Generation[] current = generations;
+        for (Generation generation : current) {
+            keys += generation.size.get();
+        }
+        return new Stats(keys, current.length, replays.sum(), inFlight.size());
+    }
+
+    private UserPoint run(Key key, InFlight request, Supplier<UserPoint> action) {
+        UserPoint result;
+        try {
+            result = action.get();
+        } catch (PointOverException e) {
+            record(key, request, OVER, e.value(), 0, 0);
+            throw e;
+        } catch (PointMaxException e) {
+            record(key, request, MAX, e.value(), 0, 0);
+            throw e;
+        } catch (PointNotException e) {
+            record(key, request, NOT, e.value(), 0, 0);
+            throw e;
+        }
+        record(key, request, SUCCESS, result.point(), result.updateMillis(), result.version());
+        return result;
+    }
+
+    private static UserPoint await(InFlight running, long userId, TransactionType type, long amount) {
+        if (!running.matches(userId, type, amount)) {
+            throw new PointIdempotencyKeyException(userId);
+        }
+        try {
+            return running.future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static UserPoint replay(long[] slot, long userId, TransactionType type, long amount) {
+        int meta = (int) slot[META];
+        if (slot[USER_ID] != userId || TYPES[meta >>> 8] != type || slot[AMOUNT] != amount) {
+            throw new PointIdempotencyKeyException(userId);
+        }
+        return switch (meta & 0xFF) {
+            case SUCCESS -> new UserPoint(userId, slot[POINT], slot[MILLIS], slot[VERSION]);
+            case OVER -> throw new PointOverException(slot[POINT]);
+            case MAX -> throw new PointMaxException(slot[POINT]);
+            case NOT -> throw new PointNotException(slot[POINT]);
+            default -> throw new IllegalStateException("알 수 없는 결과 코드: " + (meta & 0xFF));
+        };
+    }
+
+    private void record(Key key, InFlight request, int outcome, long point, long millis, long version) {
+        Generation generation = live()[0];
+        Segment segment = generation.segmentFor(key);
+        segment.lock.lock();
+        try {
+            if (segment.put(key, request.userId, request.amount, ((long) request.type.ordinal() << 8) | outcome,
+                    point, millis, version)) {
+                generation.size.incrementAndGet();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    private long[] find(Key key) {
+        for (Generation generation : live()) {
+            Segment segment = generation.segmentFor(key);
+            segment.lock.lock();
+            try {
+                long[] slot = segment.get(key);
+                if (slot != null) {
+                    return slot;
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 살아 있는 세대를 최신 순으로 반환한다. 넘어갈 때가 되었으면 새 세대를 만들고 오래된 세대를 버린다.
+     */
+    private Generation[] live() {
+        long now = clock.getAsLong();
+        Generation[] current = generations;
+        if (now - rotateAt < 0 && current[0].size.get() < generationKeys) {
+            return current;
+        }
+        rotateLock.lock();
+        try {
+            current = generations;
+            boolean expired = now - rotateAt >= 0;
+            if (!expired && current[0].size.get() < generationKeys) {
+                return current;
+            }
+            // 여러 주기 동안 기록이 없었다면 그만큼 세대를 넘긴다.
+            long elapsed = expired ? 1 + (now - rotateAt) / intervalNanos : 1;
+            int keep = (int) Math.max(0, Math.min(current.length, generationCount - elapsed));
+            Generation[] rotated = new Generation[keep + 1];
+            rotated[0] = new Generation();
+            System.arraycopy(current, 0, rotated, 1, keep);
+            generations = rotated;
+            rotateAt = now + intervalNanos;
+            return rotated;
+        } finally {
+            rotateLock.unlock();
+        }
+    }
+
+    /**
+     * 키 문자열을 서로 다른 두 해시로 128bit 로 줄인다. low 는 항상 홀수이므로 0 은 빈 슬롯을 뜻한다.
+     */
+    static Key keyOf(String idempotencyKey) {
+        long h1 = 0xCBF29CE484222325L;
+        long h2 = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < idempotencyKey.length(); i++) {
+            char c = idempotencyKey.charAt(i);
+            h1 = (h1 ^ c) * 0x100000001B3L;
+            h2 = Long.rotateLeft(h2 ^ (c * 0x87C37B91114253D5L), 31) * 0x4CF5AD432745937FL;
+        }
+        return new Key(mix(h1 ^ idempotencyKey.length()), mix(h2) | 1L);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    public record Stats(
+            long keys,
+            int generations,
+            long replays,
+            int inFlight
+    ) {
+    }
+
+    record Key(long high, long low) {
+    }
+
+    private static final class InFlight {
+        private final long userId;
+        private final TransactionType type;
+        private final long amount;
+        private final CompletableFuture<UserPoint> future = new CompletableFuture<>();
+
+        private InFlight(long userId, TransactionType type, long amount) {
+            this.userId = userId;
+            this.type = type;
+            this.amount = amount;
+        }
+
+        private boolean matches(long userId, TransactionType type, long amount) {
+            return this.userId == userId && this.type == type && this.amount == amount;
+        }
+    }
+
+    private static final class Generation {
+        private final Segment[] segments = new Segment[SEGMENTS];
+        private final AtomicInteger size = new AtomicInteger();
+
+        private Generation() {
+            for (int i = 0; i < SEGMENTS; i++) {
+                segments[i] = new Segment();
+            }
+        }
+
+        private Segment segmentFor(Key key) {
+            return segments[(int) (key.high >>> 60) & (SEGMENTS - 1)];
+        }
+    }
+
+    /**
+     * 선형 탐색 open addressing 테이블. 슬롯마다 long WIDTH 개를 이어서 쓴다.
+     * 세그먼트 락을 잡은 상태에서만 호출된다.
+     */
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] slots = new long[INITIAL_CAPACITY * WIDTH];
+        private int size;
+
+        private long[] get(Key key) {
+            int index = indexOf(slots, key.high, key.low);
+            if (slots[index + LOW] == 0) {
+                return null;
+            }
+            long[] slot = new long[WIDTH];
+            System.arraycopy(slots, index, slot, 0, WIDTH);
+            return slot;
+        }
+
+        /**
+         * 새 키이면 true 를 반환한다.
+         */
+        private boolean put(Key key, long userId, long amount, long meta, long point, long millis, long version) {
+            if ((size + 1) * 4L > (slots.length / WIDTH) * 3L) {
+                grow();
+            }
+            int index = indexOf(slots, key.high, key.low);
+            boolean added = slots[index + LOW] == 0;
+            slots[index + HIGH] = key.high;
+            slots[index + LOW] = key.low;
+            slots[index + USER_ID] = userId;
+            slots[index + AMOUNT] = amount;
+            slots[index + META] = meta;
+            slots[index + POINT] = point;
+            slots[index + MILLIS] = millis;
+            slots[index + VERSION] = version;
+            if (added) {
+                size++;
+            }
+            return added;
+        }
+
+        private void grow() {
+            long[] old = slots;
+            long[] grown = new long[old.length * 2];
+            for (int i = 0; i < old.length; i += WIDTH) {
+                if (old[i + LOW] != 0) {
+                    System.arraycopy(old, i, grown, indexOf(grown, old[i + HIGH], old[i + LOW]), WIDTH);
+                }
+            }
+            slots = grown;
+        }
+
+        /**
+         * 키가 있는 슬롯, 없으면 처음 만난 빈 슬롯의 시작 위치
+         */
+        private static int indexOf(long[] slots, long high, long low) {
+            int mask = slots.length / WIDTH - 1;
+            int i = (int) (low ^ (low >>> 32)) & mask;
+            while (true) {
+                int index = i * WIDTH;
+                if (slots[index + LOW] == 0 || (slots[index + HIGH] == high && slots[index + LOW] == low)) {
+                    return index;
+                }
+                i = (i + 1) & mask;
+            }
+        }
+    }
+}
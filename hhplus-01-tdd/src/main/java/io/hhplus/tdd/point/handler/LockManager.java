@@ -1,15 +1,115 @@
 package io.hhplus.tdd.point.handler;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * 유저별 락 관리
+ * - 유저 id 를 해시해 고정 개수(point.lock.stripes)의 락 중 하나를 사용하므로, 유저 수가 늘어도 락 객체는 늘어나지 않는다.
+ * - 같은 유저는 항상 같은 락을 사용하므로 유저 단위 상호 배제는 그대로 보장된다. (다른 유저가 같은 락을 공유할 수는 있다)
+ * - synchronized 대신 ReentrantLock 을 사용하므로 가상 스레드가 락을 기다리는 동안 캐리어 스레드를 점유(pinning)하지 않는다.
+ */
 @Component
 public class LockManager {
-    private final ConcurrentHashMap<Long, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public static final int DEFAULT_STRIPES = 1024;
+
+    private final StripeLock[] stripes;
+    private final int mask;
+
+    public LockManager() {
+        this(DEFAULT_STRIPES);
+    }
+
+    @Autowired
+    public LockManager(@Value("${point.lock.stripes:1024}") int stripeCount) {
+        int count = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new StripeLock[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new StripeLock();
+        }
+        this.mask = count - 1;
+    }
 
     public ReentrantLock getLock(Long id) {
-        return locks.computeIfAbsent(id, key -> new ReentrantLock());
+        return stripes[stripeOf(id)];
+    }
+
+    public int stripeOf(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    public int stripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * 경합이 많았던 순서대로 상위 limit 개 스트라이프의 통계를 반환한다.
+     */
+    public List<StripeStats> hottestStripes(int limit) {
+        List<StripeStats> stats = new ArrayList<>(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            stats.add(stripes[i].stats(i));
+        }
+        stats.sort(Comparator.comparingLong(StripeStats::contentions).reversed());
+        return stats.subList(0, Math.min(limit, stats.size()));
+    }
+
+    /**
+     * 전체 스트라이프의 누적 통계 (stripe = -1)
+     */
+    public StripeStats totals() {
+        long acquisitions = 0;
+        long contentions = 0;
+        long waitNanos = 0;
+        int queueLength = 0;
+        for (StripeLock stripe : stripes) {
+            acquisitions += stripe.acquisitions.sum();
+            contentions += stripe.contentions.sum();
+            waitNanos += stripe.waitNanos.sum();
+            queueLength += stripe.getQueueLength();
+        }
+        return new StripeStats(-1, acquisitions, contentions, waitNanos, queueLength);
+    }
+
+    public record StripeStats(
+            int stripe,
+            long acquisitions,
+            long contentions,
+            long waitNanos,
+            int queueLength
+    ) {
+    }
+
+    /**
+     * 바로 잡지 못하고 기다린 횟수와 대기 시간을 기록하는 락
+     */
+    static final class StripeLock extends ReentrantLock {
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder contentions = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+
+        @Override
+        public void lock() {
+            if (!tryLock()) {
+                long startedAt = System.nanoTime();
+                super.lock();
+                contentions.increment();
+                waitNanos.add(System.nanoTime() - startedAt);
+            }
+            acquisitions.increment();
+        }
+
+        private StripeStats stats(int stripe) {
+            return new StripeStats(stripe, acquisitions.sum(), contentions.sum(), waitNanos.sum(), getQueueLength());
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 충전/사용 요청을 모아서 한 번에 반영하는 배처
+ * - 요청은 유저별 큐에 쌓이고, 유저 락을 먼저 잡은 스레드가 쌓인 요청을 순서대로 처리한다.
+ * - 배치 하나당 잔액 조회 1회, 잔액 저장 1회만 수행한다.
+ * - 각 요청은 직전까지의 잔액으로 검증되며, 실패한 요청은 잔액에 반영되지 않고 호출자에게 예외로 전달된다.
+ */
+@Component
+public class PointBatcher {
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final LockManager lockManager;
+    private final BalanceCache balanceCache;
+    private final PointExpiry pointExpiry;
+    private final int maxBatchSize;
+    private final ConcurrentHashMap<Long, Queue<PendingCommand>> pending = new ConcurrentHashMap<>();
+
+    public PointBatcher(
+            UserPointRepository userPointRepository,
+            PointHistoryWriter pointHistoryWriter,
+            LockManager lockManager,
+            BalanceCache balanceCache,
+            PointExpiry pointExpiry,
+            @Value("${point.batch.max-size:256}") int maxBatchSize
+    ) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.lockManager = lockManager;
+        this.balanceCache = balanceCache;
+        this.pointExpiry = pointExpiry;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public UserPoint submit(PointCommand command) {
+        long userId = command.userId();
+        PendingCommand pendingCommand = new PendingCommand(command);
+        Queue<PendingCommand> queue = pending.computeIfAbsent(userId, key -> new ConcurrentLinkedQueue<>());
+        queue.add(pendingCommand);
+
+        ReentrantLock lock = lockManager.getLock(userId);
+        // commit 모드에서는 결과가 내역 저장 후 완료되므로, 완료가 아니라 꺼내졌는지로 drain 여부를 판단한다.
+        while (!pendingCommand.taken) {
+            lock.lock();
+            try {
+                if (!pendingCommand.taken) {
+                    drain(userId, queue);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return join(pendingCommand.result);
+    }
+
+    /**
+     * 유저 락을 잡은 상태에서 호출된다.
+     */
+    private void drain(long userId, Queue<PendingCommand> queue) {
+        List<PendingCommand> batch = new ArrayList<>();
+        PendingCommand next;
+        while (batch.size() < maxBatchSize && (next = queue.poll()) != null) {
+            next.taken = true;
+            batch.add(next);
+        }
+        if (queue.isEmpty()) {
+            pending.remove(userId, queue);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<PendingCommand> applied = new ArrayList<>(batch.size());
+        try {
+            long balance = balanceCache.getOrLoad(userId, userPointRepository::selectById).point();
+            for (PendingCommand pendingCommand : batch) {
+                PointCommand command = pendingCommand.command;
+                try {
+                    balance = PointPolicy.apply(balance, command.type(), command.amount());
+                    pendingCommand.balance = balance;
+                    applied.add(pendingCommand);
+                } catch (RuntimeException e) {
+                    pendingCommand.result.completeExceptionally(e);
+                }
+            }
+            if (applied.isEmpty()) {
+                return;
+            }
+
+            // 반영할 명령 수만큼 내역 순번을 먼저 예약한다. writer 가 종료되었으면 잔액을 바꾸기 전에 실패한다.
+            long firstSeq = pointHistoryWriter.reserve(applied.size());
+            UserPoint saved;
+            try {
+                saved = userPointRepository.insertOrUpdate(userId, balance);
+            } catch (RuntimeException e) {
+                for (int i = 0; i < applied.size(); i++) {
+                    pointHistoryWriter.cancel(firstSeq == 0L ? 0L : firstSeq + i);
+                }
+                throw e;
+            }
+            balanceCache.put(saved);
+            for (int i = 0; i < applied.size(); i++) {
+                PendingCommand pendingCommand = applied.get(i);
+                PointCommand command = pendingCommand.command;
+                long historySeq = firstSeq == 0L ? 0L : firstSeq + i;
+                pointHistoryWriter.fill(historySeq, userId, command.amount(), command.type(), saved.updateMillis());
+                pointExpiry.record(userId, command.type(), command.amount(), saved.updateMillis());
+                pointHistoryWriter.completeOnCommit(userId, historySeq, pendingCommand.result,
+                        new UserPoint(userId, pendingCommand.balance, saved.updateMillis()));
+            }
+        } catch (RuntimeException e) {
+            for (PendingCommand pendingCommand : batch) {
+                pendingCommand.result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static UserPoint join(CompletableFuture<UserPoint> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class PendingCommand {
+        private final PointCommand command;
+        private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+        private long balance;
+        private volatile boolean taken;
+
+        private PendingCommand(PointCommand command) {
+            this.command = command;
+        }
+    }
+}
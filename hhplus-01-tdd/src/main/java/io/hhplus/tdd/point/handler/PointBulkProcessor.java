@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.ErrorResponse;
+import io.hhplus.tdd.exceptions.PointBulkSizeException;
+import io.hhplus.tdd.exceptions.PointConflictException;
+import io.hhplus.tdd.exceptions.PointMaxException;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.exceptions.PointOverException;
+import io.hhplus.tdd.point.PointBulkResult;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.service.IPointService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 여러 유저의 충전/사용 요청을 한 번에 처리
+ * - 요청을 유저별로 묶어, 서로 다른 유저의 묶음은 pointExecutor 에서 병렬로 처리한다.
+ * - 같은 유저의 요청은 하나의 작업 안에서 요청 순서대로 처리한다.
+ * - 한 건이 실패해도 나머지는 계속 처리하고, 결과는 요청 순서대로 반환한다.
+ * - point.bulk.max-commands 건을 넘는 요청은 처리하지 않고 거절한다.
+ */
+@Slf4j
+@Component
+public class PointBulkProcessor {
+
+    static final String BAD_REQUEST = "400";
+    static final String CONFLICT = "409";
+    static final String SERVER_ERROR = "500";
+
+    private final IPointService pointService;
+    private final ExecutorService pointExecutor;
+    private final int maxCommands;
+
+    public PointBulkProcessor(
+            IPointService pointService,
+            ExecutorService pointExecutor,
+            @Value("${point.bulk.max-commands:1000}") int maxCommands
+    ) {
+        this.pointService = pointService;
+        this.pointExecutor = pointExecutor;
+        this.maxCommands = maxCommands;
+    }
+
+    public List<PointBulkResult> process(List<PointCommand> commands) {
+        if (commands.size() > maxCommands) {
+            throw new PointBulkSizeException(commands.size(), maxCommands);
+        }
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            indexesByUser.computeIfAbsent(commands.get(i).userId(), id -> new ArrayList<>()).add(i);
+        }
+
+        PointBulkResult[] results = new PointBulkResult[commands.size()];
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[indexesByUser.size()];
+        int t = 0;
+        for (List<Integer> indexes : indexesByUser.values()) {
+            tasks[t++] = CompletableFuture.runAsync(() -> {
+                for (int index : indexes) {
+                    results[index] = apply(commands.get(index));
+                }
+            }, pointExecutor);
+        }
+        CompletableFuture.allOf(tasks).join();
+        return List.of(results);
+    }
+
+    private PointBulkResult apply(PointCommand command) {
+        if (command.type() == null || command.type() == TransactionType.EXPIRE) {
+            return PointBulkResult.failure(command, new ErrorResponse(BAD_REQUEST, "잘못된 요청: type 은 CHARGE 또는 USE 여야 합니다."));
+        }
+        try {
+            return PointBulkResult.success(command, switch (command.type()) {
+                case CHARGE -> pointService.charge(command.userId(), command.amount());
+                case USE -> pointService.use(command.userId(), command.amount());
+                case EXPIRE -> throw new IllegalStateException("만료는 요청할 수 없습니다.");
+            });
+        } catch (PointMaxException | PointNotException | PointOverException e) {
+            return PointBulkResult.failure(command, new ErrorResponse(BAD_REQUEST, e.getMessage()));
+        } catch (PointConflictException e) {
+            return PointBulkResult.failure(command, new ErrorResponse(CONFLICT, e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("일괄 처리 실패 userId: {}", command.userId(), e);
+            return PointBulkResult.failure(command, new ErrorResponse(SERVER_ERROR, "에러가 발생했습니다."));
+        }
+    }
+}
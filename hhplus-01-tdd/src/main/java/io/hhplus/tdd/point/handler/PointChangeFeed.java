@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.point.HistoryChanges;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 전체 유저의 포인트 내역 변경분 조회 (id 순서)
+ * - 내역 id 는 저장 순서대로 1 씩 늘어나므로, 받은 마지막 id 를 cursor 로 넘기면 그 이후 내역만 읽는다.
+ *   유저마다 내역을 다시 조회하지 않고, 읽는 비용은 새로 쌓인 내역 수에 비례한다.
+ * - 구독자(consumer) 마다 처리를 마친 cursor 를 기억한다. poll 은 cursor 를 옮기지 않으므로,
+ *   처리 후 commit 하기 전에 구독자가 죽으면 같은 내역을 다시 받는다. (at-least-once)
+ * - cursor 는 메모리에만 보관하므로 재시작하면 구독자는 자신이 저장한 cursor 로 다시 commit 해야 한다.
+ * - 묶어 저장하는 모드(enqueue/commit)에서는 아직 저장되지 않은 내역은 다음 조회에 나온다.
+ */
+@Component
+public class PointChangeFeed {
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final int maxBatch;
+    private final ConcurrentHashMap<String, ConsumerCursor> cursors = new ConcurrentHashMap<>();
+
+    public PointChangeFeed(
+            PointHistoryRepository pointHistoryRepository,
+            @Value("${point.feed.max-batch:10000}") int maxBatch
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.maxBatch = Math.max(1, maxBatch);
+    }
+
+    /**
+     * id 가 afterId 보다 큰 내역을 최대 limit 개(max-batch 이하) 조회한다.
+     */
+    public HistoryChanges read(long afterId, int limit) {
+        return pointHistoryRepository.selectAfter(afterId, batchSize(limit));
+    }
+
+    /**
+     * id 가 afterId 보다 큰 내역을 목록으로 모으지 않고 최대 limit 개까지 하나씩 전달한다.
+     */
+    public void stream(long afterId, long limit, Consumer<PointHistory> consumer) {
+        long[] count = {0};
+        pointHistoryRepository.forEachAfter(afterId, history -> {
+            consumer.accept(history);
+            return ++count[0] < limit;
+        });
+    }
+
+    /**
+     * 구독자가 마지막으로 commit 한 cursor 이후의 내역을 조회한다. 처음 보는 구독자는 처음부터 읽는다.
+     */
+    public HistoryChanges poll(String consumer, int limit) {
+        return read(cursor(consumer).cursor(), limit);
+    }
+
+    /**
+     * 구독자의 cursor 를 옮긴다. 이미 더 앞으로 옮겨져 있으면 그대로 둔다.
+     */
+    public ConsumerCursor commit(String consumer, long cursor) {
+        if (cursor < 0) {
+            throw new IllegalArgumentException("cursor 는 0 이상이어야 합니다: " + cursor);
+        }
+        long now = System.currentTimeMillis();
+        return cursors.merge(consumer, new ConsumerCursor(consumer, cursor, now),
+                (current, committed) -> committed.cursor() > current.cursor() ? committed : current);
+    }
+
+    public ConsumerCursor cursor(String consumer) {
+        return cursors.getOrDefault(consumer, new ConsumerCursor(consumer, 0L, 0L));
+    }
+
+    public List<ConsumerCursor> consumers() {
+        return cursors.values().stream()
+                .sorted(Comparator.comparing(ConsumerCursor::consumer))
+                .toList();
+    }
+
+    private int batchSize(int limit) {
+        return Math.min(Math.max(1, limit), maxBatch);
+    }
+
+    public record ConsumerCursor(
+            String consumer,
+            long cursor,
+            long committedMillis
+    ) {
+    }
+}
@@ -0,0 +1,260 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 유저 파티션 하나의 충전/사용 요청을 한 스레드가 순서대로 처리하는 이벤트 루프
+ * - 요청은 미리 만들어 둔 ring buffer 슬롯에 담긴다. 여러 요청 스레드가 sequence 를 하나씩 받아 슬롯을 채우고 게시한다.
+ * - writer 스레드 하나만 이 파티션 유저의 잔액을 바꾸므로 유저 락 없이 읽고 저장한다. (캐시 미스 시 캐시를 채우는 락만 잡는다)
+ * - writer 는 게시된 슬롯을 이어서 처리한 뒤 한 번에 소비 위치를 올린다. ring 이 가득 차면 요청 스레드가 빈 슬롯이 생길 때까지 기다린다.
+ * - 처리할 요청이 없으면 잠시 spin 한 뒤 잠들고, 요청 스레드는 writer 가 잠들어 있을 때만 깨운다.
+ * - 송금처럼 다른 스레드가 이 파티션 유저의 잔액을 바꿔야 할 때는 {@link #pause()} 로 writer 를 멈춘다.
+ */
+@Slf4j
+public class PointEventLoop implements AutoCloseable {
+
+    private static final int IDLE_SPINS = 256;
+
+    private final UserPointRepository userPointRepository;
+    private final BalanceCache balanceCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong(-1L);
+    private final AtomicLong consumed = new AtomicLong(-1L);
+    private final Thread writer;
+    private volatile boolean sleeping;
+    private volatile boolean closed;
+
+    public PointEventLoop(
+            String name,
+            UserPointRepository userPointRepository,
+            BalanceCache balanceCache,
+            PointHistoryWriter pointHistoryWriter,
+            int ringSize
+    ) {
+        this.userPointRepository = userPointRepository;
+        this.balanceCache = balanceCache;
+        this.pointHistoryWriter = pointHistoryWriter;
+        int size = ringSize <= 1 ? 1 : Integer.highestOneBit(ringSize - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.writer = Thread.ofPlatform().name(name).daemon().start(this::run);
+    }
+
+    /**
+     * 요청을 ring 에 넣고, writer 가 처리하면 완료되는 future 를 반환한다.
+     */
+    public CompletableFuture<UserPoint> submit(long userId, TransactionType type, long amount) {
+        CompletableFuture<UserPoint> result = new CompletableFuture<>();
+        publish(userId, type, amount, result, null);
+        return result;
+    }
+
+    /**
+     * writer 가 앞서 들어온 요청을 모두 처리한 뒤 멈추게 한다. 반환된 {@link Pause} 를 resume 할 때까지 이 파티션의 요청은 처리되지 않는다.
+     * 여러 파티션을 멈출 때는 모든 호출자가 같은 순서(파티션 번호 순)로 멈춰야 서로 기다리며 교착되지 않는다.
+     */
+    public Pause pause() {
+        Pause pause = new Pause();
+        publish(0L, null, 0L, null, pause);
+        return pause;
+    }
+
+    private void publish(long userId, TransactionType type, long amount, CompletableFuture<UserPoint> result,
+                         Pause pause) {
+        if (closed) {
+            throw new IllegalStateException("포인트 이벤트 루프가 종료되었습니다.");
+        }
+        long sequence = claimed.incrementAndGet();
+        long wrapPoint = sequence - slots.length;
+        int spins = 0;
+        while (wrapPoint > consumed.get()) {
+            if (++spins < IDLE_SPINS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(1_000L);
+            }
+        }
+        Slot slot = slots[(int) sequence & mask];
+        slot.userId = userId;
+        slot.type = type;
+        slot.amount = amount;
+        slot.result = result;
+        slot.pause = pause;
+        slot.published = sequence;
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+        if (closed) {
+            // 종료 중에 게시된 요청은 writer 가 처리하고 끝나거나, 처리하지 못하고 끝났다면 실패로 완료한다.
+            IllegalStateException stopped = new IllegalStateException("포인트 이벤트 루프가 종료되었습니다.");
+            if (pause != null) {
+                // 멈춘 writer 는 resume 전까지 끝나지 않으므로, writer 가 멈추거나 끝날 때까지만 기다린다.
+                while (!pause.paused.isDone() && writer.isAlive()) {
+                    LockSupport.parkNanos(1_000L);
+                }
+                pause.paused.completeExceptionally(stopped);
+            } else {
+                awaitWriter();
+                if (!result.isDone()) {
+                    result.completeExceptionally(stopped);
+                }
+            }
+        }
+    }
+
+    /**
+     * 처리를 기다리는 요청 수
+     */
+    public long backlog() {
+        return claimed.get() - consumed.get();
+    }
+
+    /**
+     * 새 요청을 받지 않고, 이미 들어온 요청을 모두 처리한 뒤 writer 를 멈춘다.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void awaitWriter() {
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        long next = 0L;
+        int idle = 0;
+        while (true) {
+            long processed = next;
+            Slot slot;
+            while ((slot = slots[(int) processed & mask]).published == processed) {
+                process(slot);
+                processed++;
+                if ((processed & 63) == 0) {
+                    consumed.set(processed - 1);
+                }
+            }
+            if (processed != next) {
+                consumed.set(processed - 1);
+                next = processed;
+                idle = 0;
+                continue;
+            }
+            if (closed && claimed.get() < next) {
+                return;
+            }
+            if (++idle < IDLE_SPINS) {
+                Thread.onSpinWait();
+                continue;
+            }
+            sleeping = true;
+            if (slots[(int) next & mask].published != next && !closed) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            sleeping = false;
+        }
+    }
+
+    /**
+     * PointService 와 같은 순서로 잔액을 검증/저장하고 내역을 남긴다. 슬롯의 값은 future 를 완료하기 전에 모두 읽는다.
+     */
+    private void process(Slot slot) {
+        Pause pause = slot.pause;
+        if (pause != null) {
+            slot.pause = null;
+            pause.hold();
+            return;
+        }
+        long userId = slot.userId;
+        TransactionType type = slot.type;
+        long amount = slot.amount;
+        CompletableFuture<UserPoint> result = slot.result;
+        slot.result = null;
+        try {
+            UserPoint currentPoint = balanceCache.getOrLoad(userId, userPointRepository::selectById);
+            long newAmount = PointPolicy.apply(currentPoint.point(), type, amount);
+            long historySeq = pointHistoryWriter.reserve();
+            UserPoint updatedPoint;
+            try {
+                updatedPoint = userPointRepository.insertOrUpdate(userId, newAmount);
+            } catch (RuntimeException e) {
+                pointHistoryWriter.cancel(historySeq);
+                throw e;
+            }
+            balanceCache.put(updatedPoint);
+            pointHistoryWriter.fill(historySeq, userId, amount, type, System.currentTimeMillis());
+            // commit 모드에서도 저장을 기다리지 않고 다음 슬롯으로 넘어간다. result 는 저장 후 writer 가 완료한다.
+            pointHistoryWriter.completeOnCommit(userId, historySeq, result, updatedPoint);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        } catch (Error e) {
+            log.error("point event loop failed. userId: {}", userId, e);
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * published 에 sequence 를 쓰면 게시된다. 나머지 필드는 그 전에 채우고, writer 는 published 를 확인한 뒤 읽는다.
+     */
+    private static final class Slot {
+        private long userId;
+        private TransactionType type;
+        private long amount;
+        private CompletableFuture<UserPoint> result;
+        private Pause pause;
+        private volatile long published = -1L;
+    }
+
+    /**
+     * writer 를 멈춘 상태. writer 가 멈추면 await 가 반환되고, writer 는 멈춘 동안 바뀐 잔액을 resume 이후에 읽는다.
+     */
+    public static final class Pause {
+        private final CompletableFuture<Void> paused = new CompletableFuture<>();
+        private final CompletableFuture<Void> resumed = new CompletableFuture<>();
+
+        /**
+         * writer 가 멈출 때까지 기다린다. 이벤트 루프가 종료되어 멈추지 못하면 IllegalStateException 을 던진다.
+         */
+        public void await() {
+            try {
+                paused.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+
+        public void resume() {
+            resumed.complete(null);
+        }
+
+        private void hold() {
+            paused.complete(null);
+            resumed.join();
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * 충전 포인트 만료 (point.expiry.enabled=true 일 때 사용)
+ * - 충전 한 건은 (남은 금액, 만료 tick) lot 하나가 된다. 유저별 lot 은 충전 순서대로 long 배열 하나에 담고,
+ *   같은 tick 에 만료되는 충전은 lot 하나로 합친다. 만료 기간이 모두 같으므로 앞쪽 lot 이 항상 먼저 만료된다.
+ * - 사용하면 가장 오래된 lot 부터 차감한다. lot 합계를 넘는 금액은 만료되지 않는 잔액(만료 기능을 켜기 전 잔액)에서 쓴다.
+ * - {@link TimerWheel} 에는 lot 마다가 아니라 유저마다 가장 오래된 lot 의 만료 tick 하나만 등록한다.
+ *   때가 되면 만료된 lot 만 꺼내 잔액에서 빼고 EXPIRE 내역을 남긴 뒤, 다음 lot 의 만료 tick 으로 다시 등록한다.
+ *   전체 유저나 내역을 훑지 않으므로 tick 마다 비용은 만료되는 유저 수에 비례한다.
+ * - lot 변경과 만료 처리는 모두 유저 락 안에서 하므로, 유저 락을 쓰는 point.engine=lock, batch 와 송금에서만 사용한다.
+ *   잔액을 바꾸는 경로(충전/사용, 묶음 처리, 송금, /async/point)는 모두 {@link #record} 를, 대조 repair 는 {@link #trim} 을 호출한다.
+ *   다른 엔진에서 켜면 시작할 때 거절한다.
+ * lot 은 메모리에만 있으므로 재시작하면 그 전 충전분은 만료되지 않는 잔액으로 남는다.
+ */
+@Slf4j
+@Component
+public class PointExpiry implements AutoCloseable {
+
+    private static final long NOT_SCHEDULED = Long.MIN_VALUE;
+
+    private final UserPointRepository userPointRepository;
+    private final LockManager lockManager;
+    private final BalanceCache balanceCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final boolean enabled;
+    private final long periodMillis;
+    private final long tickMillis;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<Long, Lots> lots = new ConcurrentHashMap<>();
+    private final ReentrantLock wheelLock = new ReentrantLock();
+    private final TimerWheel wheel;
+    private final LongAdder lotCount = new LongAdder();
+    private final LongAdder expiredLots = new LongAdder();
+    private final LongAdder expiredPoints = new LongAdder();
+    private Thread ticker;
+
+    @Autowired
+    public PointExpiry(
+            UserPointRepository userPointRepository,
+            LockManager lockManager,
+            BalanceCache balanceCache,
+            PointHistoryWriter pointHistoryWriter,
+            @Value("${point.expiry.enabled:false}") boolean enabled,
+            @Value("${point.expiry.period:365d}") Duration period,
+            @Value("${point.expiry.tick-millis:1000}") long tickMillis,
+            @Value("${point.engine:lock}") String engine
+    ) {
+        this(userPointRepository, lockManager, balanceCache, pointHistoryWriter, enabled, period, tickMillis,
+                System::currentTimeMillis);
+        if (enabled && !"lock".equals(engine) && !"batch".equals(engine)) {
+            // 다른 엔진의 충전/사용은 lot 을 남기지 않으므로, 켜 두면 만료 lot 이 잔액과 어긋난다.
+            throw new IllegalStateException("point.expiry.enabled 는 point.engine=lock, batch 에서만 사용할 수 있습니다: " + engine);
+        }
+        if (enabled) {
+            this.ticker = Thread.ofPlatform().name("point-expiry").daemon().start(this::tickLoop);
+        }
+    }
+
+    /**
+     * 만료 처리를 직접 호출하는 용도 (테스트, 벤치마크). 백그라운드 스레드를 띄우지 않는다.
+     */
+    public PointExpiry(UserPointRepository userPointRepository, LockManager lockManager, BalanceCache balanceCache,
+                       PointHistoryWriter pointHistoryWriter, boolean enabled, Duration period, long tickMillis,
+                       LongSupplier clock) {
+        if (period.toMillis() <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("point.expiry 설정은 0 보다 커야 합니다.");
+        }
+        this.userPointRepository = userPointRepository;
+        this.lockManager = lockManager;
+        this.balanceCache = balanceCache;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.enabled = enabled;
+        this.periodMillis = period.toMillis();
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.wheel = new TimerWheel(clock.getAsLong() / tickMillis);
+    }
+
+    /**
+     * 아무것도 만료하지 않는 기본값 (단위 테스트, 벤치마크, 유저 락을 쓰지 않는 엔진 용)
+     */
+    public static PointExpiry disabled() {
+        return new PointExpiry(null, null, null, null, false, Duration.ofDays(1), 1_000L, () -> 0L);
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * 잔액 변경을 lot 에 반영한다. 잔액을 저장한 직후 유저 락을 잡은 상태에서 호출된다.
+     */
+    public void record(long userId, TransactionType type, long amount, long updateMillis) {
+        if (!enabled || amount <= 0) {
+            return;
+        }
+        switch (type) {
+            case CHARGE -> charge(userId, amount, updateMillis);
+            case USE -> use(userId, amount);
+            case EXPIRE -> {
+            }
+        }
+    }
+
+    /**
+     * 충전/사용 내역 없이 잔액이 바뀌었을 때(대조 repair) lot 합계가 새 잔액을 넘지 않도록 오래된 lot 부터 줄인다.
+     * 유저 락을 잡은 상태에서 호출된다. 늘어난 잔액은 만료되지 않는 잔액이 된다.
+     */
+    public void trim(long userId, long balance) {
+        if (!enabled) {
+            return;
+        }
+        Lots userLots = lots.get(userId);
+        if (userLots != null && userLots.total > balance) {
+            use(userId, userLots.total - Math.max(0, balance));
+        }
+    }
+
+    /**
+     * 지금 시각까지 만료된 lot 을 처리하고 만료된 포인트 합을 반환한다.
+     */
+    public long expireDue() {
+        if (!enabled) {
+            return 0;
+        }
+        long nowTick = clock.getAsLong() / tickMillis;
+        TimerWheel.Entries due = new TimerWheel.Entries();
+        wheelLock.lock();
+        try {
+            wheel.advance(nowTick, due);
+        } finally {
+            wheelLock.unlock();
+        }
+        long expired = 0;
+        for (int i = 0; i < due.size(); i++) {
+            expired += expire(due.id(i), due.deadline(i), nowTick);
+        }
+        return expired;
+    }
+
+    /**
+     * 유저의 만료 예정 포인트 합 (만료되지 않는 잔액 제외)
+     */
+    public long expiringPoint(long userId) {
+        if (!enabled) {
+            return 0;
+        }
+        ReentrantLock lock = lockManager.getLock(userId);
+        lock.lock();
+        try {
+            Lots userLots = lots.get(userId);
+            return userLots == null ? 0 : userLots.total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        long scheduled;
+        wheelLock.lock();
+        try {
+            scheduled = wheel.size();
+        } finally {
+            wheelLock.unlock();
+        }
+        return new Stats(enabled, lots.size(), lotCount.sum(), scheduled, expiredLots.sum(), expiredPoints.sum());
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (ticker != null) {
+            ticker.interrupt();
+            ticker.join();
+        }
+    }
+
+    private void charge(long userId, long amount, long updateMillis) {
+        long expiryTick = Math.ceilDiv(updateMillis + periodMillis, tickMillis);
+        Lots userLots = lots.computeIfAbsent(userId, key -> new Lots());
+        if (userLots.add(amount, expiryTick)) {
+            lotCount.increment();
+        }
+        if (userLots.scheduledTick == NOT_SCHEDULED) {
+            schedule(userId, userLots);
+        }
+    }
+
+    private void use(long userId, long amount) {
+        Lots userLots = lots.get(userId);
+        if (userLots == null) {
+            return;
+        }
+        lotCount.add(-userLots.consume(amount));
+        if (userLots.size == 0) {
+            lots.remove(userId, userLots);
+        }
+    }
+
+    /**
+     * 등록된 만료 tick 이 지금 lot 의 것과 다르면(사용으로 비었다가 다시 충전된 경우) 이미 다른 등록이 있으므로 무시한다.
+     * 가장 오래된 lot 이 사용으로 없어졌으면 만료할 것 없이 다음 lot 의 만료 tick 으로 다시 등록한다.
+     */
+    private long expire(long userId, long deadlineTick, long nowTick) {
+        ReentrantLock lock = lockManager.getLock(userId);
+        lock.lock();
+        try {
+            Lots userLots = lots.get(userId);
+            if (userLots == null || userLots.scheduledTick != deadlineTick) {
+                return 0;
+            }
+            userLots.scheduledTick = NOT_SCHEDULED;
+            try {
+                return expireLocked(userId, userLots, nowTick);
+            } catch (RuntimeException e) {
+                log.error("포인트 만료 실패 userId: {}", userId, e);
+                return 0;
+            } finally {
+                if (userLots.size == 0) {
+                    lots.remove(userId, userLots);
+                } else {
+                    schedule(userId, userLots);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long expireLocked(long userId, Lots userLots, long nowTick) {
+        int dueLots = userLots.dueLots(nowTick);
+        if (dueLots == 0) {
+            return 0;
+        }
+        long due = userLots.sum(dueLots);
+        UserPoint current = balanceCache.getOrLoad(userId, userPointRepository::selectById);
+        long amount = Math.min(due, current.point());
+        if (amount > 0) {
+            long newAmount = PointPolicy.expire(current.point(), amount);
+            long historySeq = pointHistoryWriter.reserve();
+            UserPoint updated;
+            try {
+                updated = userPointRepository.insertOrUpdate(userId, newAmount);
+            } catch (RuntimeException e) {
+                pointHistoryWriter.cancel(historySeq);
+                throw e;
+            }
+            balanceCache.put(updated);
+            // 만료는 기다리는 호출자가 없으므로 commit 모드에서도 저장을 기다리지 않는다. 실패는 writer 가 기록한다.
+            pointHistoryWriter.fill(historySeq, userId, amount, TransactionType.EXPIRE, updated.updateMillis());
+        }
+        userLots.drop(dueLots);
+        lotCount.add(-dueLots);
+        expiredLots.add(dueLots);
+        expiredPoints.add(amount);
+        return amount;
+    }
+
+    private void schedule(long userId, Lots userLots) {
+        long deadlineTick = userLots.headTick();
+        wheelLock.lock();
+        try {
+            deadlineTick = Math.max(deadlineTick, wheel.currentTick() + 1);
+            wheel.schedule(userId, deadlineTick);
+        } finally {
+            wheelLock.unlock();
+        }
+        userLots.scheduledTick = deadlineTick;
+    }
+
+    private void tickLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(tickMillis);
+                expireDue();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("포인트 만료 처리 실패", e);
+            }
+        }
+    }
+
+    public record Stats(
+            boolean enabled,
+            long users,
+            long lots,
+            long scheduled,
+            long expiredLots,
+            long expiredPoints
+    ) {
+    }
+
+    /**
+     * 유저 한 명의 lot 목록. (남은 금액, 만료 tick) 을 원형 long 배열에 충전 순서대로 담는다. 유저 락 안에서만 읽고 쓴다.
+     */
+    private static final class Lots {
+        private long[] values = new long[4];
+        private int head;
+        private int size;
+        private long total;
+        private long scheduledTick = NOT_SCHEDULED;
+
+        /**
+         * 마지막 lot 과 만료 tick 이 같으면 합치고 false 를 반환한다.
+         */
+        private boolean add(long amount, long expiryTick) {
+            total += amount;
+            if (size > 0 && tick(size - 1) == expiryTick) {
+                values[slot(size - 1)] += amount;
+                return false;
+            }
+            if (size * 2 == values.length) {
+                long[] grown = new long[values.length * 2];
+                for (int i = 0; i < size; i++) {
+                    grown[i * 2] = values[slot(i)];
+                    grown[i * 2 + 1] = values[slot(i) + 1];
+                }
+                values = grown;
+                head = 0;
+            }
+            int slot = slot(size);
+            values[slot] = amount;
+            values[slot + 1] = expiryTick;
+            size++;
+            return true;
+        }
+
+        /**
+         * 오래된 lot 부터 amount 만큼 차감하고 다 쓴 lot 수를 반환한다.
+         */
+        private int consume(long amount) {
+            long remaining = Math.min(amount, total);
+            total -= remaining;
+            int emptied = 0;
+            while (remaining > 0) {
+                int slot = slot(0);
+                long taken = Math.min(values[slot], remaining);
+                values[slot] -= taken;
+                remaining -= taken;
+                if (values[slot] == 0) {
+                    pop();
+                    emptied++;
+                }
+            }
+            return emptied;
+        }
+
+        private int dueLots(long nowTick) {
+            int count = 0;
+            while (count < size && tick(count) <= nowTick) {
+                count++;
+            }
+            return count;
+        }
+
+        private long sum(int count) {
+            long sum = 0;
+            for (int i = 0; i < count; i++) {
+                sum += values[slot(i)];
+            }
+            return sum;
+        }
+
+        private void drop(int count) {
+            for (int i = 0; i < count; i++) {
+                total -= values[slot(0)];
+                pop();
+            }
+        }
+
+        private long headTick() {
+            return tick(0);
+        }
+
+        private void pop() {
+            head = (head + 2) % values.length;
+            size--;
+        }
+
+        private long tick(int i) {
+            return values[slot(i) + 1];
+        }
+
+        private int slot(int i) {
+            return (head + i * 2) % values.length;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.PendingHistory;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 유저별 충전/이용 합계를 내역 저장과 함께 갱신해 두는 집계
+ * - 전체 기간, 일별, 월별로 TransactionType 별 금액 합과 건수를 유지하므로 조회 시 내역을 다시 읽지 않는다.
+ * - 일/월 경계는 point.summary.zone 기준이며, 유저마다 가장 최근 내역으로부터 retention-days 일, retention-months 개월까지만 보관한다.
+ * - 기동 시와 rebuild 호출 시 내역 저장소 전체를 새 집계에 읽어 다시 만들고 교체한다.
+ *   읽는 동안에도 내역 저장과 기존 집계 반영은 계속되며, 그사이 저장된 내역은 id 순서(forEachAfter)로 이어 읽는다.
+ *   남은 내역이 catch-up-rows 이하가 되면 교체하는 순간에만 저장을 잠시 멈추고 나머지를 읽으므로,
+ *   새 집계에 빠지거나 두 번 더해지는 내역이 없다.
+ */
+@Slf4j
+@Component
+public class PointHistorySummary {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final int STRIPES = 64;
+    private static final long CATCH_UP_ROWS = 4_096L;
+    private static final int MAX_CATCH_UP_PASSES = 8;
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final ZoneId zone;
+    private final ZoneOffset fixedOffset;
+    private final int retentionDays;
+    private final int retentionMonths;
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private final ReentrantLock rebuildRunLock = new ReentrantLock();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private volatile ConcurrentHashMap<Long, UserSummary> summaries = new ConcurrentHashMap<>();
+
+    public PointHistorySummary(
+            PointHistoryRepository pointHistoryRepository,
+            @Value("${point.summary.zone:Asia/Seoul}") String zone,
+            @Value("${point.summary.retention-days:92}") int retentionDays,
+            @Value("${point.summary.retention-months:24}") int retentionMonths
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.zone = ZoneId.of(zone);
+        this.fixedOffset = this.zone.getRules().isFixedOffset() ? this.zone.getRules().getOffset(Instant.EPOCH) : null;
+        this.retentionDays = Math.max(1, retentionDays);
+        this.retentionMonths = Math.max(1, retentionMonths);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        rebuild();
+    }
+
+    /**
+     * store 로 내역 하나를 저장한 뒤 집계에 반영한다. store 가 실패하면 반영하지 않는다.
+     */
+    public void apply(long userId, long amount, TransactionType type, long updateMillis, Runnable store) {
+        rebuildLock.readLock().lock();
+        try {
+            store.run();
+            add(summaries, userId, amount, type, updateMillis);
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * store 로 여러 내역을 저장한 뒤 집계에 반영한다. store 가 실패하면 반영하지 않는다.
+     */
+    public void applyAll(List<PendingHistory> histories, Runnable store) {
+        rebuildLock.readLock().lock();
+        try {
+            store.run();
+            ConcurrentHashMap<Long, UserSummary> current = summaries;
+            for (PendingHistory history : histories) {
+                add(current, history.userId(), history.amount(), history.type(), history.updateMillis());
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * date 가 없으면 오늘(point.summary.zone 기준)의 일별/월별 합계를 함께 반환한다.
+     * 보관 기간이 지난 날짜나 월은 0 으로 반환한다.
+     */
+    public PointSummary summarize(long userId, LocalDate date) {
+        LocalDate day = date != null ? date : LocalDate.now(zone);
+        YearMonth month = YearMonth.from(day);
+        long[] lifetime = null;
+        long[] daily = null;
+        long[] monthly = null;
+        UserSummary summary = summaries.get(userId);
+        if (summary != null) {
+            ReentrantLock lock = stripeFor(userId);
+            lock.lock();
+            try {
+                lifetime = summary.lifetime.clone();
+                daily = summary.days.copy((int) day.toEpochDay());
+                monthly = summary.months.copy(monthIndex(month));
+            } finally {
+                lock.unlock();
+            }
+        }
+        return new PointSummary(userId, totals(lifetime), day, totals(daily), month, totals(monthly));
+    }
+
+    /**
+     * 내역 저장소 전체를 읽어 집계를 다시 만든다. 내역 저장은 교체하는 순간에만 기다린다.
+     * 동시에 호출하면 앞선 rebuild 가 끝날 때까지 기다린다.
+     */
+    public RebuildResult rebuild() {
+        long startedAt = System.currentTimeMillis();
+        rebuildRunLock.lock();
+        try {
+            ConcurrentHashMap<Long, UserSummary> rebuilt = new ConcurrentHashMap<>();
+            long[] scanned = {0L, 0L};
+            for (int pass = 0; pass < MAX_CATCH_UP_PASSES; pass++) {
+                long before = scanned[1];
+                replayAfter(rebuilt, scanned);
+                if (scanned[1] - before <= CATCH_UP_ROWS) {
+                    break;
+                }
+            }
+            rebuildLock.writeLock().lock();
+            try {
+                replayAfter(rebuilt, scanned);
+                summaries = rebuilt;
+            } finally {
+                rebuildLock.writeLock().unlock();
+            }
+            RebuildResult result = new RebuildResult(scanned[1], rebuilt.size(), System.currentTimeMillis() - startedAt);
+            log.info("point history summary rebuilt. histories: {}, users: {}, elapsed: {}ms",
+                    result.histories(), result.users(), result.elapsedMillis());
+            return result;
+        } finally {
+            rebuildRunLock.unlock();
+        }
+    }
+
+    /**
+     * scanned[0] 번 id 다음부터 지금 보이는 내역까지 target 에 더한다. scanned = [마지막으로 읽은 id, 읽은 내역 수]
+     */
+    private void replayAfter(ConcurrentHashMap<Long, UserSummary> target, long[] scanned) {
+        pointHistoryRepository.forEachAfter(scanned[0], history -> {
+            add(target, history.userId(), history.amount(), history.type(), history.updateMillis());
+            scanned[0] = history.id();
+            scanned[1]++;
+            return true;
+        });
+    }
+
+    private void add(ConcurrentHashMap<Long, UserSummary> target, long userId, long amount, TransactionType type,
+                     long updateMillis) {
+        int epochDay = epochDay(updateMillis);
+        int typeIndex = type.ordinal();
+        UserSummary summary = target.computeIfAbsent(userId, key -> new UserSummary(retentionDays, retentionMonths));
+        ReentrantLock lock = stripeFor(userId);
+        lock.lock();
+        try {
+            summary.lifetime[typeIndex * 2] += amount;
+            summary.lifetime[typeIndex * 2 + 1]++;
+            summary.days.add(epochDay, typeIndex, amount);
+            summary.months.add(monthIndex(LocalDate.ofEpochDay(epochDay)), typeIndex, amount);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int epochDay(long millis) {
+        ZoneOffset offset = fixedOffset != null ? fixedOffset : zone.getRules().getOffset(Instant.ofEpochMilli(millis));
+        return (int) Math.floorDiv(millis + offset.getTotalSeconds() * 1000L, DAY_MILLIS);
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    private static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    private ReentrantLock stripeFor(long userId) {
+        long h = userId * 0x9E3779B97F4A7C15L;
+        return stripes[(int) (h ^ (h >>> 32)) & (STRIPES - 1)];
+    }
+
+    private static Map<TransactionType, PointSummary.Total> totals(long[] values) {
+        Map<TransactionType, PointSummary.Total> totals = new EnumMap<>(TransactionType.class);
+        for (TransactionType type : TYPES) {
+            int i = type.ordinal() * 2;
+            totals.put(type, values == null ? new PointSummary.Total(0, 0) : new PointSummary.Total(values[i], values[i + 1]));
+        }
+        return totals;
+    }
+
+    public record RebuildResult(
+            long histories,
+            long users,
+            long elapsedMillis
+    ) {
+    }
+
+    /**
+     * 배열은 TransactionType 순서대로 [금액 합, 건수] 를 이어 담는다.
+     */
+    private static final class UserSummary {
+        private final long[] lifetime = new long[TYPES.length * 2];
+        private final Buckets days;
+        private final Buckets months;
+
+        private UserSummary(int retentionDays, int retentionMonths) {
+            this.days = new Buckets(retentionDays);
+            this.months = new Buckets(retentionMonths);
+        }
+    }
+
+    /**
+     * 일 또는 월 단위 합계
+     * 가장 최근 구간에서 retention 이상 지난 구간은 새 구간이 생길 때 지우고, 그보다 오래된 내역은 더하지 않는다.
+     */
+    private static final class Buckets {
+        private final int retention;
+        private final HashMap<Integer, long[]> buckets = new HashMap<>();
+        private int latest = Integer.MIN_VALUE;
+
+        private Buckets(int retention) {
+            this.retention = retention;
+        }
+
+        private void add(int key, int typeIndex, long amount) {
+            if (latest != Integer.MIN_VALUE && key <= latest - retention) {
+                return;
+            }
+            long[] bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new long[TYPES.length * 2];
+                buckets.put(key, bucket);
+                if (key > latest) {
+                    latest = key;
+                    buckets.keySet().removeIf(existing -> existing <= latest - retention);
+                }
+            }
+            bucket[typeIndex * 2] += amount;
+            bucket[typeIndex * 2 + 1]++;
+        }
+
+        private long[] copy(int key) {
+            long[] bucket = buckets.get(key);
+            return bucket == null ? null : bucket.clone();
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.repository.PendingHistory;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 내역 쓰기 파이프라인
+ * - sync : 호출한 스레드에서 바로 저장한다. (기본)
+ * - enqueue : 대기열에 넣고 바로 반환한다. 백그라운드 writer 가 묶어서 저장한다.
+ * - commit : 대기열에 넣은 뒤 writer 가 해당 묶음을 저장할 때까지 기다린다.
+ * 대기열은 point.history.queue-capacity 개로 제한되며, 가득 차면 빌 때까지 호출한 스레드가 기다린다.
+ * 유저 락을 잡은 호출자는 잔액을 바꾸기 전에 {@link #reserve} 로 순번을 받아 두고, 잔액을 바꾼 뒤 {@link #fill} 로 내역을 채운다.
+ * writer 가 종료된 뒤에는 reserve 가 실패하므로 잔액이 바뀌기 전에 요청이 거절된다.
+ * 채워지지 않은 순번이 대기열 맨 앞에 있으면 writer 는 채워지거나 {@link #cancel} 될 때까지 기다린다.
+ * 저장 대기({@link #awaitCommit})는 락을 푼 뒤에 한다. 이때는 잔액이 이미 바뀌었으므로 저장에 실패해도 호출자에게 오류를 돌려주지 않고 로그로 남긴다.
+ * (오류를 돌려주면 Idempotency-Key 없이 재시도한 요청이 두 번 반영된다)
+ * 대기열은 하나이고 writer 도 하나이므로 유저별 저장 순서는 호출 순서와 같다.
+ * 저장에 성공한 내역은 {@link PointHistorySummary} 집계에도 반영한다.
+ */
+@Slf4j
+@Component
+public class PointHistoryWriter implements AutoCloseable {
+
+    public enum WriteMode {
+        SYNC, ENQUEUE, COMMIT
+    }
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointHistorySummary pointHistorySummary;
+    private final WriteMode mode;
+    private final int groupSize;
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Condition committed = lock.newCondition();
+    private static final int MAX_FAILED_GROUPS = 1024;
+
+    private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+    private final ArrayDeque<long[]> failedGroups = new ArrayDeque<>();
+    private final PriorityQueue<CommitCallback> callbacks = new PriorityQueue<>(Comparator.comparingLong(CommitCallback::seq));
+    private final Thread writer;
+    private long enqueuedSeq;
+    private long committedSeq;
+    private long lostFromSeq = Long.MAX_VALUE;
+    private boolean closed;
+
+    public PointHistoryWriter(
+            PointHistoryRepository pointHistoryRepository,
+            PointHistorySummary pointHistorySummary,
+            @Value("${point.history.write-mode:sync}") String mode,
+            @Value("${point.history.group-size:512}") int groupSize,
+            @Value("${point.history.queue-capacity:65536}") int capacity
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointHistorySummary = pointHistorySummary;
+        this.mode = WriteMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.groupSize = Math.max(1, groupSize);
+        this.capacity = Math.max(1, capacity);
+        if (this.mode == WriteMode.SYNC) {
+            this.writer = null;
+        } else {
+            this.writer = Thread.ofPlatform().name("point-history-writer").daemon().start(this::drainLoop);
+        }
+    }
+
+    public WriteMode mode() {
+        return mode;
+    }
+
+    public void append(long userId, long amount, TransactionType type, long updateMillis) {
+        awaitCommit(userId, enqueue(userId, amount, type, updateMillis));
+    }
+
+    /**
+     * 순번을 받고 바로 내역을 채운다. 잔액을 바꾸기 전에 호출할 수 있는 경우에만 쓴다.
+     */
+    public long enqueue(long userId, long amount, TransactionType type, long updateMillis) {
+        long seq = reserve();
+        fill(seq, userId, amount, type, updateMillis);
+        return seq;
+    }
+
+    public long reserve() {
+        return reserve(1);
+    }
+
+    /**
+     * 내역 대기열에 count 개의 빈 자리를 잡고 첫 순번을 반환한다. 순번은 first 부터 first + count - 1 까지 이어진다.
+     * writer 가 종료되었으면 예외를 던진다. sync 모드에서는 0 을 반환한다.
+     * 잔액을 바꾸기 전에 호출하고, 반환된 순번은 반드시 {@link #fill} 또는 {@link #cancel} 로 끝낸다.
+     * 채우지 않은 순번을 쥔 채 다시 reserve 하면 대기열이 가득 찼을 때 writer 와 서로 기다리게 되므로, 필요한 만큼 한 번에 잡는다.
+     */
+    public long reserve(int count) {
+        if (mode == WriteMode.SYNC) {
+            return 0L;
+        }
+        lock.lock();
+        try {
+            while (!queue.isEmpty() && queue.size() + count > capacity && !closed) {
+                notFull.awaitUninterruptibly();
+            }
+            if (closed) {
+                throw new IllegalStateException("포인트 내역 writer 가 종료되었습니다.");
+            }
+            long first = enqueuedSeq + 1;
+            for (int i = 0; i < count; i++) {
+                queue.addLast(new Pending(++enqueuedSeq));
+            }
+            return first;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 예약한 순번에 내역을 채운다. sync 모드에서는 바로 저장하고, 실패하면 잔액은 이미 바뀌었으므로 로그만 남긴다.
+     * commit 모드에서도 저장을 기다리지 않으므로, 락 밖에서 {@link #awaitCommit} 을 호출한다.
+     */
+    public void fill(long seq, long userId, long amount, TransactionType type, long updateMillis) {
+        if (seq == 0L) {
+            try {
+                pointHistorySummary.apply(userId, amount, type, updateMillis,
+                        () -> pointHistoryRepository.insert(userId, amount, type, updateMillis));
+            } catch (RuntimeException e) {
+                log.error("point history not saved after balance change. userId: {}", userId, e);
+            }
+            return;
+        }
+        settle(seq, new PendingHistory(userId, amount, type, updateMillis));
+    }
+
+    /**
+     * 잔액을 바꾸지 못했을 때 예약한 순번을 내역 없이 돌려준다.
+     */
+    public void cancel(long seq) {
+        if (seq != 0L) {
+            settle(seq, null);
+        }
+    }
+
+    /**
+     * commit 모드에서 seq 번 내역이 저장될 때까지 기다린다. 다른 모드에서는 바로 반환한다.
+     * 잔액은 이미 바뀌었으므로 저장에 실패해도 예외를 던지지 않고 로그만 남긴다.
+     */
+    public void awaitCommit(long userId, long seq) {
+        if (mode != WriteMode.COMMIT || seq == 0L) {
+            return;
+        }
+        boolean lost;
+        lock.lock();
+        try {
+            while (committedSeq < seq) {
+                committed.awaitUninterruptibly();
+            }
+            lost = failed(seq);
+        } finally {
+            lock.unlock();
+        }
+        if (lost) {
+            logLost(userId, seq);
+        }
+    }
+
+    /**
+     * {@link #awaitCommit} 의 비동기 버전. 기다리는 대신 seq 번 내역의 저장이 끝나면 result 를 value 로 완료한다.
+     * 한 스레드가 여러 유저의 요청을 차례로 처리하는 경우(event loop, batch) 저장을 기다리느라 다음 요청이 밀리지 않게 한다.
+     * result 는 writer 스레드에서 완료될 수 있으므로 이어지는 작업에서 내역을 다시 쓰며 기다리면 안 된다.
+     */
+    public void completeOnCommit(long userId, long seq, CompletableFuture<UserPoint> result, UserPoint value) {
+        if (mode != WriteMode.COMMIT || seq == 0L) {
+            result.complete(value);
+            return;
+        }
+        boolean done;
+        boolean lost = false;
+        lock.lock();
+        try {
+            done = committedSeq >= seq;
+            if (!done) {
+                callbacks.add(new CommitCallback(seq, userId, result, value));
+            } else {
+                lost = failed(seq);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (done) {
+            if (lost) {
+                logLost(userId, seq);
+            }
+            result.complete(value);
+        }
+    }
+
+    /**
+     * 이 시점까지 대기열에 들어온 내역이 모두 저장될 때까지 기다린다.
+     * 내역 조회 전에 호출해 자신이 남긴 내역을 바로 볼 수 있게 한다.
+     */
+    public void awaitVisible() {
+        if (mode == WriteMode.SYNC) {
+            return;
+        }
+        lock.lock();
+        try {
+            // writer 가 종료되면 committedSeq 를 enqueuedSeq 까지 올리므로 영원히 기다리지 않는다.
+            long target = enqueuedSeq;
+            while (committedSeq < target) {
+                committed.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    private void drainLoop() {
+        List<Pending> group = new ArrayList<>(groupSize);
+        List<PendingHistory> histories = new ArrayList<>(groupSize);
+        try {
+            while (true) {
+                lock.lock();
+                try {
+                    // 종료 중이어도 이미 예약된 순번은 채워질 때까지 기다린다.
+                    while (queue.isEmpty() ? !closed : !queue.peekFirst().settled) {
+                        notEmpty.awaitUninterruptibly();
+                    }
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    while (group.size() < groupSize && !queue.isEmpty() && queue.peekFirst().settled) {
+                        Pending pending = queue.pollFirst();
+                        group.add(pending);
+                        if (pending.history != null) {
+                            histories.add(pending.history);
+                        }
+                    }
+                    notFull.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+
+                boolean failed = false;
+                try {
+                    if (!histories.isEmpty()) {
+                        pointHistorySummary.applyAll(histories, () -> pointHistoryRepository.insertAll(histories));
+                    }
+                } catch (RuntimeException e) {
+                    failed = true;
+                    log.error("point history group commit failed. size: {}", group.size(), e);
+                }
+
+                List<CommitCallback> ready;
+                lock.lock();
+                try {
+                    long firstSeq = group.get(0).seq;
+                    committedSeq = group.get(group.size() - 1).seq;
+                    if (failed) {
+                        if (failedGroups.size() == MAX_FAILED_GROUPS) {
+                            failedGroups.pollFirst();
+                        }
+                        failedGroups.addLast(new long[]{firstSeq, committedSeq});
+                    }
+                    committed.signalAll();
+                    ready = pollCommitted();
+                } finally {
+                    lock.unlock();
+                }
+                complete(ready);
+                group.clear();
+                histories.clear();
+            }
+        } finally {
+            exit();
+        }
+    }
+
+    /**
+     * writer 가 끝나면(close 또는 Error) 아직 저장되지 않은 내역을 모두 실패로 처리하고 기다리던 호출자를 깨운다.
+     */
+    private void exit() {
+        List<CommitCallback> ready;
+        lock.lock();
+        try {
+            long lost = enqueuedSeq - committedSeq;
+            if (lost > 0) {
+                log.error("point history writer stopped. lost: {}", lost);
+            }
+            closed = true;
+            lostFromSeq = committedSeq + 1;
+            committedSeq = enqueuedSeq;
+            queue.clear();
+            notFull.signalAll();
+            committed.signalAll();
+            ready = pollCommitted();
+        } finally {
+            lock.unlock();
+        }
+        complete(ready);
+    }
+
+    private List<CommitCallback> pollCommitted() {
+        List<CommitCallback> ready = new ArrayList<>();
+        while (!callbacks.isEmpty() && callbacks.peek().seq() <= committedSeq) {
+            CommitCallback callback = callbacks.poll();
+            ready.add(callback.failed(failed(callback.seq())));
+        }
+        return ready;
+    }
+
+    private static void complete(List<CommitCallback> ready) {
+        for (CommitCallback callback : ready) {
+            if (callback.failed()) {
+                logLost(callback.userId(), callback.seq());
+            }
+            callback.result().complete(callback.value());
+        }
+    }
+
+    /**
+     * 예약한 순번을 찾아 내역을 채우거나(history) 비운다(null). 방금 예약한 순번이므로 대기열 뒤에서부터 찾는다.
+     * writer 가 종료되어 대기열이 비워졌으면 찾지 못하며, 그 내역은 종료 시 유실로 기록되어 있다.
+     */
+    private void settle(long seq, PendingHistory history) {
+        lock.lock();
+        try {
+            Iterator<Pending> pendings = queue.descendingIterator();
+            while (pendings.hasNext()) {
+                Pending pending = pendings.next();
+                if (pending.seq == seq) {
+                    pending.history = history;
+                    pending.settled = true;
+                    notEmpty.signal();
+                    return;
+                }
+                if (pending.seq < seq) {
+                    return;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean failed(long seq) {
+        if (seq >= lostFromSeq) {
+            return true;
+        }
+        for (long[] range : failedGroups) {
+            if (range[0] <= seq && seq <= range[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void logLost(long userId, long seq) {
+        log.error("point history not saved after balance change. userId: {}, seq: {}", userId, seq);
+    }
+
+    /**
+     * 대기열의 한 칸. reserve 로 만들어지고 settle 로 채워지며, 둘 다 writer 의 lock 안에서만 읽고 쓴다.
+     */
+    private static final class Pending {
+        private final long seq;
+        private PendingHistory history;
+        private boolean settled;
+
+        private Pending(long seq) {
+            this.seq = seq;
+        }
+    }
+
+    private record CommitCallback(long seq, long userId, CompletableFuture<UserPoint> result, UserPoint value,
+                                  boolean failed) {
+
+        private CommitCallback(long seq, long userId, CompletableFuture<UserPoint> result, UserPoint value) {
+            this(seq, userId, result, value, false);
+        }
+
+        private CommitCallback failed(boolean failed) {
+            return new CommitCallback(seq, userId, result, value, failed);
+        }
+    }
+}
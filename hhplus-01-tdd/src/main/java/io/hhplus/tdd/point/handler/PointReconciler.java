@@ -0,0 +1,333 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 잔액과 내역 대조
+ * 유저마다 CHARGE - USE - EXPIRE 합계가 잔액 저장소의 잔액과 같은지 확인하고, 다르면 보고하거나 내역 기준으로 잔액을 고친다.
+ * 1. 잔액 저장소 전체를 한 번 읽어 유저 id 마다 번호를 붙이고 잔액을 배열에 담는다.
+ * 2. 그 시점의 마지막 내역 id 까지를 leafRows 개씩 나눠 fork-join 으로 동시에 읽으며 유저 번호 위치에 합계를 더한다.
+ *    잔액 저장소에 없는 유저의 내역은 따로 모은다. 저장소 락이나 유저 락을 잡지 않으므로 충전/사용을 막지 않는다.
+ * 3. 합계와 잔액이 다른 유저만 유저 락을 잡고 다시 확인한다. 1~2 사이에 바뀐 잔액은 여기서 걸러진다.
+ *    비동기 내역 쓰기(point.history.write-mode)로 아직 저장되지 않은 내역은 저장될 때까지 기다린 뒤 확인한다.
+ * 유저 락 안에서만 잔액이 바뀌는 point.engine=lock, batch 에서만 잔액을 고친다. 다른 엔진에서는 보고만 한다.
+ * 내역이 잔액보다 먼저 사라질 수 있는 설정(point.durability.enabled=true 인데 point.storage.history 가 mmap 이 아님)에서도 보고만 한다.
+ * 재시작 후 잔액은 WAL 로 돌아오지만 메모리 내역은 비어 있어, 고치면 모든 잔액이 0 이 되기 때문이다.
+ * 같은 이유로 내역이 한 건도 없는 유저의 잔액은 어떤 설정에서도 고치지 않는다.
+ * 유저 하나에 약 48 byte 를 사용한다.
+ */
+@Slf4j
+@Component
+public class PointReconciler {
+
+    private static final int MAX_SLOTS = 1 << 29;
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
+    private final LockManager lockManager;
+    private final BalanceCache balanceCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointExpiry pointExpiry;
+    private final boolean repairable;
+    private final int parallelism;
+    private final long leafRows;
+    private final int maxReported;
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public PointReconciler(
+            PointHistoryRepository pointHistoryRepository,
+            UserPointRepository userPointRepository,
+            LockManager lockManager,
+            BalanceCache balanceCache,
+            PointHistoryWriter pointHistoryWriter,
+            PointExpiry pointExpiry,
+            @Value("${point.engine:lock}") String engine,
+            @Value("${point.durability.enabled:false}") boolean durableBalances,
+            @Value("${point.storage.history:table}") String historyStorage,
+            @Value("${point.reconcile.parallelism:0}") int parallelism,
+            @Value("${point.reconcile.leaf-rows:1048576}") long leafRows,
+            @Value("${point.reconcile.max-reported:1000}") int maxReported
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userPointRepository = userPointRepository;
+        this.lockManager = lockManager;
+        this.balanceCache = balanceCache;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointExpiry = pointExpiry;
+        this.repairable = ("lock".equals(engine) || "batch".equals(engine))
+                && (!durableBalances || "mmap".equals(historyStorage));
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.leafRows = Math.max(1, leafRows);
+        this.maxReported = Math.max(0, maxReported);
+    }
+
+    /**
+     * 대조 결과를 반환한다. repair 이면 다른 유저의 잔액을 내역 합계로 고친다. (0 ~ 최대 잔액을 벗어나거나 내역이 없으면 고치지 않는다)
+     * 동시에 호출하면 앞선 대조가 끝날 때까지 기다린다.
+     */
+    public Report reconcile(boolean repair) {
+        runLock.lock();
+        try {
+            return run(repair && repairable);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private Report run(boolean repair) {
+        long startedAt = System.nanoTime();
+        Balances balances = Balances.load(userPointRepository);
+        long lastId = pointHistoryRepository.lastId();
+
+        AtomicLongArray sums = new AtomicLongArray(balances.size);
+        Map<Long, LongAdder> strays = new ConcurrentHashMap<>();
+        LongAdder scanned = new LongAdder();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new ScanTask(1, lastId + 1, balances, sums, strays, scanned));
+        } finally {
+            pool.shutdown();
+        }
+        long scanMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        List<Long> candidates = new ArrayList<>();
+        for (int slot = 0; slot < balances.size; slot++) {
+            if (sums.get(slot) != balances.points[slot]) {
+                candidates.add(balances.ids[slot]);
+            }
+        }
+        strays.forEach((userId, sum) -> {
+            if (sum.sum() != 0) {
+                candidates.add(userId);
+            }
+        });
+
+        List<Mismatch> reported = new ArrayList<>(Math.min(candidates.size(), maxReported));
+        int mismatches = 0;
+        int repaired = 0;
+        for (long userId : candidates) {
+            Mismatch mismatch = confirm(userId, repair);
+            if (mismatch == null) {
+                continue;
+            }
+            mismatches++;
+            if (mismatch.repaired()) {
+                repaired++;
+            }
+            if (reported.size() < maxReported) {
+                reported.add(mismatch);
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        log.info("point reconciled. rows: {}, users: {}, candidates: {}, mismatches: {}, repaired: {}, scan: {}ms, elapsed: {}ms",
+                scanned.sum(), balances.size + strays.size(), candidates.size(), mismatches, repaired, scanMillis,
+                elapsedMillis);
+        return new Report(lastId, scanned.sum(), balances.size + strays.size(), candidates.size(), mismatches, repaired,
+                repair, scanMillis, elapsedMillis, reported);
+    }
+
+    /**
+     * 유저 락 안에서 잔액과 내역 합계를 다시 비교한다. 같아졌으면 null 을 반환한다.
+     */
+    private Mismatch confirm(long userId, boolean repair) {
+        ReentrantLock lock = lockManager.getLock(userId);
+        lock.lock();
+        try {
+            pointHistoryWriter.awaitVisible();
+            long balance = userPointRepository.selectById(userId).point();
+            long[] expected = {0L};
+            long[] rows = {0L};
+            pointHistoryRepository.forEachByUserId(userId, HistoryQuery.all(), history -> {
+                expected[0] += delta(history.type(), history.amount());
+                rows[0]++;
+                return true;
+            });
+            if (balance == expected[0]) {
+                return null;
+            }
+            boolean fixable = repair && rows[0] > 0 && expected[0] >= 0 && expected[0] <= PointPolicy.MAX_POINT;
+            if (fixable) {
+                UserPoint updated = userPointRepository.insertOrUpdate(userId, expected[0]);
+                balanceCache.put(updated);
+                pointExpiry.trim(userId, expected[0]);
+                log.warn("point balance repaired. userId: {}, balance: {} -> {}", userId, balance, expected[0]);
+            }
+            return new Mismatch(userId, balance, expected[0], fixable);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static long delta(TransactionType type, long amount) {
+        return type == TransactionType.CHARGE ? amount : -amount;
+    }
+
+    /**
+     * @param lastHistoryId 대조를 시작할 때의 마지막 내역 id (이후 내역은 유저 락 안에서 다시 확인할 때만 본다)
+     * @param candidates    동시 스캔에서 합계가 달랐던 유저 수
+     * @param mismatches    유저 락 안에서 다시 확인해도 달랐던 유저 수
+     * @param users         최대 max-reported 명까지만 담는다.
+     */
+    public record Report(
+            long lastHistoryId,
+            long scannedRows,
+            int checkedUsers,
+            int candidates,
+            int mismatches,
+            int repaired,
+            boolean repair,
+            long scanMillis,
+            long elapsedMillis,
+            List<Mismatch> users
+    ) {
+    }
+
+    public record Mismatch(
+            long userId,
+            long balance,
+            long expected,
+            boolean repaired
+    ) {
+    }
+
+    /**
+     * [fromId, toId) 구간의 내역을 읽어 유저 번호 위치에 합계를 더한다. 구간이 leafRows 보다 길면 반으로 나눈다.
+     */
+    private final class ScanTask extends RecursiveAction {
+        private final long fromId;
+        private final long toId;
+        private final Balances balances;
+        private final AtomicLongArray sums;
+        private final Map<Long, LongAdder> strays;
+        private final LongAdder scanned;
+
+        private ScanTask(long fromId, long toId, Balances balances, AtomicLongArray sums, Map<Long, LongAdder> strays,
+                         LongAdder scanned) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.balances = balances;
+            this.sums = sums;
+            this.strays = strays;
+            this.scanned = scanned;
+        }
+
+        @Override
+        protected void compute() {
+            if (toId - fromId > leafRows) {
+                long mid = fromId + (toId - fromId) / 2;
+                invokeAll(new ScanTask(fromId, mid, balances, sums, strays, scanned),
+                        new ScanTask(mid, toId, balances, sums, strays, scanned));
+                return;
+            }
+            long[] rows = {0L};
+            pointHistoryRepository.forEachInRange(fromId, toId, (id, userId, amount, type) -> {
+                long delta = delta(type, amount);
+                int slot = balances.slotOf(userId);
+                if (slot >= 0) {
+                    sums.getAndAdd(slot, delta);
+                } else {
+                    strays.computeIfAbsent(userId, key -> new LongAdder()).add(delta);
+                }
+                rows[0]++;
+            });
+            scanned.add(rows[0]);
+        }
+    }
+
+    /**
+     * 잔액 저장소의 스냅샷. 유저 id -> 번호는 open addressing 해시로 찾는다. (keys 0 은 빈 칸이므로 id 0 은 따로 둔다)
+     */
+    private static final class Balances {
+        private final int size;
+        private final long[] ids;
+        private final long[] points;
+        private final long[] keys;
+        private final int[] slots;
+        private final int mask;
+        private final int zeroSlot;
+
+        private Balances(int size, long[] ids, long[] points) {
+            this.size = size;
+            this.ids = ids;
+            this.points = points;
+            int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+            this.keys = new long[capacity];
+            this.slots = new int[capacity];
+            this.mask = capacity - 1;
+            int zero = -1;
+            for (int slot = 0; slot < size; slot++) {
+                if (ids[slot] == 0L) {
+                    zero = slot;
+                    continue;
+                }
+                int i = hash(ids[slot]) & mask;
+                while (keys[i] != 0L) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = ids[slot];
+                slots[i] = slot;
+            }
+            this.zeroSlot = zero;
+        }
+
+        private static Balances load(UserPointRepository repository) {
+            long[][] columns = {new long[1024], new long[1024]};
+            int[] count = {0};
+            repository.forEach(userPoint -> {
+                int n = count[0];
+                if (n == MAX_SLOTS) {
+                    throw new IllegalStateException("대조할 유저 수가 너무 많습니다: " + n);
+                }
+                if (n == columns[0].length) {
+                    columns[0] = Arrays.copyOf(columns[0], n << 1);
+                    columns[1] = Arrays.copyOf(columns[1], n << 1);
+                }
+                columns[0][n] = userPoint.id();
+                columns[1][n] = userPoint.point();
+                count[0] = n + 1;
+            });
+            return new Balances(count[0], columns[0], columns[1]);
+        }
+
+        private int slotOf(long userId) {
+            if (userId == 0L) {
+                return zeroSlot;
+            }
+            int i = hash(userId) & mask;
+            long key;
+            while ((key = keys[i]) != 0L) {
+                if (key == userId) {
+                    return slots[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        private static int hash(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
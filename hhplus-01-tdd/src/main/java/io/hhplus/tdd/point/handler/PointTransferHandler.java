@@ -0,0 +1,125 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.exceptions.PointTransferException;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저 간 포인트 송금
+ * - 두 유저의 락을 스트라이프 번호가 작은 쪽부터 잡는다. 모든 송금이 같은 순서로 잡으므로 반대 방향 송금이 동시에 와도 교착되지 않는다.
+ *   두 유저가 같은 스트라이프면 같은 락을 한 번 더 잡는다. (재진입)
+ * - 두 잔액을 모두 검증한 뒤에 저장하므로, 어느 한쪽이 정책에 걸리면 두 잔액 모두 바뀌지 않는다.
+ *   받는 유저의 잔액 저장이 실패하면 보낸 유저의 잔액을 되돌린다.
+ * - 보낸 유저에게 USE, 받은 유저에게 CHARGE 내역을 남긴다. 만료 기능을 켜면 받은 포인트는 송금 시각부터 만료 기간을 새로 센다.
+ * - 충전/사용과 같은 유저 락을 쓰므로 point.engine=lock, batch 의 충전/사용과 섞여 들어와도 잔액이 맞는다.
+ *   락 대신 다른 방법으로 두 유저를 막는 엔진은 {@link #transferExclusive} 를 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PointTransferHandler {
+
+    private final UserPointRepository userPointRepository;
+    private final LockManager lockManager;
+    private final BalanceCache balanceCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointExpiry pointExpiry;
+
+    public PointTransferResult transfer(long fromId, long toId, long amount) {
+        validate(fromId, toId, amount);
+        boolean fromFirst = lockManager.stripeOf(fromId) <= lockManager.stripeOf(toId);
+        ReentrantLock first = lockManager.getLock(fromFirst ? fromId : toId);
+        ReentrantLock second = lockManager.getLock(fromFirst ? toId : fromId);
+        Applied applied;
+        first.lock();
+        try {
+            second.lock();
+            try {
+                applied = apply(fromId, toId, amount);
+            } finally {
+                second.unlock();
+            }
+        } finally {
+            first.unlock();
+        }
+        // commit 모드의 내역 저장은 두 락을 모두 푼 뒤에 기다린다.
+        pointHistoryWriter.awaitCommit(fromId, applied.fromSeq());
+        pointHistoryWriter.awaitCommit(toId, applied.toSeq());
+        return applied.result();
+    }
+
+    /**
+     * 두 유저의 잔액을 바꾸는 다른 스레드가 없도록 호출하는 쪽이 막아 둔 상태에서 송금한다. (point.engine=event-loop 가 두 파티션을 멈춘 상태)
+     * 잔액 저장과 내역 대기열 반영이 끝나면 release 를 실행하고, commit 모드의 내역 저장은 그 뒤에 기다린다.
+     */
+    public PointTransferResult transferExclusive(long fromId, long toId, long amount, Runnable release) {
+        Applied applied;
+        try {
+            validate(fromId, toId, amount);
+            applied = apply(fromId, toId, amount);
+        } finally {
+            release.run();
+        }
+        pointHistoryWriter.awaitCommit(fromId, applied.fromSeq());
+        pointHistoryWriter.awaitCommit(toId, applied.toSeq());
+        return applied.result();
+    }
+
+    /**
+     * 송금 금액과 두 유저를 검증한다. 자기 자신에게는 보낼 수 없다.
+     */
+    public static void validate(long fromId, long toId, long amount) {
+        PointPolicy.validateChargeAmount(amount);
+        if (fromId == toId) {
+            throw new PointTransferException(fromId, toId, "자기 자신에게 송금할 수 없습니다.");
+        }
+    }
+
+    /**
+     * 두 유저의 락을 모두 잡은 상태에서 호출된다.
+     */
+    private Applied apply(long fromId, long toId, long amount) {
+        UserPoint fromPoint = balanceCache.getOrLoad(fromId, userPointRepository::selectById);
+        UserPoint toPoint = balanceCache.getOrLoad(toId, userPointRepository::selectById);
+        long fromAmount = PointPolicy.use(fromPoint.point(), amount);
+        long toAmount = PointPolicy.charge(toPoint.point(), amount);
+
+        // 두 내역의 순번을 한 번에 예약한다. writer 가 종료되었으면 잔액을 바꾸기 전에 실패한다.
+        long fromSeq = pointHistoryWriter.reserve(2);
+        long toSeq = fromSeq == 0L ? 0L : fromSeq + 1;
+        UserPoint updatedFrom;
+        UserPoint updatedTo;
+        try {
+            updatedFrom = userPointRepository.insertOrUpdate(fromId, fromAmount);
+            try {
+                updatedTo = userPointRepository.insertOrUpdate(toId, toAmount);
+            } catch (RuntimeException e) {
+                balanceCache.put(userPointRepository.insertOrUpdate(fromId, fromPoint.point()));
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            pointHistoryWriter.cancel(fromSeq);
+            pointHistoryWriter.cancel(toSeq);
+            throw e;
+        }
+        balanceCache.put(updatedFrom);
+        balanceCache.put(updatedTo);
+
+        long updateMillis = System.currentTimeMillis();
+        pointHistoryWriter.fill(fromSeq, fromId, amount, TransactionType.USE, updateMillis);
+        pointHistoryWriter.fill(toSeq, toId, amount, TransactionType.CHARGE, updateMillis);
+        pointExpiry.record(fromId, TransactionType.USE, amount, updateMillis);
+        pointExpiry.record(toId, TransactionType.CHARGE, amount, updateMillis);
+        return new Applied(new PointTransferResult(updatedFrom, updatedTo), fromSeq, toSeq);
+    }
+
+    private record Applied(PointTransferResult result, long fromSeq, long toSeq) {
+    }
+}
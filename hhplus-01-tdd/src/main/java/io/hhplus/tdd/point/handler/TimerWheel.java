@@ -0,0 +1,144 @@
+package io.hhplus.tdd.point.handler;
+
+/**
+ * 계층형 타이머 휠
+ * - 단계마다 64칸이고, 아래 단계 한 바퀴가 위 단계 한 칸이다. 4단계이므로 64^4 tick 앞까지 담는다.
+ * - 항목은 남은 tick 수에 맞는 단계의 칸에 넣는다. 위 단계의 칸은 그 칸의 시작 tick 이 되면 아래 단계로 다시 나눠 넣는다.
+ *   항목 하나는 꺼낼 때까지 최대 3번 옮겨지므로 advance 비용은 꺼내는 항목 수에 비례한다.
+ * - 범위를 넘는 항목은 맨 위 단계의 가장 먼 칸에 두었다가 다시 나눠 넣는다.
+ * - 항목은 (id, 만료 tick) long 두 개이며, 칸마다 long 배열 하나에 이어 담는다.
+ * 스레드 안전하지 않으므로 호출하는 쪽에서 락을 잡는다.
+ */
+final class TimerWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long RANGE = 1L << (SLOT_BITS * LEVELS);
+
+    private final Entries[][] slots = new Entries[LEVELS][SLOTS];
+    private long currentTick;
+    private long size;
+
+    TimerWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    long currentTick() {
+        return currentTick;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * 이미 지난 tick 이면 다음 tick 에 꺼낸다.
+     */
+    void schedule(long id, long deadlineTick) {
+        place(id, Math.max(deadlineTick, currentTick + 1));
+        size++;
+    }
+
+    /**
+     * nowTick 까지 진행하며 만료 tick 이 된 항목을 due 에 담는다.
+     */
+    void advance(long nowTick, Entries due) {
+        while (currentTick < nowTick) {
+            if (size == 0) {
+                currentTick = nowTick;
+                return;
+            }
+            currentTick++;
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(level, (int) (currentTick >>> (SLOT_BITS * level)) & MASK);
+                }
+            }
+            Entries expired = slots[0][(int) currentTick & MASK];
+            if (expired != null && expired.size > 0) {
+                due.addAll(expired);
+                size -= expired.size;
+                expired.clear();
+            }
+        }
+    }
+
+    private void cascade(int level, int index) {
+        Entries entries = slots[level][index];
+        if (entries == null || entries.size == 0) {
+            return;
+        }
+        slots[level][index] = null;
+        for (int i = 0; i < entries.size; i++) {
+            place(entries.id(i), entries.deadline(i));
+        }
+    }
+
+    private void place(long id, long deadlineTick) {
+        long delta = deadlineTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        long slotTick = delta >= RANGE ? currentTick + RANGE - 1 : deadlineTick;
+        int index = (int) (slotTick >>> (SLOT_BITS * level)) & MASK;
+        Entries entries = slots[level][index];
+        if (entries == null) {
+            entries = new Entries();
+            slots[level][index] = entries;
+        }
+        entries.add(id, deadlineTick);
+    }
+
+    /**
+     * (id, 만료 tick) 목록
+     */
+    static final class Entries {
+        private static final long[] EMPTY = new long[0];
+
+        private long[] values = EMPTY;
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        long id(int i) {
+            return values[i * 2];
+        }
+
+        long deadline(int i) {
+            return values[i * 2 + 1];
+        }
+
+        void add(long id, long deadlineTick) {
+            ensureCapacity(size + 1);
+            values[size * 2] = id;
+            values[size * 2 + 1] = deadlineTick;
+            size++;
+        }
+
+        void clear() {
+            size = 0;
+            if (values.length > SLOTS * 2) {
+                values = EMPTY;
+            }
+        }
+
+        private void addAll(Entries other) {
+            ensureCapacity(size + other.size);
+            System.arraycopy(other.values, 0, values, size * 2, other.size * 2);
+            size += other.size;
+        }
+
+        private void ensureCapacity(int entries) {
+            if (entries * 2 > values.length) {
+                long[] grown = new long[Math.max(8, Math.max(entries, size * 2) * 2)];
+                System.arraycopy(values, 0, grown, 0, size * 2);
+                values = grown;
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.hhplus.tdd.point.handler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * 유저별 비동기 작업을 스레드를 막지 않고 도착 순서대로 하나씩 실행한다.
+ * - 유저마다 마지막 작업의 완료 future 만 기억하고, 새 작업은 그 future 가 끝나면 시작한다.
+ * - 앞 작업이 실패해도 다음 작업은 실행된다. 유저의 작업이 모두 끝나면 기억한 future 를 지운다.
+ * - 앞 작업이 끝난 뒤의 시작은 executor 에서 하므로, 한 유저에 작업이 많이 쌓여도 호출 스택이 깊어지지 않는다.
+ */
+public class UserTaskSequencer {
+
+    private final ConcurrentHashMap<Long, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private final Executor executor;
+
+    public UserTaskSequencer(Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> submit(long userId, Supplier<CompletableFuture<T>> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        CompletableFuture<Void> previous = tails.put(userId, done);
+        Runnable start = () -> {
+            CompletableFuture<T> running;
+            try {
+                running = task.get();
+            } catch (RuntimeException e) {
+                running = CompletableFuture.failedFuture(e);
+            }
+            running.whenComplete((value, error) -> {
+                tails.remove(userId, done);
+                done.complete(null);
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        };
+        if (previous == null) {
+            start.run();
+        } else {
+            previous.whenCompleteAsync((ignored, error) -> start.run(), executor);
+        }
+        return result;
+    }
+
+    /**
+     * 실행 중이거나 기다리는 작업이 있는 유저 수
+     */
+    public int activeUsers() {
+        return tails.size();
+    }
+}
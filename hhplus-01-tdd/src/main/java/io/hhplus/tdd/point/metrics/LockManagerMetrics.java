@@ -0,0 +1,32 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.handler.LockManager;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 락 스트라이프 누적 통계를 지표로 내보낸다. 수집 시점에만 합산하므로 락을 잡는 경로에는 비용이 없다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LockManagerMetrics implements MeterBinder {
+
+    private final LockManager lockManager;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("point.lock.acquisitions", lockManager, manager -> manager.totals().acquisitions())
+                .description("유저 락 획득 수")
+                .register(registry);
+        FunctionCounter.builder("point.lock.contentions", lockManager, manager -> manager.totals().contentions())
+                .description("바로 잡지 못하고 기다린 유저 락 획득 수")
+                .register(registry);
+        Gauge.builder("point.lock.queue", lockManager, manager -> manager.totals().queueLength())
+                .description("유저 락을 기다리는 스레드 수")
+                .register(registry);
+    }
+}
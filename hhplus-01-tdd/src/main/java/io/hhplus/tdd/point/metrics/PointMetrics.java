@@ -0,0 +1,135 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.exceptions.PointMaxException;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.exceptions.PointOverException;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포인트 서비스 지표
+ * - point.service : IPointService 메서드별 처리 시간 (operation 태그, 히스토그램 포함)
+ * - point.lock.wait / point.lock.hold : 충전/사용 시 유저 락을 기다린 시간과 잡고 있던 시간
+ * - point.rejections : 정책 위반으로 거절된 요청 수 (exception 태그)
+ * - point.optimistic.conflicts : point.engine=optimistic 에서 compareAndSet 이 충돌해 다시 시도한 횟수
+ * - point.history.size : 전체 내역 조회 시 유저 한 명의 내역 건수 분포
+ * 미터는 생성 시 모두 등록해 두므로, 요청 처리 중에는 조회 없이 기록만 한다.
+ */
+@Component
+public class PointMetrics {
+
+    public enum Operation {
+        GET_POINT("getPoint"),
+        GET_HISTORY("getHistory"),
+        GET_HISTORY_PAGE("getHistoryPage"),
+        STREAM_HISTORY("streamHistory"),
+        GET_SUMMARY("getSummary"),
+        CHARGE("charge"),
+        USE("use"),
+        TRANSFER("transfer");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Map<Operation, Timer> operations = new EnumMap<>(Operation.class);
+    private final Map<TransactionType, Timer> lockWaits = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Timer> lockHolds = new EnumMap<>(TransactionType.class);
+    private final Map<TransactionType, Counter> conflicts = new EnumMap<>(TransactionType.class);
+    private final Counter maxRejections;
+    private final Counter notEnoughRejections;
+    private final Counter overRejections;
+    private final DistributionSummary historySize;
+
+    public PointMetrics(MeterRegistry registry) {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, Timer.builder("point.service")
+                    .description("포인트 서비스 처리 시간")
+                    .tag("operation", operation.tag)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+        for (TransactionType type : TransactionType.values()) {
+            String operation = type.name().toLowerCase(Locale.ROOT);
+            lockWaits.put(type, Timer.builder("point.lock.wait")
+                    .description("유저 락 대기 시간")
+                    .tag("operation", operation)
+                    .register(registry));
+            lockHolds.put(type, Timer.builder("point.lock.hold")
+                    .description("유저 락 보유 시간")
+                    .tag("operation", operation)
+                    .register(registry));
+            conflicts.put(type, Counter.builder("point.optimistic.conflicts")
+                    .description("낙관적 갱신 충돌 횟수")
+                    .tag("operation", operation)
+                    .register(registry));
+        }
+        this.maxRejections = rejections(registry, PointMaxException.class);
+        this.notEnoughRejections = rejections(registry, PointNotException.class);
+        this.overRejections = rejections(registry, PointOverException.class);
+        this.historySize = DistributionSummary.builder("point.history.size")
+                .description("유저별 포인트 내역 건수")
+                .baseUnit("histories")
+                .register(registry);
+    }
+
+    /**
+     * 아무 곳에도 내보내지 않는 지표 (단위 테스트, 벤치마크 기준선 용)
+     */
+    public static PointMetrics noop() {
+        return new PointMetrics(new CompositeMeterRegistry());
+    }
+
+    public void recordOperation(Operation operation, long startedAtNanos) {
+        operations.get(operation).record(System.nanoTime() - startedAtNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockWait(TransactionType type, long nanos) {
+        lockWaits.get(type).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordLockHold(TransactionType type, long nanos) {
+        lockHolds.get(type).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordConflict(TransactionType type) {
+        conflicts.get(type).increment();
+    }
+
+    /**
+     * 포인트 정책 위반 예외만 센다. 그 밖의 예외는 거절이 아니라 오류이므로 세지 않는다.
+     */
+    public void recordRejection(RuntimeException e) {
+        if (e instanceof PointMaxException) {
+            maxRejections.increment();
+        } else if (e instanceof PointNotException) {
+            notEnoughRejections.increment();
+        } else if (e instanceof PointOverException) {
+            overRejections.increment();
+        }
+    }
+
+    public void recordHistorySize(int size) {
+        historySize.record(size);
+    }
+
+    private static Counter rejections(MeterRegistry registry, Class<? extends RuntimeException> type) {
+        return Counter.builder("point.rejections")
+                .description("정책 위반으로 거절된 요청 수")
+                .tag("exception", type.getSimpleName())
+                .register(registry);
+    }
+}
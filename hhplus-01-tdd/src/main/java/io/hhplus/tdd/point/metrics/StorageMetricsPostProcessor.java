@@ -0,0 +1,45 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잔액/내역 저장소 빈을 호출 시간을 기록하는 저장소로 감싼다.
+ * UserPointTable, PointHistoryTable 은 수정하지 않고, 저장소 빈 단위로 point.storage 타이머를 남긴다. (repository 태그 = 빈 이름)
+ * point.metrics.storage-timing=false 이면 감싸지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.metrics.storage-timing", havingValue = "true", matchIfMissing = true)
+public class StorageMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public StorageMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof UserPointRepository repository) {
+            return new TimedUserPointRepository(repository, beanName, meterRegistry.getObject());
+        }
+        if (bean instanceof PointHistoryRepository repository) {
+            return new TimedPointHistoryRepository(repository, beanName, meterRegistry.getObject());
+        }
+        return bean;
+    }
+
+    static Timer timer(MeterRegistry registry, String repository, String method) {
+        return Timer.builder("point.storage")
+                .description("저장소 호출 시간")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(registry);
+    }
+}
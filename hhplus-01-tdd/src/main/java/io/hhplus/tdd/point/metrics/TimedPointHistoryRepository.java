@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.HistoryChanges;
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.PendingHistory;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 내역 저장소 호출 시간을 point.storage 타이머로 기록한다.
+ * forEachByUserId, stream, forEach, forEachAfter 는 호출한 쪽의 처리 시간이 섞이므로 기록하지 않고 그대로 넘긴다.
+ * forEachInRange 는 대조 스캔 구간 하나를 읽는 시간으로 기록한다. (visitor 는 합계만 더하므로 처리 시간이 거의 섞이지 않는다)
+ * 기본 구현이 전체 내역을 읽는 메서드는 모두 재정의해 넘기므로, 감싸도 저장소의 빠른 구현이 그대로 쓰인다.
+ */
+class TimedPointHistoryRepository implements PointHistoryRepository, AutoCloseable {
+
+    private final PointHistoryRepository delegate;
+    private final Timer insertTimer;
+    private final Timer insertAllTimer;
+    private final Timer selectAllTimer;
+    private final Timer selectPageTimer;
+    private final Timer selectAfterTimer;
+    private final Timer lastIdTimer;
+    private final Timer forEachInRangeTimer;
+
+    TimedPointHistoryRepository(PointHistoryRepository delegate, String name, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.insertTimer = StorageMetricsPostProcessor.timer(registry, name, "insert");
+        this.insertAllTimer = StorageMetricsPostProcessor.timer(registry, name, "insertAll");
+        this.selectAllTimer = StorageMetricsPostProcessor.timer(registry, name, "selectAllByUserId");
+        this.selectPageTimer = StorageMetricsPostProcessor.timer(registry, name, "selectPage");
+        this.selectAfterTimer = StorageMetricsPostProcessor.timer(registry, name, "selectAfter");
+        this.lastIdTimer = StorageMetricsPostProcessor.timer(registry, name, "lastId");
+        this.forEachInRangeTimer = StorageMetricsPostProcessor.timer(registry, name, "forEachInRange");
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.insert(userId, amount, type, updateMillis);
+        } finally {
+            insertTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void insertAll(List<PendingHistory> histories) {
+        long startedAt = System.nanoTime();
+        try {
+            delegate.insertAll(histories);
+        } finally {
+            insertAllTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.selectAllByUserId(userId);
+        } finally {
+            selectAllTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public HistoryPage selectPage(long userId, HistoryQuery query) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.selectPage(userId, query);
+        } finally {
+            selectPageTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public HistoryChanges selectAfter(long afterId, int limit) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.selectAfter(afterId, limit);
+        } finally {
+            selectAfterTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public long lastId() {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.lastId();
+        } finally {
+            lastIdTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void forEachInRange(long fromId, long toId, RowVisitor visitor) {
+        long startedAt = System.nanoTime();
+        try {
+            delegate.forEachInRange(fromId, toId, visitor);
+        } finally {
+            forEachInRangeTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void forEachAfter(long afterId, Predicate<PointHistory> visitor) {
+        delegate.forEachAfter(afterId, visitor);
+    }
+
+    @Override
+    public void forEachByUserId(long userId, HistoryQuery query, Predicate<PointHistory> visitor) {
+        delegate.forEachByUserId(userId, query, visitor);
+    }
+
+    @Override
+    public void stream(long userId, HistoryQuery query, Consumer<PointHistory> consumer) {
+        delegate.stream(userId, query, consumer);
+    }
+
+    @Override
+    public void forEach(Consumer<PointHistory> consumer) {
+        delegate.forEach(consumer);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 잔액 저장소 호출 시간을 point.storage 타이머로 기록한다.
+ */
+class TimedUserPointRepository implements UserPointRepository, AutoCloseable {
+
+    private final UserPointRepository delegate;
+    private final Timer selectTimer;
+    private final Timer updateTimer;
+    private final Timer compareAndSetTimer;
+
+    TimedUserPointRepository(UserPointRepository delegate, String name, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.selectTimer = StorageMetricsPostProcessor.timer(registry, name, "selectById");
+        this.updateTimer = StorageMetricsPostProcessor.timer(registry, name, "insertOrUpdate");
+        this.compareAndSetTimer = StorageMetricsPostProcessor.timer(registry, name, "compareAndSet");
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.selectById(id);
+        } finally {
+            selectTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.insertOrUpdate(id, amount);
+        } finally {
+            updateTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public UserPoint compareAndSet(long id, long expectedVersion, long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            return delegate.compareAndSet(id, expectedVersion, amount);
+        } finally {
+            compareAndSetTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<UserPoint> consumer) {
+        delegate.forEach(consumer);
+    }
+
+    @Override
+    public void restore(UserPoint userPoint) {
+        delegate.restore(userPoint);
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point.partition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * userId 를 shard 에 배정하는 consistent hash ring
+ * - shard 마다 virtualNodes 개의 지점을 ring 에 두고, userId 해시 이후 처음 만나는 지점의 shard 에 배정한다.
+ * - shard 를 하나 추가하면 새 shard 의 지점 바로 앞 구간만 새 shard 로 옮겨 가므로, 평균적으로 전체 유저의 1/(N+1) 만 이동한다.
+ * 불변 객체이며, shard 추가는 새 ring 을 만들어 반환한다. shard 목록과 virtualNodes 만 같으면 어느 노드에서 만들어도 같은 배정이 나온다.
+ */
+public final class ConsistentHashRing {
+
+    private final List<String> shardIds;
+    private final int virtualNodes;
+    private final long[] points;
+    private final int[] owners;
+
+    public ConsistentHashRing(List<String> shardIds, int virtualNodes) {
+        if (shardIds.isEmpty()) {
+            throw new IllegalArgumentException("shard 가 하나 이상 있어야 합니다.");
+        }
+        this.shardIds = List.copyOf(shardIds);
+        this.virtualNodes = Math.max(1, virtualNodes);
+        int size = this.shardIds.size() * this.virtualNodes;
+        long[] hashes = new long[size];
+        int n = 0;
+        for (int shard = 0; shard < this.shardIds.size(); shard++) {
+            long seed = seedOf(this.shardIds.get(shard));
+            for (int v = 0; v < this.virtualNodes; v++) {
+                hashes[n++] = mix(seed + v * 0x9E3779B97F4A7C15L);
+            }
+        }
+        // 지점을 해시 순으로 정렬하면서 각 지점의 shard 도 같은 순서로 옮긴다.
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+        this.points = new long[size];
+        this.owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = order[i] / this.virtualNodes;
+        }
+    }
+
+    public String shardFor(long userId) {
+        long hash = mix(userId);
+        int index = Arrays.binarySearch(points, hash);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return shardIds.get(owners[index == points.length ? 0 : index]);
+    }
+
+    public ConsistentHashRing withShard(String shardId) {
+        if (shardIds.contains(shardId)) {
+            throw new IllegalArgumentException("이미 있는 shard 입니다: " + shardId);
+        }
+        List<String> added = new ArrayList<>(shardIds);
+        added.add(shardId);
+        return new ConsistentHashRing(added, virtualNodes);
+    }
+
+    public List<String> shardIds() {
+        return shardIds;
+    }
+
+    public int virtualNodes() {
+        return virtualNodes;
+    }
+
+    private static long seedOf(String shardId) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < shardId.length(); i++) {
+            h = (h ^ shardId.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+}
@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point.partition;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 네트워크 대신 같은 JVM 의 {@link PointShard} 로 요청을 넘기는 transport
+ * 요청은 해당 shard 의 전용 executor 에서 실행된다.
+ */
+public class LoopbackShardTransport implements PointShardTransport {
+
+    private final Map<String, PointShard> shards = new ConcurrentHashMap<>();
+
+    public void register(PointShard shard) {
+        if (shards.putIfAbsent(shard.id(), shard) != null) {
+            throw new IllegalArgumentException("이미 등록된 shard 입니다: " + shard.id());
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> send(String shardId, PointShardRequest<T> request) {
+        PointShard shard = shards.get(shardId);
+        if (shard == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("알 수 없는 shard 입니다: " + shardId));
+        }
+        return shard.submit(request);
+    }
+
+    public Map<String, PointShard> shards() {
+        return Map.copyOf(shards);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (PointShard shard : shards.values()) {
+            shard.close();
+        }
+    }
+}
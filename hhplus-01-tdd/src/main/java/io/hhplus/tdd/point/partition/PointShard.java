@@ -0,0 +1,154 @@
+package io.hhplus.tdd.point.partition;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import io.hhplus.tdd.point.handler.PointTransferHandler;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.partition.PointShardRequest.Charge;
+import io.hhplus.tdd.point.partition.PointShardRequest.CountUsers;
+import io.hhplus.tdd.point.partition.PointShardRequest.Export;
+import io.hhplus.tdd.point.partition.PointShardRequest.GetHistory;
+import io.hhplus.tdd.point.partition.PointShardRequest.GetHistoryPage;
+import io.hhplus.tdd.point.partition.PointShardRequest.GetPoint;
+import io.hhplus.tdd.point.partition.PointShardRequest.GetSummary;
+import io.hhplus.tdd.point.partition.PointShardRequest.Import;
+import io.hhplus.tdd.point.partition.PointShardRequest.Transfer;
+import io.hhplus.tdd.point.partition.PointShardRequest.Use;
+import io.hhplus.tdd.point.repository.PendingHistory;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * shard 하나가 가진 잔액 저장소, 내역 저장소, 유저 락과 전용 executor
+ * 요청은 모두 이 shard 의 executor 에서 {@link PointService} 로 처리되므로, shard 끼리는 저장소와 락, 스레드를 공유하지 않는다.
+ */
+public class PointShard implements AutoCloseable {
+
+    private final String id;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointHistorySummary pointHistorySummary;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointService pointService;
+    private final ExecutorService executor;
+
+    public PointShard(
+            String id,
+            UserPointRepository userPointRepository,
+            PointHistoryRepository pointHistoryRepository,
+            LockManager lockManager,
+            BalanceCache balanceCache,
+            PointHistorySummary pointHistorySummary,
+            PointHistoryWriter pointHistoryWriter,
+            PointMetrics pointMetrics,
+            int threads
+    ) {
+        this.id = id;
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.pointHistorySummary = pointHistorySummary;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointService = new PointService(pointHistoryRepository, userPointRepository, lockManager, balanceCache,
+                pointHistoryWriter, pointHistorySummary, pointMetrics,
+                new PointTransferHandler(userPointRepository, lockManager, balanceCache, pointHistoryWriter,
+                        PointExpiry.disabled()),
+                PointExpiry.disabled());
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads),
+                Thread.ofPlatform().name("point-" + id + "-", 0).factory());
+    }
+
+    public String id() {
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> submit(PointShardRequest<T> request) {
+        return CompletableFuture.supplyAsync(() -> (T) handle(request), executor);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        pointHistoryWriter.close();
+        if (pointHistoryRepository instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (InterruptedException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private Object handle(PointShardRequest<?> request) {
+        return switch (request) {
+            case GetPoint r -> pointService.getPoint(r.userId());
+            case Charge r -> pointService.charge(r.userId(), r.amount());
+            case Use r -> pointService.use(r.userId(), r.amount());
+            case Transfer r -> pointService.transfer(r.fromUserId(), r.toUserId(), r.amount());
+            case GetHistory r -> pointService.getHistory(r.userId());
+            case GetHistoryPage r -> pointService.getHistory(r.userId(), r.query());
+            case GetSummary r -> pointService.getSummary(r.userId(), r.date());
+            case Export r -> export(new ConsistentHashRing(r.previousShardIds(), r.virtualNodes()),
+                    new ConsistentHashRing(r.shardIds(), r.virtualNodes()));
+            case Import r -> importUsers(r.export());
+            case CountUsers r -> countUsers(new ConsistentHashRing(r.shardIds(), r.virtualNodes()));
+        };
+    }
+
+    /**
+     * 새 ring 에서 다른 shard 로 가게 된 유저의 잔액과 내역을 모은다.
+     * 저장소에 삭제가 없어 옮겨 간 유저의 데이터는 이 shard 에 남으므로, 이전 ring 에서도 이 shard 에 속했던 유저만 꺼낸다.
+     */
+    private PointShardExport export(ConsistentHashRing previous, ConsistentHashRing ring) {
+        pointHistoryWriter.awaitVisible();
+        List<UserPoint> userPoints = new ArrayList<>();
+        userPointRepository.forEach(userPoint -> {
+            if (id.equals(previous.shardFor(userPoint.id())) && !id.equals(ring.shardFor(userPoint.id()))) {
+                userPoints.add(userPoint);
+            }
+        });
+        List<PointHistory> histories = new ArrayList<>();
+        for (UserPoint userPoint : userPoints) {
+            histories.addAll(pointHistoryRepository.selectAllByUserId(userPoint.id()));
+        }
+        return new PointShardExport(userPoints, histories);
+    }
+
+    private long countUsers(ConsistentHashRing ring) {
+        long[] count = {0L};
+        userPointRepository.forEach(userPoint -> {
+            if (id.equals(ring.shardFor(userPoint.id()))) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * 옮겨 온 내역은 이 shard 에서 새 id 를 받는다.
+     */
+    private int importUsers(PointShardExport export) {
+        export.userPoints().forEach(userPointRepository::restore);
+        List<PendingHistory> histories = export.histories().stream()
+                .map(history -> new PendingHistory(history.userId(), history.amount(), history.type(), history.updateMillis()))
+                .toList();
+        pointHistorySummary.applyAll(histories, () -> pointHistoryRepository.insertAll(histories));
+        return export.userPoints().size();
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.partition;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.List;
+
+/**
+ * shard 사이에 옮기는 유저들의 잔액과 내역
+ */
+public record PointShardExport(
+        List<UserPoint> userPoints,
+        List<PointHistory> histories
+) {
+}
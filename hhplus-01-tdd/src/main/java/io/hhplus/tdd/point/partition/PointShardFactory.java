@@ -0,0 +1,133 @@
+package io.hhplus.tdd.point.partition;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryTableRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointTableRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * point.engine=partitioned 일 때 shard 하나에 필요한 저장소, 락, 캐시, 내역 기록기를 새로 만든다.
+ * 저장소 종류와 설정은 단일 엔진과 같은 point.storage.*, point.lock.*, point.cache.*, point.history.* 값을 shard 마다 그대로 쓴다.
+ * mmap 내역 로그는 {point.storage.mmap.directory}/{shardId} 에 shard 별로 만든다.
+ * shard 의 잔액 저장소는 WAL 로 감싸지 않으므로 point.durability.enabled=true 와 함께 쓰면 시작할 때 거절한다.
+ */
+@Component
+@ConditionalOnProperty(name = "point.engine", havingValue = "partitioned")
+public class PointShardFactory {
+
+    private final PointMetrics pointMetrics;
+    private final String userPointStorage;
+    private final int stripedStripes;
+    private final long stripedExpectedUsers;
+    private final String historyStorage;
+    private final String mmapDirectory;
+    private final int mmapSegmentRecords;
+    private final boolean mmapForceOnWrite;
+    private final int columnarChunkRows;
+    private final int lockStripes;
+    private final boolean cacheEnabled;
+    private final int cacheCapacity;
+    private final int cacheSegments;
+    private final String historyWriteMode;
+    private final int historyGroupSize;
+    private final int historyQueueCapacity;
+    private final String summaryZone;
+    private final int summaryRetentionDays;
+    private final int summaryRetentionMonths;
+    private final int threadsPerShard;
+
+    public PointShardFactory(
+            PointMetrics pointMetrics,
+            @Value("${point.storage.user-point:table}") String userPointStorage,
+            @Value("${point.storage.striped.stripes:64}") int stripedStripes,
+            @Value("${point.storage.striped.expected-users:1048576}") long stripedExpectedUsers,
+            @Value("${point.storage.history:table}") String historyStorage,
+            @Value("${point.storage.mmap.directory:./data/history}") String mmapDirectory,
+            @Value("${point.storage.mmap.segment-records:1048576}") int mmapSegmentRecords,
+            @Value("${point.storage.mmap.force-on-write:false}") boolean mmapForceOnWrite,
+            @Value("${point.storage.columnar.chunk-rows:65536}") int columnarChunkRows,
+            @Value("${point.lock.stripes:1024}") int lockStripes,
+            @Value("${point.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${point.cache.capacity:100000}") int cacheCapacity,
+            @Value("${point.cache.segments:16}") int cacheSegments,
+            @Value("${point.history.write-mode:sync}") String historyWriteMode,
+            @Value("${point.history.group-size:512}") int historyGroupSize,
+            @Value("${point.history.queue-capacity:65536}") int historyQueueCapacity,
+            @Value("${point.summary.zone:Asia/Seoul}") String summaryZone,
+            @Value("${point.summary.retention-days:92}") int summaryRetentionDays,
+            @Value("${point.summary.retention-months:24}") int summaryRetentionMonths,
+            @Value("${point.partition.threads-per-shard:16}") int threadsPerShard,
+            @Value("${point.durability.enabled:false}") boolean durabilityEnabled
+    ) {
+        if (durabilityEnabled) {
+            // shard 마다 저장소를 새로 만들므로 DurableUserPointRepository 를 거치지 않아 재시작하면 잔액이 사라진다.
+            throw new IllegalStateException("point.durability.enabled 는 point.engine=partitioned 에서 사용할 수 없습니다.");
+        }
+        this.pointMetrics = pointMetrics;
+        this.userPointStorage = userPointStorage;
+        this.stripedStripes = stripedStripes;
+        this.stripedExpectedUsers = stripedExpectedUsers;
+        this.historyStorage = historyStorage;
+        this.mmapDirectory = mmapDirectory;
+        this.mmapSegmentRecords = mmapSegmentRecords;
+        this.mmapForceOnWrite = mmapForceOnWrite;
+        this.columnarChunkRows = columnarChunkRows;
+        this.lockStripes = lockStripes;
+        this.cacheEnabled = cacheEnabled;
+        this.cacheCapacity = cacheCapacity;
+        this.cacheSegments = cacheSegments;
+        this.historyWriteMode = historyWriteMode;
+        this.historyGroupSize = historyGroupSize;
+        this.historyQueueCapacity = historyQueueCapacity;
+        this.summaryZone = summaryZone;
+        this.summaryRetentionDays = summaryRetentionDays;
+        this.summaryRetentionMonths = summaryRetentionMonths;
+        this.threadsPerShard = threadsPerShard;
+    }
+
+    public PointShard create(String shardId) {
+        UserPointRepository userPointRepository = switch (userPointStorage) {
+            case "table" -> new UserPointTableRepository(new UserPointTable());
+            case "striped" -> new StripedUserPointStore(stripedStripes, stripedExpectedUsers);
+            default -> throw new IllegalArgumentException("point.storage.user-point 값이 올바르지 않습니다: " + userPointStorage);
+        };
+        PointHistoryRepository pointHistoryRepository = switch (historyStorage) {
+            case "table" -> new PointHistoryTableRepository(new PointHistoryTable());
+            case "mmap" -> new MappedPointHistoryLog(Path.of(mmapDirectory, shardId).toString(), mmapSegmentRecords,
+                    mmapForceOnWrite);
+            case "columnar" -> new ColumnarPointHistoryStore(columnarChunkRows);
+            default -> throw new IllegalArgumentException("point.storage.history 값이 올바르지 않습니다: " + historyStorage);
+        };
+        PointHistorySummary pointHistorySummary = new PointHistorySummary(pointHistoryRepository, summaryZone,
+                summaryRetentionDays, summaryRetentionMonths);
+        PointHistoryWriter pointHistoryWriter = new PointHistoryWriter(pointHistoryRepository, pointHistorySummary,
+                historyWriteMode, historyGroupSize, historyQueueCapacity);
+        LockManager lockManager = new LockManager(lockStripes);
+        return new PointShard(
+                shardId,
+                userPointRepository,
+                pointHistoryRepository,
+                lockManager,
+                new BalanceCache(lockManager, cacheEnabled, cacheCapacity, cacheSegments),
+                pointHistorySummary,
+                pointHistoryWriter,
+                pointMetrics,
+                threadsPerShard
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.partition;
+
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * shard 로 보내는 요청. T 는 응답 타입이다.
+ * 값만 담은 record 이므로 다른 노드로 보낼 때도 그대로 직렬화할 수 있다.
+ */
+public sealed interface PointShardRequest<T> {
+
+    record GetPoint(long userId) implements PointShardRequest<UserPoint> {
+    }
+
+    record Charge(long userId, long amount) implements PointShardRequest<UserPoint> {
+    }
+
+    record Use(long userId, long amount) implements PointShardRequest<UserPoint> {
+    }
+
+    /**
+     * 두 유저가 모두 이 shard 에 있을 때의 송금
+     */
+    record Transfer(long fromUserId, long toUserId, long amount) implements PointShardRequest<PointTransferResult> {
+    }
+
+    record GetHistory(long userId) implements PointShardRequest<List<PointHistory>> {
+    }
+
+    record GetHistoryPage(long userId, HistoryQuery query) implements PointShardRequest<HistoryPage> {
+    }
+
+    record GetSummary(long userId, LocalDate date) implements PointShardRequest<PointSummary> {
+    }
+
+    /**
+     * 이전 ring 에서 이 shard 에 속했다가 새 ring 에서 다른 shard 로 가게 된 유저의 잔액과 내역을 꺼낸다.
+     */
+    record Export(List<String> previousShardIds, List<String> shardIds, int virtualNodes)
+            implements PointShardRequest<PointShardExport> {
+    }
+
+    /**
+     * 다른 shard 에서 꺼낸 잔액과 내역을 이 shard 에 넣는다. 넣은 유저 수를 반환한다.
+     */
+    record Import(PointShardExport export) implements PointShardRequest<Integer> {
+    }
+
+    /**
+     * ring 에서 이 shard 에 속한 유저 수를 센다.
+     */
+    record CountUsers(List<String> shardIds, int virtualNodes) implements PointShardRequest<Long> {
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.partition;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * shard id 로 요청을 보내는 경로
+ * 같은 JVM 의 shard 는 {@link LoopbackShardTransport} 가 처리하고, 다른 노드의 shard 는 같은 요청을 네트워크로 보내는 구현으로 바꿔 끼운다.
+ */
+public interface PointShardTransport extends AutoCloseable {
+
+    <T> CompletableFuture<T> send(String shardId, PointShardRequest<T> request);
+
+    @Override
+    default void close() throws InterruptedException {
+    }
+}
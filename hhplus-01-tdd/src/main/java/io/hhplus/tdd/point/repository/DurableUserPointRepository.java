@@ -0,0 +1,186 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointSnapshotFile;
+import io.hhplus.tdd.database.PointWriteAheadLog;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.handler.LockManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 잔액 저장소에 write-ahead log 와 스냅샷을 더해 재시작 후에도 잔액을 유지한다.
+ * - WAL 에 먼저 기록한 뒤 저장소에 반영한다. (fsync 는 point.durability.fsync 설정에 따른다)
+ *   WAL 기록이 실패하면 저장소는 바뀌지 않고, 저장소 반영이 실패하면 현재 잔액을 다시 기록해 WAL 을 되돌린다.
+ * - WAL 레코드에는 version 이 없고 복구 시 마지막 레코드가 남으므로, 기록과 반영을 유저 락 안에서 함께 해
+ *   유저별 WAL 순서와 반영 순서를 같게 한다. (lock, batch 엔진은 이미 잡고 있는 락을 다시 잡는다)
+ * - snapshot-interval-seconds 마다 WAL 세그먼트를 넘기고 전체 잔액 스냅샷을 남긴 뒤, 스냅샷에 반영된 세그먼트를 지운다.
+ *   세그먼트를 넘기는 동안에는 기록과 반영을 막아, 넘긴 lsn 이하의 레코드가 모두 저장소에 반영된 상태로 스냅샷을 뜬다.
+ * - 기동 시 최신 스냅샷을 읽고, 스냅샷 이후의 WAL 만 다시 적용한다.
+ * 스냅샷은 쓰기를 멈추지 않고 뜨므로 스냅샷 시작 이후의 변경이 섞일 수 있지만,
+ * WAL 레코드는 변경 후 잔액이라 스냅샷 lsn 이후 레코드를 다시 적용하면 최종 잔액이 같아진다.
+ */
+@Slf4j
+@Primary
+@Repository
+@ConditionalOnProperty(name = "point.durability.enabled", havingValue = "true")
+public class DurableUserPointRepository implements UserPointRepository, AutoCloseable {
+
+    private final UserPointRepository delegate;
+    private final LockManager lockManager;
+    private final Path directory;
+    private final PointWriteAheadLog wal;
+    /**
+     * 기록과 반영 사이에는 read lock 을, 세그먼트를 넘길 때는 write lock 을 잡는다.
+     */
+    private final ReentrantReadWriteLock rolloverLock = new ReentrantReadWriteLock();
+    private final Thread snapshotter;
+
+    public DurableUserPointRepository(
+            @Qualifier(UserPointRepository.STORE) UserPointRepository delegate,
+            LockManager lockManager,
+            @Value("${point.durability.directory:./data/wal}") String directory,
+            @Value("${point.durability.fsync:group}") String fsync,
+            @Value("${point.durability.fsync-interval-millis:10}") long fsyncIntervalMillis,
+            @Value("${point.durability.segment-bytes:67108864}") long segmentBytes,
+            @Value("${point.durability.snapshot-interval-seconds:60}") long snapshotIntervalSeconds
+    ) {
+        this.delegate = delegate;
+        this.lockManager = lockManager;
+        this.directory = Paths.get(directory);
+        this.wal = new PointWriteAheadLog(this.directory, fsync, fsyncIntervalMillis, segmentBytes);
+        recover();
+        if (snapshotIntervalSeconds > 0) {
+            long intervalNanos = TimeUnit.SECONDS.toNanos(snapshotIntervalSeconds);
+            this.snapshotter = Thread.ofPlatform().name("point-snapshot").daemon().start(() -> snapshotLoop(intervalNanos));
+        } else {
+            this.snapshotter = null;
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        return delegate.selectById(id);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        ReentrantLock lock = lockManager.getLock(id);
+        lock.lock();
+        try {
+            return logAndApply(id, amount, () -> delegate.insertOrUpdate(id, amount));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * version 이 다르면 WAL 에 남기지 않고 null 을 반환한다. 같으면 유저 락 안에서 기록한 뒤 반영한다.
+     */
+    @Override
+    public UserPoint compareAndSet(long id, long expectedVersion, long amount) {
+        ReentrantLock lock = lockManager.getLock(id);
+        lock.lock();
+        try {
+            if (delegate.selectById(id).version() != expectedVersion) {
+                return null;
+            }
+            return logAndApply(id, amount, () -> delegate.compareAndSet(id, expectedVersion, amount));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<UserPoint> consumer) {
+        delegate.forEach(consumer);
+    }
+
+    @Override
+    public void restore(UserPoint userPoint) {
+        delegate.restore(userPoint);
+    }
+
+    /**
+     * WAL 세그먼트를 넘긴 시점의 lsn 으로 스냅샷을 남기고, 그 이하의 세그먼트를 지운다.
+     * 세그먼트는 기록과 반영 사이에 있는 요청이 없을 때 넘기므로, lsn 이하의 변경은 모두 저장소에 반영되어 스냅샷에 포함된다.
+     */
+    public long snapshot() {
+        long lsn;
+        rolloverLock.writeLock().lock();
+        try {
+            lsn = wal.rollover();
+        } finally {
+            rolloverLock.writeLock().unlock();
+        }
+        long startedAt = System.nanoTime();
+        Path file = PointSnapshotFile.write(directory, lsn, delegate::forEach);
+        wal.deleteUpTo(lsn);
+        log.info("잔액 스냅샷 저장 {} ({} ms)", file, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return lsn;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        if (snapshotter != null) {
+            snapshotter.interrupt();
+            snapshotter.join();
+        }
+        wal.close();
+    }
+
+    /**
+     * 유저 락을 잡은 상태에서 호출된다. 반영하지 못했으면(예외 또는 null) 현재 잔액을 다시 기록해 앞의 레코드를 덮는다.
+     */
+    private UserPoint logAndApply(long id, long amount, Supplier<UserPoint> apply) {
+        rolloverLock.readLock().lock();
+        try {
+            wal.append(new UserPoint(id, amount, System.currentTimeMillis()));
+            UserPoint userPoint;
+            try {
+                userPoint = apply.get();
+            } catch (RuntimeException e) {
+                wal.append(delegate.selectById(id));
+                throw e;
+            }
+            if (userPoint == null) {
+                wal.append(delegate.selectById(id));
+            }
+            return userPoint;
+        } finally {
+            rolloverLock.readLock().unlock();
+        }
+    }
+
+    private void recover() {
+        long startedAt = System.nanoTime();
+        long snapshotLsn = PointSnapshotFile.load(directory, delegate::restore);
+        long lastLsn = wal.replay(snapshotLsn, delegate::restore);
+        log.info("잔액 복구 완료 snapshot lsn: {}, last lsn: {} ({} ms)",
+                snapshotLsn, lastLsn, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private void snapshotLoop(long intervalNanos) {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(intervalNanos);
+                snapshot();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("잔액 스냅샷 실패", e);
+            }
+        }
+    }
+}
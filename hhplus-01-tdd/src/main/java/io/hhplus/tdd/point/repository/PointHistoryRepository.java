@@ -0,0 +1,146 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.HistoryChanges;
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * 포인트 충전/이용 내역 저장소
+ * - point.storage.history=table : {@link PointHistoryTableRepository} (기본)
+ * - point.storage.history=mmap : {@link io.hhplus.tdd.database.MappedPointHistoryLog}
+ * - point.storage.history=columnar : {@link io.hhplus.tdd.database.ColumnarPointHistoryStore}
+ */
+public interface PointHistoryRepository {
+
+    PointHistory insert(long userId, long amount, TransactionType type, long updateMillis);
+
+    List<PointHistory> selectAllByUserId(long userId);
+
+    /**
+     * 저장된 모든 내역을 하나씩 전달한다. 집계를 다시 만들 때 사용한다.
+     */
+    void forEach(Consumer<PointHistory> consumer);
+
+    /**
+     * 지금까지 기록된 내역 중 가장 큰 id. 구간을 나눠 읽을 때 끝을 정하는 데 사용한다.
+     */
+    default long lastId() {
+        long[] last = {0L};
+        forEach(history -> last[0] = Math.max(last[0], history.id()));
+        return last[0];
+    }
+
+    /**
+     * id 가 fromId 이상 toId 미만인 내역을 id 순서대로 하나씩 전달한다. 대조 작업이 구간을 나눠 여러 스레드에서 동시에 호출한다.
+     * {@link PointHistory} 를 만들지 않고 필드를 그대로 넘긴다. 기본 구현은 전체 내역을 읽어 거르므로, 저장소마다 해당 구간만 읽도록 재정의한다.
+     */
+    default void forEachInRange(long fromId, long toId, RowVisitor visitor) {
+        forEach(history -> {
+            if (history.id() >= fromId && history.id() < toId) {
+                visitor.visit(history.id(), history.userId(), history.amount(), history.type());
+            }
+        });
+    }
+
+    /**
+     * 여러 내역을 순서대로 한 번에 저장한다. 저장소마다 한 번의 커밋으로 처리하도록 재정의한다.
+     */
+    default void insertAll(List<PendingHistory> histories) {
+        for (PendingHistory history : histories) {
+            insert(history.userId(), history.amount(), history.type(), history.updateMillis());
+        }
+    }
+
+    /**
+     * 조건에 맞는 내역을 id 순서대로 하나씩 전달한다. visitor 가 false 를 반환하면 중단한다.
+     * 기본 구현은 전체 내역을 조회한 뒤 거르므로, 저장소마다 필요한 내역만 읽도록 재정의한다.
+     */
+    default void forEachByUserId(long userId, HistoryQuery query, Predicate<PointHistory> visitor) {
+        for (PointHistory history : selectAllByUserId(userId)) {
+            if (query.matches(history) && !visitor.test(history)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * id 가 afterId 보다 큰 전체 유저의 내역을 id 순서대로 하나씩 전달한다. visitor 가 false 를 반환하면 중단한다.
+     * 전달한 id 보다 작은 id 의 내역이 나중에 보이면 안 되므로, 비어 있는 id 를 만나면 그 앞까지만 전달한다.
+     * 기본 구현은 전체 내역을 읽어 거른 뒤 정렬하므로, 저장소마다 afterId 이후만 읽도록 재정의한다.
+     */
+    default void forEachAfter(long afterId, Predicate<PointHistory> visitor) {
+        List<PointHistory> changes = new ArrayList<>();
+        forEach(history -> {
+            if (history.id() > afterId) {
+                changes.add(history);
+            }
+        });
+        changes.sort(Comparator.comparingLong(PointHistory::id));
+        long expected = afterId + 1;
+        for (PointHistory history : changes) {
+            if (history.id() < expected) {
+                continue;
+            }
+            if (history.id() > expected || !visitor.test(history)) {
+                return;
+            }
+            expected++;
+        }
+    }
+
+    /**
+     * id 가 afterId 보다 큰 전체 유저의 내역을 최대 limit 개까지 id 순서대로 조회한다.
+     */
+    default HistoryChanges selectAfter(long afterId, int limit) {
+        List<PointHistory> items = new ArrayList<>(Math.min(limit, 1024));
+        boolean[] hasMore = {false};
+        forEachAfter(afterId, history -> {
+            if (items.size() == limit) {
+                hasMore[0] = true;
+                return false;
+            }
+            items.add(history);
+            return true;
+        });
+        long nextCursor = items.isEmpty() ? afterId : items.get(items.size() - 1).id();
+        return new HistoryChanges(items, nextCursor, hasMore[0]);
+    }
+
+    default HistoryPage selectPage(long userId, HistoryQuery query) {
+        int limit = query.limit();
+        List<PointHistory> items = new ArrayList<>(Math.min(limit, 64));
+        boolean[] hasMore = {false};
+        forEachByUserId(userId, query, history -> {
+            if (items.size() == limit) {
+                hasMore[0] = true;
+                return false;
+            }
+            items.add(history);
+            return true;
+        });
+        Long nextCursor = hasMore[0] ? items.get(items.size() - 1).id() : null;
+        return new HistoryPage(items, nextCursor);
+    }
+
+    default void stream(long userId, HistoryQuery query, Consumer<PointHistory> consumer) {
+        int limit = query.limit();
+        int[] count = {0};
+        forEachByUserId(userId, query, history -> {
+            consumer.accept(history);
+            return ++count[0] < limit;
+        });
+    }
+
+    @FunctionalInterface
+    interface RowVisitor {
+        void visit(long id, long userId, long amount, TransactionType type);
+    }
+}
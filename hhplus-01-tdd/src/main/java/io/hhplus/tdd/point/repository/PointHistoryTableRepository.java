@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * {@link PointHistoryTable} 을 그대로 사용하는 저장소
+ * 테이블은 전체 조회 API 가 없으므로, forEach 를 위해 내역을 남긴 유저 id 를 따로 기억한다.
+ * 변경분 조회(forEachAfter)를 위해 테이블이 돌려준 내역을 id 위치에 참조로 한 번 더 담는다. (행당 참조 1개)
+ * 테이블 저장과 id 위치에 담는 일은 insertLock 안에서 함께 하므로 id 는 빈 곳 없이 순서대로 채워지고, visibleId 까지는 모두 채워져 있다.
+ * (테이블 자체도 ArrayList 와 cursor++ 로 id 를 정해 동시에 저장하면 안전하지 않으므로, 테이블 저장은 이 락으로 한 번에 하나씩만 한다)
+ * 이 저장소를 거치지 않고 테이블에 직접 넣은 내역의 id 는 비어 있으며, 변경분 조회에서 전달하지 않는다.
+ */
+@Repository
+@ConditionalOnProperty(name = "point.storage.history", havingValue = "table", matchIfMissing = true)
+@RequiredArgsConstructor
+public class PointHistoryTableRepository implements PointHistoryRepository {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private final PointHistoryTable pointHistoryTable;
+    private final Set<Long> userIds = ConcurrentHashMap.newKeySet();
+    private final List<AtomicReferenceArray<PointHistory>> byId = new CopyOnWriteArrayList<>();
+    private final ReentrantLock insertLock = new ReentrantLock();
+    private volatile long visibleId;
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        insertLock.lock();
+        try {
+            PointHistory history = pointHistoryTable.insert(userId, amount, type, updateMillis);
+            userIds.add(userId);
+            index(history);
+            return history;
+        } finally {
+            insertLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return pointHistoryTable.selectAllByUserId(userId);
+    }
+
+    @Override
+    public void forEach(Consumer<PointHistory> consumer) {
+        for (Long userId : userIds) {
+            pointHistoryTable.selectAllByUserId(userId).forEach(consumer);
+        }
+    }
+
+    /**
+     * afterId 다음 id 부터 visibleId 까지 읽는다. 테이블에 직접 넣어 비어 있는 id 는 전달하지 않는다.
+     */
+    @Override
+    public void forEachAfter(long afterId, Predicate<PointHistory> visitor) {
+        long last = lastId();
+        for (long id = Math.max(afterId, 0L) + 1; id <= last; id++) {
+            PointHistory history = byId.get(chunkOf(id)).get(offsetOf(id));
+            if (history != null && !visitor.test(history)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public long lastId() {
+        return visibleId;
+    }
+
+    /**
+     * 테이블을 거치지 않고 id 위치에 담아 둔 참조를 visibleId 까지 읽는다.
+     */
+    @Override
+    public void forEachInRange(long fromId, long toId, RowVisitor visitor) {
+        long last = Math.min(toId - 1, lastId());
+        for (long id = Math.max(fromId, 1L); id <= last; id++) {
+            PointHistory history = byId.get(chunkOf(id)).get(offsetOf(id));
+            if (history != null) {
+                visitor.visit(history.id(), history.userId(), history.amount(), history.type());
+            }
+        }
+    }
+
+    /**
+     * insertLock 을 잡은 상태에서 호출된다. 담은 뒤에 visibleId 를 올려, 읽는 쪽이 visibleId 까지는 참조를 볼 수 있게 한다.
+     */
+    private void index(PointHistory history) {
+        long id = history.id();
+        while (byId.size() <= chunkOf(id)) {
+            byId.add(new AtomicReferenceArray<>(CHUNK_SIZE));
+        }
+        byId.get(chunkOf(id)).set(offsetOf(id), history);
+        visibleId = id;
+    }
+
+    private static int chunkOf(long id) {
+        return (int) ((id - 1) / CHUNK_SIZE);
+    }
+
+    private static int offsetOf(long id) {
+        return (int) ((id - 1) % CHUNK_SIZE);
+    }
+}
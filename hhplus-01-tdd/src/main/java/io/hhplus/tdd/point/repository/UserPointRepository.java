@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.function.Consumer;
+
+/**
+ * 유저 포인트 잔액 저장소
+ * - point.storage.user-point=table : {@link UserPointTableRepository} (기본)
+ * - point.storage.user-point=striped : {@link io.hhplus.tdd.database.StripedUserPointStore}
+ * - point.durability.enabled=true 이면 위 저장소를 {@link DurableUserPointRepository} 가 감싼다.
+ */
+public interface UserPointRepository {
+
+    /**
+     * 실제 잔액 저장소 빈의 qualifier. 감싸는 저장소가 원본 저장소를 주입받을 때 사용한다.
+     */
+    String STORE = "userPointStore";
+
+    UserPoint selectById(long id);
+
+    UserPoint insertOrUpdate(long id, long amount);
+
+    /**
+     * 저장된 version 이 expectedVersion 과 같을 때만 잔액을 바꾸고 새 잔액을 반환한다.
+     * 그 사이 다른 요청이 잔액을 바꿨다면 아무것도 바꾸지 않고 null 을 반환한다. (저장된 적 없는 유저의 version 은 0)
+     */
+    UserPoint compareAndSet(long id, long expectedVersion, long amount);
+
+    /**
+     * 저장된 모든 잔액을 순회한다. (스냅샷 용)
+     */
+    void forEach(Consumer<UserPoint> consumer);
+
+    /**
+     * 복구 시 잔액을 그대로 되살린다. 수정 시각을 보존할 수 없는 저장소는 현재 시각으로 저장한다.
+     */
+    default void restore(UserPoint userPoint) {
+        insertOrUpdate(userPoint.id(), userPoint.point());
+    }
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * {@link UserPointTable} 을 그대로 사용하는 저장소
+ * UserPointTable 은 전체 조회 API 와 version 이 없으므로, 유저별 변경 순번(sequence)을 따로 기록해 둔다.
+ * - 쓰기는 그 유저의 락을 잡고 sequence 를 홀수로 올린 뒤 저장하고, 다시 짝수로 올린다. version = sequence / 2
+ * - 조회는 락 없이 읽고 앞뒤 sequence 가 같을 때만 그대로 반환한다. 같은 유저의 쓰기와 겹쳤다면 그 유저의 락을 잡고 다시 읽는다.
+ * 락은 sequence 와 함께 유저마다 하나씩 두므로, 느린 저장(UserPointTable)을 기다리는 동안 다른 유저의 읽기/쓰기는 막히지 않는다.
+ */
+@Repository
+@ConditionalOnProperty(name = "point.storage.user-point", havingValue = "table", matchIfMissing = true)
+@Qualifier(UserPointRepository.STORE)
+public class UserPointTableRepository implements UserPointRepository {
+
+    private final UserPointTable userPointTable;
+    private final ConcurrentHashMap<Long, Sequence> sequences = new ConcurrentHashMap<>();
+
+    public UserPointTableRepository(UserPointTable userPointTable) {
+        this.userPointTable = userPointTable;
+    }
+
+    @Override
+    public UserPoint selectById(long id) {
+        Sequence sequence = sequences.get(id);
+        long before = sequence == null ? 0L : sequence.value;
+        if ((before & 1) == 0) {
+            UserPoint userPoint = userPointTable.selectById(id);
+            Sequence after = sequence != null ? sequence : sequences.get(id);
+            if ((after == null ? 0L : after.value) == before) {
+                return withVersion(userPoint, before);
+            }
+        }
+        Sequence locked = sequenceOf(id);
+        locked.lock.lock();
+        try {
+            return withVersion(userPointTable.selectById(id), locked.value);
+        } finally {
+            locked.lock.unlock();
+        }
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        Sequence sequence = sequenceOf(id);
+        sequence.lock.lock();
+        try {
+            return write(id, amount, sequence);
+        } finally {
+            sequence.lock.unlock();
+        }
+    }
+
+    @Override
+    public UserPoint compareAndSet(long id, long expectedVersion, long amount) {
+        Sequence sequence = sequenceOf(id);
+        sequence.lock.lock();
+        try {
+            if (sequence.value >>> 1 != expectedVersion) {
+                return null;
+            }
+            return write(id, amount, sequence);
+        } finally {
+            sequence.lock.unlock();
+        }
+    }
+
+    @Override
+    public void forEach(Consumer<UserPoint> consumer) {
+        for (Long id : sequences.keySet()) {
+            consumer.accept(selectById(id));
+        }
+    }
+
+    /**
+     * 유저 락을 잡은 상태에서 호출된다.
+     */
+    private UserPoint write(long id, long amount, Sequence sequence) {
+        long current = sequence.value;
+        sequence.value = current + 1;
+        try {
+            return withVersion(userPointTable.insertOrUpdate(id, amount), current + 2);
+        } finally {
+            sequence.value = current + 2;
+        }
+    }
+
+    private Sequence sequenceOf(long id) {
+        return sequences.computeIfAbsent(id, key -> new Sequence());
+    }
+
+    private static UserPoint withVersion(UserPoint userPoint, long sequence) {
+        return new UserPoint(userPoint.id(), userPoint.point(), userPoint.updateMillis(), sequence >>> 1);
+    }
+
+    /**
+     * 유저 하나의 변경 순번과 쓰기 락. value 는 락을 잡은 스레드만 바꾼다.
+     */
+    private static final class Sequence {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long value;
+    }
+}
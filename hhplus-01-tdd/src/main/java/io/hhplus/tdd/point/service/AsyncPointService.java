@@ -0,0 +1,151 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.handler.UserTaskSequencer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 스레드를 막지 않는 포인트 서비스 (/async/point)
+ * - 저장소 지연은 sleep 대신 point.async.latency.* 범위의 임의 시간 뒤에 완료되는 타이머로 흉내 낸다. (0 이면 지연 없음)
+ * - 같은 유저의 충전/사용은 {@link UserTaskSequencer} 로 도착 순서대로 하나씩 처리하고, 다른 유저의 요청은 기다리지 않는다.
+ * - 조회와 잔액 변경은 지금 point.engine 의 {@link IPointService} 에 맡기므로, 동기 API 와 섞여 들어와도 같은 락/파티션/저장소로
+ *   처리되고 만료 lot 기록과 메트릭도 동기 API 와 같다.
+ * - 타이머는 point.async.threads 개의 스레드에서 돌고, 서비스 호출은 pointExecutor 에서 실행한다.
+ *   UserPointTable/PointHistoryTable 처럼 sleep 하는 저장소는 pointExecutor 스레드를 점유하므로
+ *   point.storage.user-point=striped, point.storage.history=mmap(또는 columnar)와 함께 쓴다. (기본값은 둘 다 table)
+ */
+@Service
+public class AsyncPointService implements IAsyncPointService, AutoCloseable {
+
+    private final IPointService pointService;
+    private final Executor serviceExecutor;
+    private final long selectLatencyMillis;
+    private final long updateLatencyMillis;
+    private final long historyLatencyMillis;
+    private final ScheduledExecutorService scheduler;
+    private final UserTaskSequencer sequencer;
+    private final AtomicLong inFlight = new AtomicLong();
+
+    @Autowired
+    public AsyncPointService(
+            IPointService pointService,
+            ExecutorService pointExecutor,
+            @Value("${point.async.threads:4}") int threads,
+            @Value("${point.async.latency.select-millis:0}") long selectLatencyMillis,
+            @Value("${point.async.latency.update-millis:0}") long updateLatencyMillis,
+            @Value("${point.async.latency.history-millis:0}") long historyLatencyMillis
+    ) {
+        this(pointService, (Executor) pointExecutor, threads, selectLatencyMillis, updateLatencyMillis,
+                historyLatencyMillis);
+    }
+
+    public AsyncPointService(IPointService pointService, Executor serviceExecutor, int threads,
+                             long selectLatencyMillis, long updateLatencyMillis, long historyLatencyMillis) {
+        this.pointService = pointService;
+        this.serviceExecutor = serviceExecutor;
+        this.selectLatencyMillis = selectLatencyMillis;
+        this.updateLatencyMillis = updateLatencyMillis;
+        this.historyLatencyMillis = historyLatencyMillis;
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, threads),
+                Thread.ofPlatform().name("point-async-", 0).daemon().factory());
+        this.sequencer = new UserTaskSequencer(scheduler);
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> getPoint(Long id) {
+        return track(() -> delay(selectLatencyMillis)
+                .thenCompose(ignored -> call(() -> pointService.getPoint(id))));
+    }
+
+    @Override
+    public CompletableFuture<List<PointHistory>> getHistory(Long id) {
+        return track(() -> delay(selectLatencyMillis)
+                .thenCompose(ignored -> call(() -> pointService.getHistory(id))));
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> charge(Long id, Long amount) {
+        return track(() -> {
+            PointPolicy.validateChargeAmount(amount);
+            return sequencer.submit(id, () -> update(() -> pointService.charge(id, amount)));
+        });
+    }
+
+    @Override
+    public CompletableFuture<UserPoint> use(Long id, Long amount) {
+        return track(() -> sequencer.submit(id, () -> update(() -> pointService.use(id, amount))));
+    }
+
+    /**
+     * 응답을 기다리는 요청 수와 처리 중이거나 순서를 기다리는 요청이 있는 유저 수
+     */
+    public Stats stats() {
+        return new Stats(inFlight.get(), sequencer.activeUsers());
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 잔액 조회 지연 → 잔액 변경과 내역 기록 → 잔액 저장 지연 → 내역 저장 지연 순으로 완료된다.
+     */
+    private CompletableFuture<UserPoint> update(Supplier<UserPoint> mutation) {
+        return delay(selectLatencyMillis)
+                .thenCompose(ignored -> call(mutation))
+                .thenCompose(updated -> delay(updateLatencyMillis)
+                        .thenCompose(ignored -> delay(historyLatencyMillis))
+                        .thenApply(ignored -> updated));
+    }
+
+    private <T> CompletableFuture<T> call(Supplier<T> action) {
+        return CompletableFuture.supplyAsync(action, serviceExecutor);
+    }
+
+    private CompletableFuture<Void> delay(long maxMillis) {
+        if (maxMillis <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> timer = new CompletableFuture<>();
+        scheduler.schedule(() -> timer.complete(null), ThreadLocalRandom.current().nextLong(maxMillis),
+                TimeUnit.MILLISECONDS);
+        return timer;
+    }
+
+    /**
+     * 완료될 때까지 응답을 기다리는 요청 수를 센다. 처리 시간과 거절 사유는 pointService 가 기록한다.
+     */
+    private <T> CompletableFuture<T> track(Supplier<CompletableFuture<T>> action) {
+        inFlight.incrementAndGet();
+        CompletableFuture<T> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, error) -> inFlight.decrementAndGet());
+    }
+
+    public record Stats(
+            long inFlight,
+            int activeUsers
+    ) {
+    }
+}
@@ -0,0 +1,145 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.PointBatcher;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import io.hhplus.tdd.point.handler.PointTransferHandler;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.Operation;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * point.engine=batch 일 때 사용되는 서비스
+ * 충전/사용 요청을 {@link PointBatcher} 로 모아서 처리한다.
+ * 송금은 모으지 않고 {@link PointTransferHandler} 로 바로 처리한다. 같은 유저 락을 쓰므로 묶음 처리와 섞여도 잔액이 맞는다.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "point.engine", havingValue = "batch")
+@RequiredArgsConstructor
+public class BatchPointService implements IPointService {
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
+    private final PointBatcher pointBatcher;
+    private final BalanceCache balanceCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointHistorySummary pointHistorySummary;
+    private final PointMetrics pointMetrics;
+    private final PointTransferHandler pointTransferHandler;
+
+    @Override
+    public UserPoint getPoint(Long id) {
+        long startedAt = System.nanoTime();
+        try {
+            return balanceCache.getOrLoad(id, userPointRepository::selectById);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_POINT, startedAt);
+        }
+    }
+
+    @Override
+    public List<PointHistory> getHistory(Long id) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(id);
+            pointMetrics.recordHistorySize(histories.size());
+            return histories;
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_HISTORY, startedAt);
+        }
+    }
+
+    @Override
+    public HistoryPage getHistory(Long id, HistoryQuery query) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            return pointHistoryRepository.selectPage(id, query);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_HISTORY_PAGE, startedAt);
+        }
+    }
+
+    @Override
+    public void streamHistory(Long id, HistoryQuery query, Consumer<PointHistory> consumer) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            pointHistoryRepository.stream(id, query, consumer);
+        } finally {
+            pointMetrics.recordOperation(Operation.STREAM_HISTORY, startedAt);
+        }
+    }
+
+    @Override
+    public PointSummary getSummary(Long id, LocalDate date) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            return pointHistorySummary.summarize(id, date);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_SUMMARY, startedAt);
+        }
+    }
+
+    @Override
+    public UserPoint charge(Long id, Long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            PointPolicy.validateChargeAmount(amount);
+            return pointBatcher.submit(new PointCommand(id, amount, TransactionType.CHARGE));
+        } catch (RuntimeException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
+        } finally {
+            pointMetrics.recordOperation(Operation.CHARGE, startedAt);
+        }
+    }
+
+    @Override
+    public UserPoint use(Long id, Long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            return pointBatcher.submit(new PointCommand(id, amount, TransactionType.USE));
+        } catch (RuntimeException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
+        } finally {
+            pointMetrics.recordOperation(Operation.USE, startedAt);
+        }
+    }
+
+    @Override
+    public PointTransferResult transfer(Long fromId, Long toId, Long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            return pointTransferHandler.transfer(fromId, toId, amount);
+        } catch (RuntimeException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
+        } finally {
+            pointMetrics.recordOperation(Operation.TRANSFER, startedAt);
+        }
+    }
+}
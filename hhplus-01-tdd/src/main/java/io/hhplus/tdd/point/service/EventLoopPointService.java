@@ -0,0 +1,239 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointEventLoop;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import io.hhplus.tdd.point.handler.PointTransferHandler;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.Operation;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * point.engine=event-loop 일 때 사용되는 서비스
+ * 유저를 partitions 개의 {@link PointEventLoop} 에 나누고, 충전/사용은 담당 이벤트 루프의 writer 스레드 하나가 처리한다.
+ * - 같은 유저의 요청은 항상 같은 writer 가 도착 순서대로 처리하므로 유저 락이 필요 없고, 락을 넘겨주는 비용도 없다.
+ * - 검증, 잔액 저장, 내역 기록 순서는 {@link PointService} 와 같다. 충전 금액 검증은 ring 에 넣기 전에 요청 스레드에서 한다.
+ * - 요청 스레드는 결과를 잠시 spin 하며 기다린 뒤 잠든다.
+ * - 송금은 두 유저의 이벤트 루프를 파티션 번호 순으로 멈추고 요청 스레드에서 두 잔액을 함께 바꾼다.
+ *   같은 파티션이면 하나만 멈춘다. 멈춘 동안 그 파티션의 충전/사용은 ring 에서 기다린다.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "point.engine", havingValue = "event-loop")
+public class EventLoopPointService implements IPointService, AutoCloseable {
+
+    private static final int AWAIT_SPINS = 1_024;
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
+    private final BalanceCache balanceCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointHistorySummary pointHistorySummary;
+    private final PointMetrics pointMetrics;
+    private final PointEventLoop[] eventLoops;
+    private final PointTransferHandler pointTransferHandler;
+
+    public EventLoopPointService(
+            PointHistoryRepository pointHistoryRepository,
+            UserPointRepository userPointRepository,
+            BalanceCache balanceCache,
+            PointHistoryWriter pointHistoryWriter,
+            PointHistorySummary pointHistorySummary,
+            PointMetrics pointMetrics,
+            @Value("${point.event-loop.partitions:4}") int partitions,
+            @Value("${point.event-loop.ring-size:16384}") int ringSize
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userPointRepository = userPointRepository;
+        this.balanceCache = balanceCache;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointHistorySummary = pointHistorySummary;
+        this.pointMetrics = pointMetrics;
+        this.eventLoops = new PointEventLoop[Math.max(1, partitions)];
+        for (int i = 0; i < eventLoops.length; i++) {
+            eventLoops[i] = new PointEventLoop("point-event-loop-" + i, userPointRepository, balanceCache,
+                    pointHistoryWriter, ringSize);
+        }
+        // 이벤트 루프를 멈춘 상태에서 transferExclusive 만 호출하므로 유저 락은 쓰지 않는다.
+        this.pointTransferHandler = new PointTransferHandler(userPointRepository, new LockManager(1), balanceCache,
+                pointHistoryWriter, PointExpiry.disabled());
+    }
+
+    @Override
+    public UserPoint getPoint(Long id) {
+        long startedAt = System.nanoTime();
+        try {
+            return balanceCache.getOrLoad(id, userPointRepository::selectById);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_POINT, startedAt);
+        }
+    }
+
+    @Override
+    public List<PointHistory> getHistory(Long id) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(id);
+            pointMetrics.recordHistorySize(histories.size());
+            return histories;
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_HISTORY, startedAt);
+        }
+    }
+
+    @Override
+    public HistoryPage getHistory(Long id, HistoryQuery query) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            return pointHistoryRepository.selectPage(id, query);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_HISTORY_PAGE, startedAt);
+        }
+    }
+
+    @Override
+    public void streamHistory(Long id, HistoryQuery query, Consumer<PointHistory> consumer) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            pointHistoryRepository.stream(id, query, consumer);
+        } finally {
+            pointMetrics.recordOperation(Operation.STREAM_HISTORY, startedAt);
+        }
+    }
+
+    @Override
+    public PointSummary getSummary(Long id, LocalDate date) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            return pointHistorySummary.summarize(id, date);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_SUMMARY, startedAt);
+        }
+    }
+
+    @Override
+    public UserPoint charge(Long id, Long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            PointPolicy.validateChargeAmount(amount);
+            return await(submit(id, TransactionType.CHARGE, amount));
+        } catch (RuntimeException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
+        } finally {
+            pointMetrics.recordOperation(Operation.CHARGE, startedAt);
+        }
+    }
+
+    @Override
+    public UserPoint use(Long id, Long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            return await(submit(id, TransactionType.USE, amount));
+        } catch (RuntimeException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
+        } finally {
+            pointMetrics.recordOperation(Operation.USE, startedAt);
+        }
+    }
+
+    @Override
+    public PointTransferResult transfer(Long fromId, Long toId, Long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            PointTransferHandler.validate(fromId, toId, amount);
+            int fromPartition = partitionOf(fromId);
+            int toPartition = partitionOf(toId);
+            PointEventLoop.Pause first = pause(Math.min(fromPartition, toPartition), null);
+            PointEventLoop.Pause second = fromPartition == toPartition ? null
+                    : pause(Math.max(fromPartition, toPartition), first);
+            return pointTransferHandler.transferExclusive(fromId, toId, amount, () -> {
+                first.resume();
+                if (second != null) {
+                    second.resume();
+                }
+            });
+        } catch (RuntimeException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
+        } finally {
+            pointMetrics.recordOperation(Operation.TRANSFER, startedAt);
+        }
+    }
+
+    /**
+     * 검증 없이 담당 이벤트 루프에 넣고 바로 반환한다. 충전 금액 검증은 호출하는 쪽에서 한다.
+     */
+    public CompletableFuture<UserPoint> submit(long id, TransactionType type, long amount) {
+        return eventLoops[partitionOf(id)].submit(id, type, amount);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        for (PointEventLoop eventLoop : eventLoops) {
+            eventLoop.close();
+        }
+    }
+
+    private int partitionOf(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) Long.remainderUnsigned(h ^ (h >>> 32), eventLoops.length);
+    }
+
+    /**
+     * partition 의 writer 를 멈춘다. 멈추지 못하면 먼저 멈춘 held 를 풀어 준다.
+     */
+    private PointEventLoop.Pause pause(int partition, PointEventLoop.Pause held) {
+        try {
+            PointEventLoop.Pause pause = eventLoops[partition].pause();
+            pause.await();
+            return pause;
+        } catch (RuntimeException e) {
+            if (held != null) {
+                held.resume();
+            }
+            throw e;
+        }
+    }
+
+    private static UserPoint await(CompletableFuture<UserPoint> result) {
+        for (int i = 0; i < AWAIT_SPINS && !result.isDone(); i++) {
+            Thread.onSpinWait();
+        }
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link IPointService} 의 비동기 버전. 결과는 저장소 작업이 끝나면 완료된다.
+ */
+public interface IAsyncPointService {
+
+        CompletableFuture<UserPoint> getPoint(Long userId);
+
+        CompletableFuture<UserPoint> charge(Long userId, Long amount);
+
+        CompletableFuture<UserPoint> use(Long userId, Long amount);
+
+        CompletableFuture<List<PointHistory>> getHistory(Long userId);
+
+    }
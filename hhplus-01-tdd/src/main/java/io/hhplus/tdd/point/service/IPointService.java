@@ -1,9 +1,15 @@
 package io.hhplus.tdd.point.service;
 
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointTransferResult;
 import io.hhplus.tdd.point.UserPoint;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IPointService {
 
@@ -15,4 +21,15 @@ public interface IPointService {
 
         List<PointHistory> getHistory(Long userId);
 
+        HistoryPage getHistory(Long userId, HistoryQuery query);
+
+        void streamHistory(Long userId, HistoryQuery query, Consumer<PointHistory> consumer);
+
+        PointSummary getSummary(Long userId, LocalDate date);
+
+        /**
+         * fromId 유저의 포인트를 toId 유저에게 보낸다. 두 유저의 잔액과 내역이 함께 바뀐다.
+         */
+        PointTransferResult transfer(Long fromId, Long toId, Long amount);
+
     }
@@ -0,0 +1,198 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.exceptions.PointConflictException;
+import io.hhplus.tdd.exceptions.PointTransferException;
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import io.hhplus.tdd.point.handler.PointTransferHandler;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.Operation;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * point.engine=optimistic 일 때 사용되는 서비스
+ * 유저 락 없이 잔액을 읽고, 읽은 version 으로 compareAndSet 한다.
+ * - 충돌하면 캐시를 비우고 지수 백오프(지터 포함) 후 다시 읽는다. max-attempts 번 모두 충돌하면 {@link PointConflictException} 을 던진다.
+ * - 충돌은 다른 요청이 성공했을 때만 생기므로, 경합이 없는 유저는 락 비용 없이 한 번에 처리된다.
+ * - 같은 유저에 동시에 성공한 요청들의 내역은 잔액 반영 순서와 다르게 기록될 수 있다.
+ * - 잔액 저장소의 compareAndSet 은 유저 한 명 단위라 두 잔액을 한 번에 바꿀 수 없으므로, 송금은 {@link PointTransferException} 으로 거절한다.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "point.engine", havingValue = "optimistic")
+public class OptimisticPointService implements IPointService {
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
+    private final BalanceCache balanceCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointHistorySummary pointHistorySummary;
+    private final PointMetrics pointMetrics;
+    private final int maxAttempts;
+    private final long backoffMinNanos;
+    private final long backoffMaxNanos;
+
+    public OptimisticPointService(
+            PointHistoryRepository pointHistoryRepository,
+            UserPointRepository userPointRepository,
+            BalanceCache balanceCache,
+            PointHistoryWriter pointHistoryWriter,
+            PointHistorySummary pointHistorySummary,
+            PointMetrics pointMetrics,
+            @Value("${point.optimistic.max-attempts:32}") int maxAttempts,
+            @Value("${point.optimistic.backoff-min-nanos:1000}") long backoffMinNanos,
+            @Value("${point.optimistic.backoff-max-nanos:1000000}") long backoffMaxNanos
+    ) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userPointRepository = userPointRepository;
+        this.balanceCache = balanceCache;
+        this.pointHistoryWriter = pointHistoryWriter;
+        this.pointHistorySummary = pointHistorySummary;
+        this.pointMetrics = pointMetrics;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMinNanos = Math.max(1, backoffMinNanos);
+        this.backoffMaxNanos = Math.max(this.backoffMinNanos, backoffMaxNanos);
+    }
+
+    @Override
+    public UserPoint getPoint(Long id) {
+        long startedAt = System.nanoTime();
+        try {
+            return balanceCache.getOrLoad(id, userPointRepository::selectById);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_POINT, startedAt);
+        }
+    }
+
+    @Override
+    public List<PointHistory> getHistory(Long id) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(id);
+            pointMetrics.recordHistorySize(histories.size());
+            return histories;
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_HISTORY, startedAt);
+        }
+    }
+
+    @Override
+    public HistoryPage getHistory(Long id, HistoryQuery query) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            return pointHistoryRepository.selectPage(id, query);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_HISTORY_PAGE, startedAt);
+        }
+    }
+
+    @Override
+    public void streamHistory(Long id, HistoryQuery query, Consumer<PointHistory> consumer) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            pointHistoryRepository.stream(id, query, consumer);
+        } finally {
+            pointMetrics.recordOperation(Operation.STREAM_HISTORY, startedAt);
+        }
+    }
+
+    @Override
+    public PointSummary getSummary(Long id, LocalDate date) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            return pointHistorySummary.summarize(id, date);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_SUMMARY, startedAt);
+        }
+    }
+
+    @Override
+    public UserPoint charge(Long id, Long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            PointPolicy.validateChargeAmount(amount);
+            return update(id, amount, TransactionType.CHARGE);
+        } catch (RuntimeException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
+        } finally {
+            pointMetrics.recordOperation(Operation.CHARGE, startedAt);
+        }
+    }
+
+    @Override
+    public UserPoint use(Long id, Long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            return update(id, amount, TransactionType.USE);
+        } catch (RuntimeException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
+        } finally {
+            pointMetrics.recordOperation(Operation.USE, startedAt);
+        }
+    }
+
+    @Override
+    public PointTransferResult transfer(Long fromId, Long toId, Long amount) {
+        PointTransferHandler.validate(fromId, toId, amount);
+        throw new PointTransferException(fromId, toId, "point.engine=optimistic 에서는 송금할 수 없습니다.");
+    }
+
+    private UserPoint update(long id, long amount, TransactionType type) {
+        long backoffNanos = backoffMinNanos;
+        for (int attempt = 1; ; attempt++) {
+            UserPoint currentPoint = balanceCache.getOrLoad(id, userPointRepository::selectById);
+            long newAmount = PointPolicy.apply(currentPoint.point(), type, amount);
+
+            // 순번을 먼저 예약해 writer 가 종료되었으면 잔액을 바꾸기 전에 실패한다. 충돌하면 예약을 돌려준다.
+            long historySeq = pointHistoryWriter.reserve();
+            UserPoint updatedPoint;
+            try {
+                updatedPoint = userPointRepository.compareAndSet(id, currentPoint.version(), newAmount);
+            } catch (RuntimeException e) {
+                pointHistoryWriter.cancel(historySeq);
+                throw e;
+            }
+            if (updatedPoint != null) {
+                balanceCache.put(updatedPoint);
+                pointHistoryWriter.fill(historySeq, id, amount, type, System.currentTimeMillis());
+                pointHistoryWriter.awaitCommit(id, historySeq);
+                return updatedPoint;
+            }
+            pointHistoryWriter.cancel(historySeq);
+
+            pointMetrics.recordConflict(type);
+            balanceCache.invalidate(id);
+            if (attempt >= maxAttempts) {
+                throw new PointConflictException(id, attempt);
+            }
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(backoffNanos) + 1);
+            backoffNanos = Math.min(backoffMaxNanos, backoffNanos << 1);
+        }
+    }
+}
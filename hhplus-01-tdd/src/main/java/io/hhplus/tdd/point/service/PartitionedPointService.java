@@ -0,0 +1,229 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.exceptions.PointTransferException;
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.handler.PointTransferHandler;
+import io.hhplus.tdd.point.partition.ConsistentHashRing;
+import io.hhplus.tdd.point.partition.LoopbackShardTransport;
+import io.hhplus.tdd.point.partition.PointShard;
+import io.hhplus.tdd.point.partition.PointShardExport;
+import io.hhplus.tdd.point.partition.PointShardFactory;
+import io.hhplus.tdd.point.partition.PointShardRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * point.engine=partitioned 일 때 사용되는 서비스
+ * 유저를 {@link ConsistentHashRing} 으로 shard 에 나누고, 요청을 담당 shard 로 보낸다.
+ * - shard 는 저장소, 락, 캐시, 내역, 실행 스레드를 따로 가지므로 다른 shard 의 유저와는 어떤 자원도 다투지 않는다.
+ * - shard 로는 {@link PointShardRequest} 만 주고받으므로, transport 를 바꾸면 shard 를 다른 노드로 옮길 수 있다. 지금은 같은 JVM 의 loopback 만 있다.
+ * - shard 를 추가하는 동안에는 요청을 멈추고, 새 shard 로 가게 된 유저의 잔액과 내역을 옮긴 뒤 ring 을 바꾼다.
+ *   추가한 shard 와 ring 은 저장하지 않으므로 재시작하면 point.partition.shards 개로 돌아간다.
+ *   (잔액도 메모리에만 있어 point.durability.enabled 와 함께 쓸 수 없다. mmap 내역은 shard 디렉터리에 남지만 추가한 shard 의 것은 다시 읽지 않는다)
+ * - 내역 id 는 shard 마다 따로 매기므로 유저 한 명의 내역 안에서만 순서를 보장한다.
+ * - 송금은 두 유저가 같은 shard 일 때만 그 shard 의 {@link PointTransferHandler} 가 두 락을 잡고 처리한다.
+ *   shard 를 넘는 송금은 두 잔액을 한 번에 바꿀 방법(2단계 커밋)이 없으므로 {@link PointTransferException} 으로 거절한다.
+ */
+@Slf4j
+@Service
+@Primary
+@ConditionalOnProperty(name = "point.engine", havingValue = "partitioned")
+public class PartitionedPointService implements IPointService, AutoCloseable {
+
+    private static final String SHARD_PREFIX = "shard-";
+
+    private final Function<String, PointShard> shardFactory;
+    private final LoopbackShardTransport transport = new LoopbackShardTransport();
+    private final ReentrantReadWriteLock rebalanceLock = new ReentrantReadWriteLock();
+    private volatile ConsistentHashRing ring;
+
+    @Autowired
+    public PartitionedPointService(
+            PointShardFactory pointShardFactory,
+            @Value("${point.partition.shards:4}") int shards,
+            @Value("${point.partition.virtual-nodes:128}") int virtualNodes
+    ) {
+        this(pointShardFactory::create, shards, virtualNodes);
+    }
+
+    public PartitionedPointService(Function<String, PointShard> shardFactory, int shards, int virtualNodes) {
+        this.shardFactory = shardFactory;
+        List<String> shardIds = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, shards); i++) {
+            String shardId = SHARD_PREFIX + i;
+            transport.register(shardFactory.apply(shardId));
+            shardIds.add(shardId);
+        }
+        this.ring = new ConsistentHashRing(shardIds, virtualNodes);
+    }
+
+    @Override
+    public UserPoint getPoint(Long userId) {
+        return route(userId, new PointShardRequest.GetPoint(userId));
+    }
+
+    @Override
+    public UserPoint charge(Long userId, Long amount) {
+        return route(userId, new PointShardRequest.Charge(userId, amount));
+    }
+
+    @Override
+    public UserPoint use(Long userId, Long amount) {
+        return route(userId, new PointShardRequest.Use(userId, amount));
+    }
+
+    @Override
+    public List<PointHistory> getHistory(Long userId) {
+        return route(userId, new PointShardRequest.GetHistory(userId));
+    }
+
+    @Override
+    public HistoryPage getHistory(Long userId, HistoryQuery query) {
+        return route(userId, new PointShardRequest.GetHistoryPage(userId, query));
+    }
+
+    /**
+     * shard 에서 query.limit 만큼 한 번에 받아 consumer 로 넘긴다.
+     */
+    @Override
+    public void streamHistory(Long userId, HistoryQuery query, Consumer<PointHistory> consumer) {
+        route(userId, new PointShardRequest.GetHistoryPage(userId, query)).items().forEach(consumer);
+    }
+
+    @Override
+    public PointSummary getSummary(Long userId, LocalDate date) {
+        return route(userId, new PointShardRequest.GetSummary(userId, date));
+    }
+
+    @Override
+    public PointTransferResult transfer(Long fromId, Long toId, Long amount) {
+        PointTransferHandler.validate(fromId, toId, amount);
+        rebalanceLock.readLock().lock();
+        try {
+            String fromShard = ring.shardFor(fromId);
+            if (!fromShard.equals(ring.shardFor(toId))) {
+                throw new PointTransferException(fromId, toId, "다른 shard 의 유저에게는 송금할 수 없습니다.");
+            }
+            return join(transport.send(fromShard, new PointShardRequest.Transfer(fromId, toId, amount)));
+        } finally {
+            rebalanceLock.readLock().unlock();
+        }
+    }
+
+    public String shardFor(long userId) {
+        return ring.shardFor(userId);
+    }
+
+    /**
+     * shard 별 담당 유저 수
+     */
+    public List<ShardStats> shards() {
+        rebalanceLock.readLock().lock();
+        try {
+            ConsistentHashRing current = ring;
+            List<CompletableFuture<Long>> counts = new ArrayList<>();
+            for (String shardId : current.shardIds()) {
+                counts.add(transport.send(shardId, new PointShardRequest.CountUsers(current.shardIds(), current.virtualNodes())));
+            }
+            List<ShardStats> stats = new ArrayList<>();
+            for (int i = 0; i < counts.size(); i++) {
+                stats.add(new ShardStats(current.shardIds().get(i), join(counts.get(i))));
+            }
+            return stats;
+        } finally {
+            rebalanceLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * shard 를 하나 추가하고, 새 ring 에서 새 shard 에 배정된 유저를 옮긴다.
+     * consistent hashing 에서는 새 shard 의 지점 앞 구간만 바뀌므로, 옮기는 유저는 모두 새 shard 로 간다.
+     */
+    public RebalanceResult addShard() {
+        rebalanceLock.writeLock().lock();
+        try {
+            long startedAt = System.currentTimeMillis();
+            ConsistentHashRing previous = ring;
+            String shardId = SHARD_PREFIX + previous.shardIds().size();
+            ConsistentHashRing next = previous.withShard(shardId);
+            transport.register(shardFactory.apply(shardId));
+
+            long moved = 0;
+            long histories = 0;
+            for (String source : previous.shardIds()) {
+                PointShardExport export = join(transport.send(source,
+                        new PointShardRequest.Export(previous.shardIds(), next.shardIds(), next.virtualNodes())));
+                if (!export.userPoints().isEmpty()) {
+                    moved += join(transport.send(shardId, new PointShardRequest.Import(export)));
+                    histories += export.histories().size();
+                }
+            }
+            ring = next;
+            RebalanceResult result = new RebalanceResult(shardId, next.shardIds().size(), moved, histories,
+                    System.currentTimeMillis() - startedAt);
+            log.info("point shard added. shard: {}, shards: {}, moved users: {}, moved histories: {}, elapsed: {}ms",
+                    result.shardId(), result.shards(), result.movedUsers(), result.movedHistories(), result.elapsedMillis());
+            return result;
+        } finally {
+            rebalanceLock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        transport.close();
+    }
+
+    private <T> T route(long userId, PointShardRequest<T> request) {
+        rebalanceLock.readLock().lock();
+        try {
+            return join(transport.send(ring.shardFor(userId), request));
+        } finally {
+            rebalanceLock.readLock().unlock();
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public record ShardStats(
+            String shardId,
+            long users
+    ) {
+    }
+
+    public record RebalanceResult(
+            String shardId,
+            int shards,
+            long movedUsers,
+            long movedHistories,
+            long elapsedMillis
+    ) {
+    }
+}
@@ -1,19 +1,30 @@
 package io.hhplus.tdd.point.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
-import io.hhplus.tdd.exceptions.PointMaxException;
-import io.hhplus.tdd.exceptions.PointNotException;
-import io.hhplus.tdd.exceptions.PointOverException;
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointTransferResult;
 import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
 import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import io.hhplus.tdd.point.handler.PointTransferHandler;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.metrics.PointMetrics.Operation;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.concurrent.locks.ReentrantLock;
 
 @Service
@@ -21,16 +32,27 @@ import java.util.concurrent.locks.ReentrantLock;
 @Slf4j
 public class PointService implements IPointService {
 
-    private final PointHistoryTable pointHistoryTable;
-    private final UserPointTable userPointTable;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserPointRepository userPointRepository;
     private final LockManager lockManager;
+    private final BalanceCache balanceCache;
+    private final PointHistoryWriter pointHistoryWriter;
+    private final PointHistorySummary pointHistorySummary;
+    private final PointMetrics pointMetrics;
+    private final PointTransferHandler pointTransferHandler;
+    private final PointExpiry pointExpiry;
     /**
      * 특정 유저의 포인트를 조회하는 기능
      */
     @Override
     public UserPoint getPoint(Long id) {
+        long startedAt = System.nanoTime();
         log.info("getPoint id: {}", id);
-        return userPointTable.selectById(id);
+        try {
+            return balanceCache.getOrLoad(id, userPointRepository::selectById);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_POINT, startedAt);
+        }
     }
 
     /**
@@ -38,33 +60,73 @@ public class PointService implements IPointService {
      */
     @Override
     public List<PointHistory> getHistory(Long id) {
-        return pointHistoryTable.selectAllByUserId(id);
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            List<PointHistory> histories = pointHistoryRepository.selectAllByUserId(id);
+            pointMetrics.recordHistorySize(histories.size());
+            return histories;
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_HISTORY, startedAt);
+        }
     }
 
     /**
-     * 특정 유저의 포인트를 충전하는 기능
+     * 특정 유저의 포인트 충전/이용 내역을 조건에 맞게 한 페이지 조회하는 기능
      */
     @Override
-    public UserPoint charge(Long id, Long amount) {
-        if (amount < 0) {
-            throw new PointOverException(amount);
-        }
-        ReentrantLock lock = lockManager.getLock(id);
-        lock.lock();
+    public HistoryPage getHistory(Long id, HistoryQuery query) {
+        long startedAt = System.nanoTime();
         try {
-            UserPoint currentPoint = userPointTable.selectById(id);
+            pointHistoryWriter.awaitVisible();
+            return pointHistoryRepository.selectPage(id, query);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_HISTORY_PAGE, startedAt);
+        }
+    }
 
-            long newAmount = currentPoint.point() + amount;
-            if (newAmount > 1000000L) {
-                throw new PointMaxException(newAmount);
-            }
+    /**
+     * 특정 유저의 포인트 충전/이용 내역을 목록으로 모으지 않고 하나씩 전달하는 기능
+     */
+    @Override
+    public void streamHistory(Long id, HistoryQuery query, Consumer<PointHistory> consumer) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            pointHistoryRepository.stream(id, query, consumer);
+        } finally {
+            pointMetrics.recordOperation(Operation.STREAM_HISTORY, startedAt);
+        }
+    }
 
-            UserPoint updatedPoint = userPointTable.insertOrUpdate(id, newAmount);
-            pointHistoryTable.insert(id, amount, TransactionType.CHARGE, System.currentTimeMillis());
+    /**
+     * 특정 유저의 충전/이용 합계를 조회하는 기능
+     */
+    @Override
+    public PointSummary getSummary(Long id, LocalDate date) {
+        long startedAt = System.nanoTime();
+        try {
+            pointHistoryWriter.awaitVisible();
+            return pointHistorySummary.summarize(id, date);
+        } finally {
+            pointMetrics.recordOperation(Operation.GET_SUMMARY, startedAt);
+        }
+    }
 
-            return updatedPoint;
+    /**
+     * 특정 유저의 포인트를 충전하는 기능
+     */
+    @Override
+    public UserPoint charge(Long id, Long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            PointPolicy.validateChargeAmount(amount);
+            return update(id, amount, TransactionType.CHARGE);
+        } catch (RuntimeException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
         } finally {
-            lock.unlock();
+            pointMetrics.recordOperation(Operation.CHARGE, startedAt);
         }
     }
     /**
@@ -72,22 +134,66 @@ public class PointService implements IPointService {
      */
     @Override
     public UserPoint use(Long id, Long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            return update(id, amount, TransactionType.USE);
+        } catch (RuntimeException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
+        } finally {
+            pointMetrics.recordOperation(Operation.USE, startedAt);
+        }
+    }
+
+    /**
+     * 특정 유저의 포인트를 다른 유저에게 보내는 기능
+     */
+    @Override
+    public PointTransferResult transfer(Long fromId, Long toId, Long amount) {
+        long startedAt = System.nanoTime();
+        try {
+            return pointTransferHandler.transfer(fromId, toId, amount);
+        } catch (RuntimeException e) {
+            pointMetrics.recordRejection(e);
+            throw e;
+        } finally {
+            pointMetrics.recordOperation(Operation.TRANSFER, startedAt);
+        }
+    }
+
+    /**
+     * 유저 락을 잡고 잔액을 변경한 뒤 내역을 남긴다. 락 대기 시간과 보유 시간을 따로 기록한다.
+     * 내역 순번은 잔액을 바꾸기 전에 예약해 writer 가 종료된 경우 잔액이 바뀌기 전에 실패하게 하고, commit 모드의 저장 대기는 락을 푼 뒤에 한다.
+     */
+    private UserPoint update(long id, long amount, TransactionType type) {
         ReentrantLock lock = lockManager.getLock(id);
+        long waitStartedAt = System.nanoTime();
         lock.lock();
+        long lockedAt = System.nanoTime();
+        pointMetrics.recordLockWait(type, lockedAt - waitStartedAt);
+        UserPoint updatedPoint;
+        long historySeq;
         try {
-            UserPoint currentPoint = userPointTable.selectById(id);
+            UserPoint currentPoint = balanceCache.getOrLoad(id, userPointRepository::selectById);
 
-            if (currentPoint.point() < amount) {
-                throw new PointNotException(amount);
-            }
-
-            long newAmount = currentPoint.point() - amount;
-            UserPoint updatedPoint = userPointTable.insertOrUpdate(id, newAmount);
-            pointHistoryTable.insert(id, amount, TransactionType.USE, System.currentTimeMillis());
+            long newAmount = PointPolicy.apply(currentPoint.point(), type, amount);
 
-            return updatedPoint;
+            historySeq = pointHistoryWriter.reserve();
+            try {
+                updatedPoint = userPointRepository.insertOrUpdate(id, newAmount);
+            } catch (RuntimeException e) {
+                pointHistoryWriter.cancel(historySeq);
+                throw e;
+            }
+            balanceCache.put(updatedPoint);
+            long updateMillis = System.currentTimeMillis();
+            pointHistoryWriter.fill(historySeq, id, amount, type, updateMillis);
+            pointExpiry.record(id, type, amount, updateMillis);
         } finally {
             lock.unlock();
+            pointMetrics.recordLockHold(type, System.nanoTime() - lockedAt);
         }
+        pointHistoryWriter.awaitCommit(id, historySeq);
+        return updatedPoint;
     }
 }
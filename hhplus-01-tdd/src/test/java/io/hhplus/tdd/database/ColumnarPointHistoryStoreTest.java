@@ -0,0 +1,118 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.PendingHistory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarPointHistoryStoreTest {
+
+    @Test
+    @DisplayName("유저별 내역 조회 시 chunk 를 넘어가도 해당 유저의 내역만 기록 순서대로 조회된다")
+    void selectAllByUserId() {
+        ColumnarPointHistoryStore store = new ColumnarPointHistoryStore(2);
+
+        store.insert(1L, 300L, TransactionType.CHARGE, 1L);
+        store.insert(2L, 100L, TransactionType.CHARGE, 2L);
+        store.insert(1L, 400L, TransactionType.CHARGE, 3L);
+        PointHistory last = store.insert(1L, 500L, TransactionType.USE, 4L);
+
+        List<PointHistory> histories = store.selectAllByUserId(1L);
+
+        assertThat(last).isEqualTo(new PointHistory(4L, 1L, 500L, TransactionType.USE, 4L));
+        assertThat(histories).containsExactly(
+                new PointHistory(1L, 1L, 300L, TransactionType.CHARGE, 1L),
+                new PointHistory(3L, 1L, 400L, TransactionType.CHARGE, 3L),
+                last
+        );
+        assertThat(store.selectAllByUserId(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("int 범위를 벗어나는 금액과 시각도 원래 값 그대로 조회된다")
+    void keepValuesOutOfIntRange() {
+        ColumnarPointHistoryStore store = new ColumnarPointHistoryStore(4);
+        long now = System.currentTimeMillis();
+
+        store.insert(1L, 100L, TransactionType.CHARGE, now);
+        store.insert(1L, Long.MAX_VALUE, TransactionType.CHARGE, 0L);
+        store.insert(1L, -1L, TransactionType.USE, Long.MAX_VALUE);
+
+        assertThat(store.selectAllByUserId(1L)).containsExactly(
+                new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, now),
+                new PointHistory(2L, 1L, Long.MAX_VALUE, TransactionType.CHARGE, 0L),
+                new PointHistory(3L, 1L, -1L, TransactionType.USE, Long.MAX_VALUE)
+        );
+    }
+
+    @Test
+    @DisplayName("커서 이후의 내역만 페이지 크기만큼 조회하고 다음 커서를 돌려준다")
+    void selectPageByCursor() {
+        ColumnarPointHistoryStore store = new ColumnarPointHistoryStore(4);
+        for (int i = 0; i < 10; i++) {
+            store.insert(1L, 100L + i, i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE, i);
+        }
+
+        HistoryPage first = store.selectPage(1L, new HistoryQuery(null, 3, null, null, TransactionType.CHARGE));
+        HistoryPage second = store.selectPage(1L, new HistoryQuery(first.nextCursor(), 3, null, null, TransactionType.CHARGE));
+        HistoryPage fromOtherId = store.selectPage(1L, new HistoryQuery(100L, 3, null, null, null));
+
+        assertThat(first.items()).extracting(PointHistory::id).containsExactly(1L, 3L, 5L);
+        assertThat(first.nextCursor()).isEqualTo(5L);
+        assertThat(second.items()).extracting(PointHistory::id).containsExactly(7L, 9L);
+        assertThat(second.nextCursor()).isNull();
+        assertThat(fromOtherId.items()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("한 번에 저장한 내역도 id 순서대로 이어지고 전체 순회에 모두 포함된다")
+    void insertAllAndForEach() {
+        ColumnarPointHistoryStore store = new ColumnarPointHistoryStore(3);
+        store.insert(1L, 10L, TransactionType.CHARGE, 1L);
+        store.insertAll(List.of(
+                new PendingHistory(2L, 20L, TransactionType.CHARGE, 2L),
+                new PendingHistory(1L, 30L, TransactionType.USE, 3L),
+                new PendingHistory(3L, 40L, TransactionType.CHARGE, 4L)
+        ));
+
+        List<PointHistory> all = new ArrayList<>();
+        store.forEach(all::add);
+
+        assertThat(store.size()).isEqualTo(4L);
+        assertThat(all).extracting(PointHistory::id).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(all).extracting(PointHistory::userId).containsExactly(1L, 2L, 1L, 3L);
+        assertThat(store.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(10L, 30L);
+    }
+
+    @Test
+    @DisplayName("구간 순회는 chunk 를 넘어가도 [fromId, toId) 의 내역만 id 순서대로 전달한다")
+    void forEachInRange() {
+        ColumnarPointHistoryStore store = new ColumnarPointHistoryStore(2);
+        for (long i = 1; i <= 5; i++) {
+            store.insert(i % 2, i * 10, TransactionType.CHARGE, i);
+        }
+        store.insert(1L, 3_000_000_000L, TransactionType.USE, 6L);
+
+        List<Long> ids = new ArrayList<>();
+        List<Long> amounts = new ArrayList<>();
+        store.forEachInRange(2L, 100L, (id, userId, amount, type) -> {
+            ids.add(id);
+            amounts.add(amount);
+        });
+        List<Long> middle = new ArrayList<>();
+        store.forEachInRange(3L, 5L, (id, userId, amount, type) -> middle.add(userId));
+
+        assertThat(store.lastId()).isEqualTo(6L);
+        assertThat(ids).containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(amounts).containsExactly(20L, 30L, 40L, 50L, 3_000_000_000L);
+        assertThat(middle).containsExactly(1L, 0L);
+    }
+}
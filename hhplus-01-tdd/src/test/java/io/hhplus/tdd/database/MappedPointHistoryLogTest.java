@@ -0,0 +1,118 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.HistoryChanges;
+import io.hhplus.tdd.point.HistoryPage;
+import io.hhplus.tdd.point.HistoryQuery;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedPointHistoryLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("유저별 내역 조회 시 해당 유저의 내역만 기록 순서대로 조회된다")
+    void selectAllByUserId() {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.toString(), 4, false);
+
+        historyLog.insert(1L, 300L, TransactionType.CHARGE, 1L);
+        historyLog.insert(2L, 100L, TransactionType.CHARGE, 2L);
+        historyLog.insert(1L, 400L, TransactionType.CHARGE, 3L);
+        historyLog.insert(1L, 500L, TransactionType.USE, 4L);
+
+        List<PointHistory> histories = historyLog.selectAllByUserId(1L);
+
+        assertThat(histories).extracting(PointHistory::id).containsExactly(1L, 3L, 4L);
+        assertThat(histories).extracting(PointHistory::amount).containsExactly(300L, 400L, 500L);
+        assertThat(histories.get(2).type()).isEqualTo(TransactionType.USE);
+        assertThat(historyLog.selectAllByUserId(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재기동 후에도 세그먼트에 기록된 내역과 id 가 이어진다")
+    void recoverAfterRestart() {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.toString(), 4, false);
+        for (int i = 0; i < 10; i++) {
+            historyLog.insert(i % 2, 100L + i, TransactionType.CHARGE, i);
+        }
+        historyLog.close();
+
+        MappedPointHistoryLog reopened = new MappedPointHistoryLog(directory.toString(), 4, false);
+        PointHistory next = reopened.insert(1L, 999L, TransactionType.USE, 10L);
+
+        assertThat(reopened.size()).isEqualTo(11L);
+        assertThat(next.id()).isEqualTo(11L);
+        assertThat(reopened.selectAllByUserId(0L)).extracting(PointHistory::amount)
+                .containsExactly(100L, 102L, 104L, 106L, 108L);
+        assertThat(reopened.selectAllByUserId(1L)).extracting(PointHistory::id)
+                .containsExactly(2L, 4L, 6L, 8L, 10L, 11L);
+    }
+
+    @Test
+    @DisplayName("commitMark 가 없는 레코드 뒤에 남은 레코드는 복구 때 지워져, 그 자리에 새로 쓴 뒤 다시 재기동해도 살아나지 않는다")
+    void clearStaleRecordsOnRecovery() throws IOException {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.toString(), 4, false);
+        for (int i = 0; i < 6; i++) {
+            historyLog.insert(1L, 100L + i, TransactionType.CHARGE, i);
+        }
+        historyLog.close();
+        try (FileChannel channel = FileChannel.open(directory.resolve("history-00000000.seg"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4), 2L * MappedPointHistoryLog.RECORD_SIZE + 36);
+        }
+
+        MappedPointHistoryLog recovered = new MappedPointHistoryLog(directory.toString(), 4, false);
+        recovered.insert(1L, 999L, TransactionType.USE, 10L);
+        MappedPointHistoryLog reopened = new MappedPointHistoryLog(directory.toString(), 4, false);
+
+        assertThat(reopened.size()).isEqualTo(3L);
+        assertThat(reopened.selectAllByUserId(1L)).extracting(PointHistory::amount)
+                .containsExactly(100L, 101L, 999L);
+    }
+
+    @Test
+    @DisplayName("커서 이후의 내역만 페이지 크기만큼 조회하고 다음 커서를 돌려준다")
+    void selectPageByCursor() {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.toString(), 4, false);
+        for (int i = 0; i < 10; i++) {
+            historyLog.insert(1L, 100L + i, i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE, i);
+        }
+
+        HistoryPage first = historyLog.selectPage(1L, new HistoryQuery(null, 3, null, null, TransactionType.CHARGE));
+        HistoryPage second = historyLog.selectPage(1L, new HistoryQuery(first.nextCursor(), 3, null, null, TransactionType.CHARGE));
+
+        assertThat(first.items()).extracting(PointHistory::id).containsExactly(1L, 3L, 5L);
+        assertThat(first.nextCursor()).isEqualTo(5L);
+        assertThat(second.items()).extracting(PointHistory::id).containsExactly(7L, 9L);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("afterId 이후의 전체 유저 내역을 세그먼트를 넘어 id 순서대로 조회한다")
+    void selectAfter() {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.toString(), 4, false);
+        for (int i = 0; i < 10; i++) {
+            historyLog.insert(i % 3, 100L + i, TransactionType.CHARGE, i);
+        }
+
+        HistoryChanges changes = historyLog.selectAfter(3L, 5);
+
+        assertThat(changes.items()).extracting(PointHistory::id).containsExactly(4L, 5L, 6L, 7L, 8L);
+        assertThat(changes.items()).extracting(PointHistory::userId).containsExactly(0L, 1L, 2L, 0L, 1L);
+        assertThat(changes.nextCursor()).isEqualTo(8L);
+        assertThat(changes.hasMore()).isTrue();
+        assertThat(historyLog.selectAfter(8L, 5).hasMore()).isFalse();
+    }
+}
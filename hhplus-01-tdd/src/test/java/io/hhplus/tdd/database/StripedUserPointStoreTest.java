@@ -0,0 +1,77 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripedUserPointStoreTest {
+
+    @Test
+    @DisplayName("저장 이력이 없는 유저는 0 포인트로 조회된다")
+    void selectEmpty() {
+        StripedUserPointStore store = new StripedUserPointStore(4, 16);
+
+        UserPoint userPoint = store.selectById(1L);
+
+        assertThat(userPoint.id()).isEqualTo(1L);
+        assertThat(userPoint.point()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("초기 용량보다 많은 유저를 저장해도 모든 잔액이 유지된다")
+    void insertBeyondInitialCapacity() {
+        StripedUserPointStore store = new StripedUserPointStore(4, 16);
+
+        for (long id = -5_000; id < 5_000; id++) {
+            store.insertOrUpdate(id, id + 10_000);
+        }
+        store.insertOrUpdate(0L, 7L);
+
+        assertThat(store.size()).isEqualTo(10_000L);
+        assertThat(store.selectById(-5_000L).point()).isEqualTo(5_000L);
+        assertThat(store.selectById(4_999L).point()).isEqualTo(14_999L);
+        assertThat(store.selectById(0L).point()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 저장해도 유실 없이 반영된다")
+    void concurrentInsert() throws InterruptedException {
+        StripedUserPointStore store = new StripedUserPointStore(8, 16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int thread = 0; thread < 8; thread++) {
+            long offset = thread * 10_000L;
+            executor.submit(() -> {
+                for (long id = offset; id < offset + 10_000; id++) {
+                    store.insertOrUpdate(id, id);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertThat(store.size()).isEqualTo(80_000L);
+        assertThat(store.selectById(79_999L).point()).isEqualTo(79_999L);
+    }
+
+    @Test
+    @DisplayName("compareAndSet 은 저장된 version 이 같을 때만 잔액을 바꾸고 version 을 올린다")
+    void compareAndSet() {
+        StripedUserPointStore store = new StripedUserPointStore(4, 16);
+
+        UserPoint first = store.compareAndSet(1L, 0L, 100L);
+        UserPoint stale = store.compareAndSet(1L, 0L, 999L);
+        UserPoint second = store.compareAndSet(1L, first.version(), 150L);
+
+        assertThat(first.version()).isEqualTo(1L);
+        assertThat(stale).isNull();
+        assertThat(second.version()).isEqualTo(2L);
+        assertThat(store.selectById(1L).point()).isEqualTo(150L);
+        assertThat(store.selectById(1L).version()).isEqualTo(2L);
+    }
+}
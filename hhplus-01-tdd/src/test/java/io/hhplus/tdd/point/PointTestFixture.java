@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import io.hhplus.tdd.point.handler.PointTransferHandler;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.service.PointService;
+
+/**
+ * 테스트용 포인트 구성 요소 조립
+ * 주어진 저장소로 내역 요약(Asia/Seoul, 92일, 24개월), sync 내역 기록기, noop 지표를 만든다.
+ * 캐시를 넘기지 않으면 꺼진 캐시를 쓴다. 다른 설정이 필요한 테스트는 해당 구성 요소만 직접 만든다.
+ */
+public class PointTestFixture {
+
+    public final PointHistoryRepository pointHistoryRepository;
+    public final UserPointRepository userPointRepository;
+    public final LockManager lockManager;
+    public final BalanceCache balanceCache;
+    public final PointHistorySummary pointHistorySummary;
+    public final PointHistoryWriter pointHistoryWriter;
+    public final PointMetrics pointMetrics = PointMetrics.noop();
+
+    public PointTestFixture(PointHistoryRepository pointHistoryRepository, UserPointRepository userPointRepository) {
+        this(pointHistoryRepository, userPointRepository, new LockManager());
+    }
+
+    public PointTestFixture(PointHistoryRepository pointHistoryRepository, UserPointRepository userPointRepository,
+                            LockManager lockManager) {
+        this(pointHistoryRepository, userPointRepository, lockManager, disabledCache(lockManager));
+    }
+
+    public PointTestFixture(PointHistoryRepository pointHistoryRepository, UserPointRepository userPointRepository,
+                            LockManager lockManager, BalanceCache balanceCache) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.userPointRepository = userPointRepository;
+        this.lockManager = lockManager;
+        this.balanceCache = balanceCache;
+        this.pointHistorySummary = summary(pointHistoryRepository);
+        this.pointHistoryWriter = syncWriter(pointHistoryRepository, pointHistorySummary);
+    }
+
+    public static PointHistorySummary summary(PointHistoryRepository pointHistoryRepository) {
+        return new PointHistorySummary(pointHistoryRepository, "Asia/Seoul", 92, 24);
+    }
+
+    public static PointHistoryWriter syncWriter(PointHistoryRepository pointHistoryRepository,
+                                                PointHistorySummary pointHistorySummary) {
+        return new PointHistoryWriter(pointHistoryRepository, pointHistorySummary, "sync", 1, 1);
+    }
+
+    public static BalanceCache disabledCache(LockManager lockManager) {
+        return new BalanceCache(lockManager, false, 1, 1);
+    }
+
+    public PointService pointService() {
+        return pointService(PointExpiry.disabled());
+    }
+
+    public PointService pointService(PointExpiry pointExpiry) {
+        return new PointService(pointHistoryRepository, userPointRepository, lockManager, balanceCache,
+                pointHistoryWriter, pointHistorySummary, pointMetrics, transferHandler(pointExpiry), pointExpiry);
+    }
+
+    public PointTransferHandler transferHandler() {
+        return transferHandler(PointExpiry.disabled());
+    }
+
+    public PointTransferHandler transferHandler(PointExpiry pointExpiry) {
+        return new PointTransferHandler(userPointRepository, lockManager, balanceCache, pointHistoryWriter, pointExpiry);
+    }
+}
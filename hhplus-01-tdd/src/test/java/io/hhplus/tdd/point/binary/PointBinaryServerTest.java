@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point.binary;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.exceptions.PointMaxException;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.exceptions.PointTransferException;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.HotKeyGuard;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.service.PointService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointBinaryServerTest {
+
+    private ExecutorService executor;
+    private PointBinaryServer server;
+    private PointBinaryClient client;
+
+    @BeforeEach
+    void setUp() {
+        LockManager lockManager = new LockManager();
+        PointService pointService = new PointTestFixture(new ColumnarPointHistoryStore(1024),
+                new StripedUserPointStore(4, 16), lockManager, new BalanceCache(lockManager, true, 16, 1)).pointService();
+        executor = Executors.newFixedThreadPool(8);
+        // 버퍼에 응답 4 개만 들어가도록 해 읽기를 멈췄다가 다시 시작하는 경로도 지나가게 한다.
+        server = new PointBinaryServer(pointService, new HotKeyGuard(false, 1_000L, 1, 1, 1, 1024, System::currentTimeMillis),
+                executor, new InetSocketAddress("127.0.0.1", 0), PointWireFormat.FRAME_BYTES * 4, 1024, 4);
+        client = PointBinaryClient.connect("127.0.0.1", server.port());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        client.close();
+        server.close();
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("한 연결로 응답을 기다리지 않고 보낸 요청이 모두 처리된다")
+    void pipelinedRequests() throws Exception {
+        List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            futures.add(client.chargeAsync(i % 10, 10L));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        for (long userId = 0; userId < 10; userId++) {
+            assertThat(client.getPoint(userId).point()).isEqualTo(1_000L);
+        }
+        assertThat(client.use(1L, 300L).point()).isEqualTo(700L);
+        assertThat(client.transfer(1L, 2L, 200L).point()).isEqualTo(500L);
+        assertThat(client.getPoint(2L).point()).isEqualTo(1_200L);
+        assertThat(server.stats().requests()).isEqualTo(1_013L);
+    }
+
+    @Test
+    @DisplayName("실패 응답은 서버에서 난 것과 같은 예외로 돌아온다")
+    void mapErrors() {
+        client.charge(1L, 500L);
+
+        assertThatThrownBy(() -> client.use(1L, 600L))
+                .isInstanceOf(PointNotException.class)
+                .extracting("value").isEqualTo(600L);
+        assertThatThrownBy(() -> client.charge(1L, 999_600L)).isInstanceOf(PointMaxException.class);
+        assertThatThrownBy(() -> client.transfer(1L, 1L, 100L)).isInstanceOf(PointTransferException.class);
+        assertThat(client.getPoint(1L).point()).isEqualTo(500L);
+    }
+}
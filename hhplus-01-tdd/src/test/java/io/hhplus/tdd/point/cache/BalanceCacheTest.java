@@ -0,0 +1,71 @@
+package io.hhplus.tdd.point.cache;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.handler.LockManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalanceCacheTest {
+
+    @Test
+    @DisplayName("캐시에 없으면 저장소에서 읽어 채우고, 이후 조회는 저장소를 거치지 않는다")
+    void readThrough() {
+        BalanceCache balanceCache = new BalanceCache(new LockManager(), true, 100, 1);
+        AtomicInteger loads = new AtomicInteger();
+
+        UserPoint first = balanceCache.getOrLoad(1L, id -> {
+            loads.incrementAndGet();
+            return new UserPoint(id, 500L, 0L);
+        });
+        UserPoint second = balanceCache.getOrLoad(1L, id -> {
+            loads.incrementAndGet();
+            return new UserPoint(id, 0L, 0L);
+        });
+
+        assertThat(first.point()).isEqualTo(500L);
+        assertThat(second.point()).isEqualTo(500L);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(balanceCache.stats().hits()).isEqualTo(1L);
+        assertThat(balanceCache.stats().misses()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("charge/use 가 갱신한 잔액이 다음 조회에 그대로 보인다")
+    void putUpdatesInPlace() {
+        BalanceCache balanceCache = new BalanceCache(new LockManager(), true, 100, 1);
+        balanceCache.getOrLoad(1L, id -> new UserPoint(id, 500L, 0L));
+
+        balanceCache.put(new UserPoint(1L, 800L, 1L));
+
+        assertThat(balanceCache.getOrLoad(1L, id -> new UserPoint(id, 0L, 0L)).point()).isEqualTo(800L);
+    }
+
+    @Test
+    @DisplayName("용량을 넘으면 가장 오래 사용되지 않은 유저부터 축출된다")
+    void evictLeastRecentlyUsed() {
+        BalanceCache balanceCache = new BalanceCache(new LockManager(), true, 2, 1);
+        balanceCache.put(new UserPoint(1L, 100L, 0L));
+        balanceCache.put(new UserPoint(2L, 200L, 0L));
+        balanceCache.getOrLoad(1L, id -> new UserPoint(id, 0L, 0L));
+
+        balanceCache.put(new UserPoint(3L, 300L, 0L));
+
+        assertThat(balanceCache.stats().size()).isEqualTo(2L);
+        assertThat(balanceCache.stats().evictions()).isEqualTo(1L);
+        assertThat(balanceCache.getOrLoad(2L, id -> new UserPoint(id, -1L, 0L)).point()).isEqualTo(-1L);
+    }
+
+    @Test
+    @DisplayName("비활성화 상태에서는 항상 저장소에서 읽는다")
+    void disabled() {
+        BalanceCache balanceCache = new BalanceCache(new LockManager(), false, 100, 1);
+        balanceCache.put(new UserPoint(1L, 100L, 0L));
+
+        assertThat(balanceCache.getOrLoad(1L, id -> new UserPoint(id, 7L, 0L)).point()).isEqualTo(7L);
+        assertThat(balanceCache.stats().size()).isZero();
+    }
+}
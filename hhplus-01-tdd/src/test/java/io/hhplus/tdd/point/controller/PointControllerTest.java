@@ -1,6 +1,9 @@
 package io.hhplus.tdd.point.controller;
 
+import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,10 +12,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -25,6 +37,9 @@ class PointControllerTest {
     @Autowired
     private UserPointTable userPointTable;
 
+    @Autowired
+    private PointHistoryTable pointHistoryTable;
+
     @BeforeEach
     void setUp() {
         userPointTable.insertOrUpdate(1L, 500L);
@@ -80,4 +95,276 @@ class PointControllerTest {
                 status().isOk()
         ).andDo(MockMvcResultHandlers.print());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("특정 유저의 히스토리를 커서 기반으로 페이지 조회하는 API 기능 테스트")
+    void getUserHistoryPage() throws Exception {
+        // given
+        long userId = 10L;
+        pointHistoryTable.insert(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryTable.insert(userId, 200L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryTable.insert(userId, 50L, TransactionType.USE, System.currentTimeMillis());
+
+        // when & then
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/point/{id}/histories", userId)
+                        .param("size", "2")
+        ).andExpect(
+                status().isOk()
+        ).andExpect(
+                jsonPath("$.length()").value(2)
+        ).andExpect(
+                header().exists("X-Next-Cursor")
+        ).andDo(MockMvcResultHandlers.print());
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/point/{id}/histories", userId)
+                        .param("type", "USE")
+        ).andExpect(
+                status().isOk()
+        ).andExpect(
+                jsonPath("$.length()").value(1)
+        ).andExpect(
+                jsonPath("$[0].amount").value(50)
+        ).andExpect(
+                header().doesNotExist("X-Next-Cursor")
+        );
+    }
+
+    @Test
+    @DisplayName("특정 유저의 히스토리를 NDJSON 스트림으로 조회하는 API 기능 테스트")
+    void streamUserHistory() throws Exception {
+        // given
+        long userId = 11L;
+        pointHistoryTable.insert(userId, 100L, TransactionType.CHARGE, System.currentTimeMillis());
+        pointHistoryTable.insert(userId, 200L, TransactionType.CHARGE, System.currentTimeMillis());
+
+        // when
+        MvcResult result = mockMvc.perform(
+                MockMvcRequestBuilders.get("/point/{id}/histories", userId)
+                        .accept(MediaType.APPLICATION_NDJSON)
+        ).andExpect(
+                request().asyncStarted()
+        ).andReturn();
+
+        // then
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.split("\n")).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("유저 간 포인트 송금 API 기능 테스트")
+    void transferUserPoint() throws Exception {
+        // given
+        userPointTable.insertOrUpdate(61L, 1000L);
+
+        // when & then
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fromUserId": 61, "toUserId": 62, "amount": 300}
+                                """)
+        ).andExpect(
+                status().isOk()
+        ).andExpect(
+                jsonPath("$.from.point").value(700)
+        ).andExpect(
+                jsonPath("$.to.point").value(300)
+        ).andDo(MockMvcResultHandlers.print());
+
+        assertThat(pointHistoryTable.selectAllByUserId(61L))
+                .extracting(PointHistory::type)
+                .containsExactly(TransactionType.USE);
+        assertThat(pointHistoryTable.selectAllByUserId(62L))
+                .extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE);
+    }
+
+    @Test
+    @DisplayName("자기 자신에게 보내는 송금은 400 으로 거절한다")
+    void transferToSelf() throws Exception {
+        // given
+        userPointTable.insertOrUpdate(63L, 1000L);
+
+        // when & then
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/point/transfer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"fromUserId": 63, "toUserId": 63, "amount": 300}
+                                """)
+        ).andExpect(
+                status().isBadRequest()
+        ).andExpect(
+                jsonPath("$.code").value("400")
+        );
+        assertThat(userPointTable.selectById(63L).point()).isEqualTo(1000L);
+        assertThat(pointHistoryTable.selectAllByUserId(63L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("여러 유저의 포인트를 한 번에 충전/사용하는 API 기능 테스트")
+    void batchUserPoints() throws Exception {
+        // when & then
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [
+                                  {"userId": 21, "amount": 1000, "type": "CHARGE"},
+                                  {"userId": 22, "amount": 100, "type": "USE"},
+                                  {"userId": 21, "amount": 400, "type": "USE"}
+                                ]
+                                """)
+        ).andExpect(
+                status().isOk()
+        ).andExpect(
+                jsonPath("$[0].userPoint.point").value(1000)
+        ).andExpect(
+                jsonPath("$[1].error.code").value("400") // 잔액 부족
+        ).andExpect(
+                jsonPath("$[2].userPoint.point").value(600)
+        ).andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("한 번에 보낼 수 있는 건수를 넘는 일괄 요청은 400 으로 거절한다")
+    void batchTooLarge() throws Exception {
+        String command = "{\"userId\": 23, \"amount\": 1, \"type\": \"CHARGE\"}";
+        String body = "[" + String.join(",", Collections.nCopies(1_001, command)) + "]";
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.post("/point/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+        ).andExpect(
+                status().isBadRequest()
+        ).andExpect(
+                jsonPath("$.code").value("400")
+        );
+        assertThat(userPointTable.selectById(23L).point()).isZero();
+    }
+
+    @Test
+    @DisplayName("특정 유저의 충전/이용 합계를 조회하는 API 기능 테스트")
+    void getUserSummary() throws Exception {
+        // given
+        long userId = 31L;
+        mockMvc.perform(MockMvcRequestBuilders.patch("/point/{id}/charge", userId)
+                .contentType(MediaType.APPLICATION_JSON).content("1000"));
+        mockMvc.perform(MockMvcRequestBuilders.patch("/point/{id}/use", userId)
+                .contentType(MediaType.APPLICATION_JSON).content("300"));
+
+        // when & then
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/point/{id}/summary", userId)
+        ).andExpect(
+                status().isOk()
+        ).andExpect(
+                jsonPath("$.lifetime.CHARGE.amount").value(1000)
+        ).andExpect(
+                jsonPath("$.daily.USE.count").value(1)
+        ).andExpect(
+                jsonPath("$.monthly.USE.amount").value(300)
+        ).andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 다시 충전하면 한 번만 반영되고 같은 결과를 돌려준다")
+    void chargeWithIdempotencyKey() throws Exception {
+        // given
+        long userId = 41L;
+        for (int i = 0; i < 2; i++) {
+            // when & then
+            mockMvc.perform(
+                    MockMvcRequestBuilders.patch("/point/{id}/charge", userId)
+                            .header("Idempotency-Key", "charge-41")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("1000")
+            ).andExpect(
+                    status().isOk()
+            ).andExpect(
+                    jsonPath("$.point").value(1000)
+            );
+        }
+        assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(1);
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.patch("/point/{id}/charge", userId)
+                        .header("Idempotency-Key", "charge-41")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("2000")
+        ).andExpect(
+                status().isUnprocessableEntity()
+        );
+    }
+
+    @Test
+    @DisplayName("비동기 API 로 충전/사용하면 결과가 비동기로 내려오고, 잔액 부족은 동기 API 와 같은 에러로 응답한다")
+    void asyncChargeAndUse() throws Exception {
+        // given
+        long userId = 51L;
+        MvcResult charged = mockMvc.perform(
+                MockMvcRequestBuilders.patch("/async/point/{id}/charge", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("1000")
+        ).andExpect(
+                request().asyncStarted()
+        ).andReturn();
+        mockMvc.perform(asyncDispatch(charged))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.point").value(1000));
+
+        // when
+        MvcResult rejected = mockMvc.perform(
+                MockMvcRequestBuilders.patch("/async/point/{id}/use", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("2000")
+        ).andExpect(
+                request().asyncStarted()
+        ).andReturn();
+
+        // then
+        mockMvc.perform(asyncDispatch(rejected))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.code").value("500"));
+    }
+
+    @Test
+    @DisplayName("전체 내역 변경분을 cursor 이후로 조회하고 구독자 cursor 를 저장하는 API 기능 테스트")
+    void historyChangeFeed() throws Exception {
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/point/changes")
+                        .param("after", "0")
+                        .param("limit", "10")
+        ).andExpect(
+                status().isOk()
+        ).andExpect(
+                jsonPath("$.items").isArray()
+        ).andExpect(
+                jsonPath("$.hasMore").isBoolean()
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.put("/point/changes/consumers/{consumer}/cursor", "analytics")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("5")
+        ).andExpect(
+                status().isOk()
+        ).andExpect(
+                jsonPath("$.cursor").value(5)
+        );
+
+        mockMvc.perform(
+                MockMvcRequestBuilders.get("/point/changes/consumers/{consumer}", "analytics")
+        ).andExpect(
+                status().isOk()
+        ).andExpect(
+                jsonPath("$.nextCursor", greaterThanOrEqualTo(5))
+        );
+    }
+}
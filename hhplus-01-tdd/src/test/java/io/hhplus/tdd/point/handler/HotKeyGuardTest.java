@@ -0,0 +1,78 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.exceptions.PointHotKeyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotKeyGuardTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final HotKeyGuard guard = new HotKeyGuard(true, 1_000L, 10, 3, 1, 1024, clock::get);
+
+    @Test
+    @DisplayName("요청 수가 기준을 넘은 유저는 동시 처리 수를 넘는 요청이 바로 거절되고, 다른 유저는 그대로 처리된다")
+    void rejectHotKeyOverConcurrency() {
+        for (int i = 0; i < 10; i++) {
+            guard.execute(1L, () -> 1);
+        }
+
+        int inner = guard.execute(1L, () -> {
+            assertThatThrownBy(() -> guard.execute(1L, () -> 2)).isInstanceOf(PointHotKeyException.class);
+            return guard.execute(2L, () -> 3);
+        });
+
+        HotKeyGuard.Stats stats = guard.stats();
+        assertThat(inner).isEqualTo(3);
+        assertThat(stats.rejected()).isEqualTo(1L);
+        assertThat(stats.hotKeys()).extracting(HotKeyGuard.HotKeyStats::userId).containsExactly(1L);
+        assertThat(stats.hotKeys().get(0).requestRate()).isGreaterThanOrEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("처리 중인 요청이 쌓인 유저도 hot key 로 등록된다")
+    void detectQueuedRequests() {
+        HotKeyGuard queueGuard = new HotKeyGuard(true, 1_000L, 100, 2, 1, 1024, clock::get);
+
+        queueGuard.execute(1L, () -> queueGuard.execute(1L, () -> queueGuard.execute(1L, () -> {
+            assertThatThrownBy(() -> queueGuard.execute(1L, () -> 0)).isInstanceOf(PointHotKeyException.class);
+            return 0;
+        })));
+
+        assertThat(queueGuard.stats().hotKeys()).extracting(HotKeyGuard.HotKeyStats::userId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("요청이 줄어든 채로 window 가 지나면 hot key 에서 해제된다")
+    void coolDown() {
+        for (int i = 0; i < 10; i++) {
+            guard.execute(1L, () -> 1);
+        }
+        assertThat(guard.stats().hotKeys()).hasSize(1);
+
+        clock.set(1_500L);
+        guard.execute(1L, () -> 1);
+        assertThat(guard.stats().hotKeys()).hasSize(1);
+
+        clock.set(2_400L);
+        guard.execute(1L, () -> 1);
+
+        assertThat(guard.stats().hotKeys()).isEmpty();
+        assertThat(guard.stats().rejected()).isZero();
+    }
+
+    @Test
+    @DisplayName("꺼져 있으면 세지 않고 그대로 실행한다")
+    void disabled() {
+        HotKeyGuard disabled = new HotKeyGuard(false, 1_000L, 1, 1, 1, 1024, clock::get);
+
+        int result = disabled.execute(1L, () -> disabled.execute(1L, () -> disabled.execute(1L, () -> 7)));
+
+        assertThat(result).isEqualTo(7);
+        assertThat(disabled.stats().hotKeys()).isEmpty();
+    }
+}
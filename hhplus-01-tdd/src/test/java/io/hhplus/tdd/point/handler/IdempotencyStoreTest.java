@@ -0,0 +1,116 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.exceptions.PointConflictException;
+import io.hhplus.tdd.exceptions.PointIdempotencyKeyException;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final IdempotencyStore store = new IdempotencyStore(60, 4, 1_000_000, clock::get);
+
+    @Test
+    @DisplayName("같은 키로 다시 요청하면 실행하지 않고 처음 결과를 돌려준다")
+    void replaySuccess() {
+        AtomicInteger calls = new AtomicInteger();
+
+        UserPoint first = store.execute("key-1", 1L, TransactionType.CHARGE, 100L,
+                () -> new UserPoint(1L, 100L + calls.incrementAndGet(), 10L, 1L));
+        UserPoint second = store.execute("key-1", 1L, TransactionType.CHARGE, 100L,
+                () -> new UserPoint(1L, 100L + calls.incrementAndGet(), 20L, 2L));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(calls).hasValue(1);
+        assertThat(store.stats().replays()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("정책 위반 결과도 기록해 같은 예외를 다시 던지고, 충돌처럼 결과가 정해지지 않은 실패는 다시 실행한다")
+    void replayPolicyFailureOnly() {
+        assertThatThrownBy(() -> store.execute("use", 1L, TransactionType.USE, 500L, () -> {
+            throw new PointNotException(500L);
+        })).isInstanceOf(PointNotException.class);
+        assertThatThrownBy(() -> store.execute("use", 1L, TransactionType.USE, 500L,
+                () -> new UserPoint(1L, 0L, 0L)))
+                .isInstanceOf(PointNotException.class)
+                .hasMessage(String.format(PointNotException.MESSAGE_FORMAT, 500L));
+
+        assertThatThrownBy(() -> store.execute("conflict", 1L, TransactionType.CHARGE, 10L, () -> {
+            throw new PointConflictException(1L, 32);
+        })).isInstanceOf(PointConflictException.class);
+        UserPoint retried = store.execute("conflict", 1L, TransactionType.CHARGE, 10L,
+                () -> new UserPoint(1L, 10L, 0L, 1L));
+        assertThat(retried.point()).isEqualTo(10L);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 요청을 보내면 예외가 발생한다")
+    void rejectReusedKey() {
+        store.execute("key", 1L, TransactionType.CHARGE, 100L, () -> new UserPoint(1L, 100L, 0L, 1L));
+
+        assertThatThrownBy(() -> store.execute("key", 1L, TransactionType.CHARGE, 200L,
+                () -> new UserPoint(1L, 300L, 0L, 2L)))
+                .isInstanceOf(PointIdempotencyKeyException.class);
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 요청하면 한 번만 실행되고 모두 같은 결과를 받는다")
+    void concurrentDuplicatesRunOnce() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> store.execute("same", 1L, TransactionType.CHARGE, 100L, () -> {
+                calls.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new UserPoint(1L, 100L, 0L, 1L);
+            }), executor));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(calls).hasValue(1);
+        assertThat(results).allSatisfy(result -> assertThat(result.join().point()).isEqualTo(100L));
+    }
+
+    @Test
+    @DisplayName("ttl 이 지나면 오래된 세대가 통째로 버려져 같은 키로 다시 실행된다")
+    void expireByGeneration() {
+        AtomicInteger calls = new AtomicInteger();
+        store.execute("old", 1L, TransactionType.CHARGE, 1L, () -> new UserPoint(1L, calls.incrementAndGet(), 0L, 1L));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        store.execute("old", 1L, TransactionType.CHARGE, 1L, () -> new UserPoint(1L, calls.incrementAndGet(), 0L, 1L));
+        assertThat(calls).hasValue(1);
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(81));
+        store.execute("old", 1L, TransactionType.CHARGE, 1L, () -> new UserPoint(1L, calls.incrementAndGet(), 0L, 1L));
+
+        assertThat(calls).hasValue(2);
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.handler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LockManagerTest {
+
+    @Test
+    @DisplayName("같은 유저는 항상 같은 락을 사용하고, 락 개수는 스트라이프 수를 넘지 않는다")
+    void sameUserSameLock() {
+        LockManager lockManager = new LockManager(100);
+
+        assertThat(lockManager.stripeCount()).isEqualTo(128);
+        assertThat(lockManager.getLock(1L)).isSameAs(lockManager.getLock(1L));
+        for (long id = 0; id < 100_000; id++) {
+            assertThat(lockManager.stripeOf(id)).isBetween(0, 127);
+        }
+    }
+
+    @Test
+    @DisplayName("락을 바로 잡지 못하고 기다린 경우 스트라이프 경합 횟수가 기록된다")
+    void contentionIsRecorded() throws InterruptedException {
+        LockManager lockManager = new LockManager(16);
+        ReentrantLock lock = lockManager.getLock(1L);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch acquired = new CountDownLatch(1);
+
+        lock.lock();
+        try {
+            executor.submit(() -> {
+                ReentrantLock waiting = lockManager.getLock(1L);
+                waiting.lock();
+                try {
+                    acquired.countDown();
+                } finally {
+                    waiting.unlock();
+                }
+            });
+            while (!lock.hasQueuedThreads()) {
+                Thread.onSpinWait();
+            }
+        } finally {
+            lock.unlock();
+        }
+        acquired.await(3, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        LockManager.StripeStats hottest = lockManager.hottestStripes(1).get(0);
+        assertThat(hottest.stripe()).isEqualTo(lockManager.stripeOf(1L));
+        assertThat(hottest.contentions()).isEqualTo(1L);
+        assertThat(hottest.acquisitions()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,94 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exceptions.PointMaxException;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.repository.PointHistoryTableRepository;
+import io.hhplus.tdd.point.repository.UserPointTableRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointBatcherTest {
+
+    private UserPointTable userPointTable;
+    private PointHistoryTable pointHistoryTable;
+    private PointBatcher pointBatcher;
+
+    @BeforeEach
+    void setUp() {
+        LockManager lockManager = new LockManager();
+        userPointTable = new UserPointTable();
+        pointHistoryTable = new PointHistoryTable();
+        PointTestFixture fixture = new PointTestFixture(new PointHistoryTableRepository(pointHistoryTable),
+                new UserPointTableRepository(userPointTable), lockManager);
+        pointBatcher = new PointBatcher(
+                fixture.userPointRepository,
+                fixture.pointHistoryWriter,
+                lockManager,
+                fixture.balanceCache,
+                PointExpiry.disabled(),
+                256
+        );
+    }
+
+    @Test
+    @DisplayName("동시에 10번 충전 요청이 오면 모두 반영되고 히스토리도 10건 남는다")
+    void concurrentChargeIsCombined() {
+        long userId = 1L;
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(CompletableFuture.supplyAsync(
+                    () -> pointBatcher.submit(new PointCommand(userId, 100L, TransactionType.CHARGE)), executor));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+
+        assertThat(userPointTable.selectById(userId).point()).isEqualTo(1000L);
+        assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(10);
+        assertThat(results).extracting(result -> result.join().point()).doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("한도를 넘는 요청만 실패하고 나머지 요청은 반영된다")
+    void onlyViolatingCommandFails() {
+        long userId = 2L;
+        userPointTable.insertOrUpdate(userId, 999_000L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        AtomicInteger successCnt = new AtomicInteger();
+        AtomicInteger failCnt = new AtomicInteger();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(CompletableFuture.runAsync(() -> {
+                try {
+                    pointBatcher.submit(new PointCommand(userId, 600L, TransactionType.CHARGE));
+                    successCnt.incrementAndGet();
+                } catch (PointMaxException e) {
+                    failCnt.incrementAndGet();
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).join();
+        executor.shutdown();
+
+        assertThat(successCnt.get()).isEqualTo(1);
+        assertThat(failCnt.get()).isEqualTo(2);
+        assertThat(userPointTable.selectById(userId).point()).isEqualTo(999_600L);
+        assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(1);
+    }
+}
@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exceptions.PointBulkSizeException;
+import io.hhplus.tdd.point.PointBulkResult;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.PointHistoryTableRepository;
+import io.hhplus.tdd.point.repository.UserPointTableRepository;
+import io.hhplus.tdd.point.service.PointService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointBulkProcessorTest {
+
+    private UserPointTable userPointTable;
+    private PointHistoryTable pointHistoryTable;
+    private ExecutorService executor;
+    private PointBulkProcessor pointBulkProcessor;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = new UserPointTable();
+        pointHistoryTable = new PointHistoryTable();
+        PointService pointService = new PointTestFixture(new PointHistoryTableRepository(pointHistoryTable),
+                new UserPointTableRepository(userPointTable)).pointService();
+        executor = Executors.newFixedThreadPool(4);
+        pointBulkProcessor = new PointBulkProcessor(pointService, executor, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 유저의 요청은 요청 순서대로 처리되고 결과도 요청 순서대로 반환된다")
+    void sameUserCommandsKeepOrder() {
+        List<PointBulkResult> results = pointBulkProcessor.process(List.of(
+                new PointCommand(1L, 100L, TransactionType.CHARGE),
+                new PointCommand(2L, 300L, TransactionType.CHARGE),
+                new PointCommand(1L, 30L, TransactionType.USE),
+                new PointCommand(1L, 50L, TransactionType.CHARGE)
+        ));
+
+        assertThat(results).extracting(PointBulkResult::userId).containsExactly(1L, 2L, 1L, 1L);
+        assertThat(results).extracting(result -> result.userPoint().point()).containsExactly(100L, 300L, 70L, 120L);
+        assertThat(pointHistoryTable.selectAllByUserId(1L))
+                .extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE, TransactionType.CHARGE);
+    }
+
+    @Test
+    @DisplayName("실패한 요청은 에러 결과로 반환되고 나머지 요청은 계속 처리된다")
+    void failedCommandDoesNotStopOthers() {
+        List<PointBulkResult> results = pointBulkProcessor.process(List.of(
+                new PointCommand(1L, 100L, TransactionType.USE),
+                new PointCommand(1L, 200L, TransactionType.CHARGE),
+                new PointCommand(2L, 2_000_000L, TransactionType.CHARGE)
+        ));
+
+        assertThat(results.get(0).userPoint()).isNull();
+        assertThat(results.get(0).error().code()).isEqualTo("400");
+        assertThat(results.get(1).userPoint().point()).isEqualTo(200L);
+        assertThat(results.get(2).error().code()).isEqualTo("400");
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(200L);
+        assertThat(userPointTable.selectById(2L).point()).isZero();
+    }
+
+    @Test
+    @DisplayName("최대 건수를 넘는 요청은 한 건도 처리하지 않고 거절한다")
+    void rejectOversizedBulk() {
+        List<PointCommand> commands = Collections.nCopies(5, new PointCommand(1L, 100L, TransactionType.CHARGE));
+
+        assertThatThrownBy(() -> pointBulkProcessor.process(commands)).isInstanceOf(PointBulkSizeException.class);
+        assertThat(userPointTable.selectById(1L).point()).isZero();
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.point.HistoryChanges;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointChangeFeedTest {
+
+    private ColumnarPointHistoryStore historyStore;
+    private PointChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        historyStore = new ColumnarPointHistoryStore(4);
+        changeFeed = new PointChangeFeed(historyStore, 3);
+        for (int i = 0; i < 5; i++) {
+            historyStore.insert(i % 2, 100L + i, TransactionType.CHARGE, i);
+        }
+    }
+
+    @Test
+    @DisplayName("cursor 이후의 전체 유저 내역만 id 순서대로 max-batch 개까지 조회한다")
+    void readAfterCursor() {
+        HistoryChanges first = changeFeed.read(0L, 100);
+        HistoryChanges second = changeFeed.read(first.nextCursor(), 100);
+        HistoryChanges empty = changeFeed.read(second.nextCursor(), 100);
+
+        assertThat(first.items()).extracting(PointHistory::id).containsExactly(1L, 2L, 3L);
+        assertThat(first.items()).extracting(PointHistory::userId).containsExactly(0L, 1L, 0L);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(second.items()).extracting(PointHistory::id).containsExactly(4L, 5L);
+        assertThat(second.hasMore()).isFalse();
+        assertThat(empty.items()).isEmpty();
+        assertThat(empty.nextCursor()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("구독자는 commit 한 cursor 이후부터 받고, cursor 는 뒤로 가지 않는다")
+    void consumerCursor() {
+        HistoryChanges polled = changeFeed.poll("analytics", 2);
+        assertThat(changeFeed.poll("analytics", 2)).isEqualTo(polled);
+
+        changeFeed.commit("analytics", polled.nextCursor());
+        changeFeed.commit("analytics", 1L);
+        historyStore.insert(7L, 700L, TransactionType.USE, 10L);
+
+        assertThat(changeFeed.poll("analytics", 10).items()).extracting(PointHistory::id).containsExactly(3L, 4L, 5L);
+        assertThat(changeFeed.poll("fraud", 1).items()).extracting(PointHistory::id).containsExactly(1L);
+        assertThat(changeFeed.consumers()).extracting(PointChangeFeed.ConsumerCursor::cursor).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("스트림은 max-batch 와 관계없이 limit 개까지 전달한다")
+    void stream() {
+        List<PointHistory> streamed = new ArrayList<>();
+
+        changeFeed.stream(1L, 10L, streamed::add);
+
+        assertThat(streamed).extracting(PointHistory::id).containsExactly(2L, 3L, 4L, 5L);
+    }
+}
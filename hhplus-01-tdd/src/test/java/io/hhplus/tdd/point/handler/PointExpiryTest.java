@@ -0,0 +1,115 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PointExpiryTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final StripedUserPointStore userPointStore = new StripedUserPointStore(4, 16);
+    private final ColumnarPointHistoryStore historyStore = new ColumnarPointHistoryStore(1024);
+    private PointExpiry pointExpiry;
+
+    @BeforeEach
+    void setUp() {
+        PointTestFixture fixture = new PointTestFixture(historyStore, userPointStore);
+        pointExpiry = new PointExpiry(userPointStore, fixture.lockManager, fixture.balanceCache,
+                fixture.pointHistoryWriter, true, Duration.ofSeconds(10), 1_000L, clock::get);
+    }
+
+    @Test
+    @DisplayName("만료 기간이 지난 충전분만 잔액에서 빠지고 EXPIRE 내역이 남는다")
+    void expireDueLots() {
+        charge(1L, 100L);
+        clock.addAndGet(3_000L);
+        charge(1L, 200L);
+
+        clock.addAndGet(7_000L);
+        assertThat(pointExpiry.expireDue()).isEqualTo(100L);
+        assertThat(userPointStore.selectById(1L).point()).isEqualTo(200L);
+
+        clock.addAndGet(3_000L);
+        assertThat(pointExpiry.expireDue()).isEqualTo(200L);
+        assertThat(userPointStore.selectById(1L).point()).isZero();
+        assertThat(historyStore.selectAllByUserId(1L)).extracting(PointHistory::type, PointHistory::amount)
+                .containsExactly(tuple(TransactionType.EXPIRE, 100L), tuple(TransactionType.EXPIRE, 200L));
+        assertThat(pointExpiry.stats().users()).isZero();
+        assertThat(pointExpiry.stats().scheduled()).isZero();
+    }
+
+    @Test
+    @DisplayName("사용은 가장 오래된 충전분부터 차감하고, 만료되지 않는 잔액은 만료하지 않는다")
+    void useConsumesOldestFirst() {
+        userPointStore.insertOrUpdate(1L, 50L);
+        charge(1L, 100L);
+        clock.addAndGet(3_000L);
+        charge(1L, 200L);
+        use(1L, 150L);
+
+        assertThat(pointExpiry.expiringPoint(1L)).isEqualTo(150L);
+        clock.addAndGet(7_000L);
+        assertThat(pointExpiry.expireDue()).isZero();
+
+        clock.addAndGet(3_000L);
+        assertThat(pointExpiry.expireDue()).isEqualTo(150L);
+        assertThat(userPointStore.selectById(1L).point()).isEqualTo(50L);
+    }
+
+    @Test
+    @DisplayName("모두 사용한 뒤 다시 충전해도 한 번만 만료된다")
+    void rechargeAfterEmpty() {
+        charge(1L, 100L);
+        use(1L, 100L);
+        clock.addAndGet(1_000L);
+        charge(1L, 300L);
+
+        clock.addAndGet(10_000L);
+        assertThat(pointExpiry.expireDue()).isEqualTo(300L);
+        assertThat(pointExpiry.expireDue()).isZero();
+        assertThat(pointExpiry.stats().expiredLots()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("내역 없이 잔액이 줄면 lot 합계를 새 잔액까지 오래된 lot 부터 줄인다")
+    void trimToBalance() {
+        charge(1L, 100L);
+        clock.addAndGet(3_000L);
+        charge(1L, 200L);
+
+        userPointStore.insertOrUpdate(1L, 120L);
+        pointExpiry.trim(1L, 120L);
+        pointExpiry.trim(1L, 500L);
+
+        assertThat(pointExpiry.expiringPoint(1L)).isEqualTo(120L);
+        clock.addAndGet(7_000L);
+        assertThat(pointExpiry.expireDue()).isZero();
+        clock.addAndGet(3_000L);
+        assertThat(pointExpiry.expireDue()).isEqualTo(120L);
+        assertThat(userPointStore.selectById(1L).point()).isZero();
+    }
+
+    /**
+     * 서비스가 잔액을 저장한 뒤 lot 에 반영하는 순서를 따른다.
+     */
+    private void charge(long userId, long amount) {
+        userPointStore.insertOrUpdate(userId, userPointStore.selectById(userId).point() + amount);
+        pointExpiry.record(userId, TransactionType.CHARGE, amount, clock.get());
+    }
+
+    private void use(long userId, long amount) {
+        userPointStore.insertOrUpdate(userId, userPointStore.selectById(userId).point() - amount);
+        pointExpiry.record(userId, TransactionType.USE, amount, clock.get());
+    }
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.point.PointSummary;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointHistorySummaryTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    @TempDir
+    Path directory;
+
+    private PointHistoryWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.close();
+    }
+
+    @Test
+    @DisplayName("내역을 남길 때마다 전체/일별/월별 합계와 건수가 갱신된다")
+    void summarizeByDayAndMonth() {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.toString(), 1024, false);
+        PointHistorySummary summary = new PointHistorySummary(historyLog, ZONE.getId(), 92, 24);
+        writer = PointTestFixture.syncWriter(historyLog, summary);
+
+        writer.append(1L, 1000L, TransactionType.CHARGE, millis(2024, 4, 30));
+        writer.append(1L, 500L, TransactionType.CHARGE, millis(2024, 5, 1));
+        writer.append(1L, 300L, TransactionType.USE, millis(2024, 5, 1));
+        writer.append(1L, 200L, TransactionType.USE, millis(2024, 5, 2));
+        writer.append(2L, 9999L, TransactionType.CHARGE, millis(2024, 5, 1));
+
+        PointSummary result = summary.summarize(1L, LocalDate.of(2024, 5, 1));
+
+        assertThat(result.lifetime().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Total(1500L, 2));
+        assertThat(result.lifetime().get(TransactionType.USE)).isEqualTo(new PointSummary.Total(500L, 2));
+        assertThat(result.daily().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Total(500L, 1));
+        assertThat(result.daily().get(TransactionType.USE)).isEqualTo(new PointSummary.Total(300L, 1));
+        assertThat(result.month()).isEqualTo(YearMonth.of(2024, 5));
+        assertThat(result.monthly().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Total(500L, 1));
+        assertThat(result.monthly().get(TransactionType.USE)).isEqualTo(new PointSummary.Total(500L, 2));
+    }
+
+    @Test
+    @DisplayName("재시작 후 내역 로그로 다시 만든 합계가 재시작 전과 같다")
+    void rebuildMatchesIncremental() throws InterruptedException {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.toString(), 64, false);
+        PointHistorySummary summary = new PointHistorySummary(historyLog, ZONE.getId(), 92, 24);
+        writer = new PointHistoryWriter(historyLog, summary, "enqueue", 16, 32);
+        long base = millis(2024, 5, 1);
+        for (int i = 0; i < 1_000; i++) {
+            TransactionType type = i % 4 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            writer.append(i % 7, i, type, base + i * 3_600_000L);
+        }
+        writer.awaitVisible();
+        PointSummary before = summary.summarize(3L, LocalDate.of(2024, 5, 20));
+        writer.close();
+        historyLog.close();
+
+        MappedPointHistoryLog reopened = new MappedPointHistoryLog(directory.toString(), 64, false);
+        PointHistorySummary recovered = new PointHistorySummary(reopened, ZONE.getId(), 92, 24);
+        writer = PointTestFixture.syncWriter(reopened, recovered);
+
+        assertThat(recovered.summarize(3L, LocalDate.of(2024, 5, 20))).isEqualTo(before);
+        assertThat(recovered.rebuild().histories()).isEqualTo(1_000L);
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 일별 합계는 0 으로 조회되고 전체 합계에는 남는다")
+    void dropExpiredBuckets() {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.toString(), 1024, false);
+        PointHistorySummary summary = new PointHistorySummary(historyLog, ZONE.getId(), 7, 24);
+        writer = PointTestFixture.syncWriter(historyLog, summary);
+
+        writer.append(1L, 100L, TransactionType.CHARGE, millis(2024, 5, 1));
+        writer.append(1L, 200L, TransactionType.CHARGE, millis(2024, 5, 20));
+
+        PointSummary expired = summary.summarize(1L, LocalDate.of(2024, 5, 1));
+
+        assertThat(expired.daily().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Total(0L, 0));
+        assertThat(expired.monthly().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Total(300L, 2));
+        assertThat(expired.lifetime().get(TransactionType.CHARGE)).isEqualTo(new PointSummary.Total(300L, 2));
+    }
+
+    @Test
+    @DisplayName("rebuild 중에 저장된 내역도 빠지거나 두 번 더해지지 않는다")
+    void rebuildWhileWriting() throws Exception {
+        ColumnarPointHistoryStore store = new ColumnarPointHistoryStore(64);
+        PointHistorySummary summary = new PointHistorySummary(store, ZONE.getId(), 92, 24);
+        writer = PointTestFixture.syncWriter(store, summary);
+        long day = millis(2024, 5, 1);
+
+        Thread appender = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                writer.append(i % 5, 1L, TransactionType.CHARGE, day);
+            }
+        });
+        while (appender.isAlive()) {
+            summary.rebuild();
+        }
+        appender.join();
+
+        for (long userId = 0; userId < 5; userId++) {
+            assertThat(summary.summarize(userId, LocalDate.of(2024, 5, 1)).lifetime().get(TransactionType.CHARGE))
+                    .isEqualTo(new PointSummary.Total(4_000L, 4_000));
+        }
+    }
+
+    private static long millis(int year, int month, int day) {
+        return LocalDate.of(year, month, day).atTime(9, 0).atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.repository.PendingHistory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointHistoryWriterTest {
+
+    @TempDir
+    Path directory;
+
+    private PointHistoryWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.close();
+    }
+
+    @Test
+    @DisplayName("enqueue 모드에서도 조회 전에 자신이 남긴 내역이 모두 보이고 순서가 유지된다")
+    void enqueueModeReadYourWrites() {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.toString(), 1024, false);
+        writer = new PointHistoryWriter(historyLog, PointTestFixture.summary(historyLog), "enqueue", 16, 32);
+
+        for (int i = 0; i < 1_000; i++) {
+            writer.append(i % 3, i, TransactionType.CHARGE, i);
+        }
+        writer.awaitVisible();
+
+        List<PointHistory> histories = historyLog.selectAllByUserId(1L);
+        assertThat(histories).hasSize(333);
+        assertThat(histories).extracting(PointHistory::amount).isSorted();
+    }
+
+    @Test
+    @DisplayName("commit 모드에서는 append 가 반환될 때 이미 저장되어 있다")
+    void commitModeAcksAfterCommit() {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.toString(), 1024, true);
+        writer = new PointHistoryWriter(historyLog, PointTestFixture.summary(historyLog), "commit", 16, 32);
+
+        writer.append(1L, 500L, TransactionType.CHARGE, 1L);
+
+        assertThat(historyLog.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(500L);
+    }
+
+    @Test
+    @DisplayName("예약한 순번이 채워지거나 취소될 때까지 뒤의 내역은 저장되지 않고, 취소된 순번은 내역 없이 넘어간다")
+    void reservedSeqHoldsLaterHistories() {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.toString(), 1024, false);
+        writer = new PointHistoryWriter(historyLog, PointTestFixture.summary(historyLog), "enqueue", 16, 32);
+
+        long first = writer.reserve(2);
+        writer.enqueue(1L, 300L, TransactionType.CHARGE, 3L);
+        writer.fill(first + 1, 1L, 200L, TransactionType.CHARGE, 2L);
+
+        assertThat(historyLog.selectAllByUserId(1L)).isEmpty();
+
+        writer.cancel(first);
+        writer.awaitVisible();
+
+        assertThat(historyLog.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(200L, 300L);
+    }
+
+    @Test
+    @DisplayName("writer 가 Error 로 종료되면 기다리던 호출자는 실패 없이 끝나고, 이후 예약은 잔액을 바꾸기 전에 거절된다")
+    void rejectReserveWhenWriterDies() throws Exception {
+        ColumnarPointHistoryStore store = new ColumnarPointHistoryStore(16) {
+            @Override
+            public void insertAll(List<PendingHistory> histories) {
+                throw new AssertionError("disk gone");
+            }
+        };
+        writer = new PointHistoryWriter(store, PointTestFixture.summary(store), "commit", 16, 32);
+
+        long seq = writer.enqueue(1L, 500L, TransactionType.CHARGE, 1L);
+        CompletableFuture<UserPoint> result = new CompletableFuture<>();
+        UserPoint applied = new UserPoint(1L, 500L, 1L);
+        writer.completeOnCommit(1L, seq, result, applied);
+
+        writer.awaitCommit(1L, seq);
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(applied);
+        writer.awaitVisible();
+        assertThatThrownBy(writer::reserve).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> writer.append(1L, 1L, TransactionType.CHARGE, 2L))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
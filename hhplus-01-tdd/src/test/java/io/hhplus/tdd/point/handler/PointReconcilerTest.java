@@ -0,0 +1,125 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PointReconcilerTest {
+
+    private final StripedUserPointStore userPointStore = new StripedUserPointStore(4, 16);
+    private final ColumnarPointHistoryStore historyStore = new ColumnarPointHistoryStore(4);
+    private final LockManager lockManager = new LockManager();
+    private final BalanceCache balanceCache = new BalanceCache(lockManager, true, 16, 1);
+
+    private PointReconciler reconciler(String engine) {
+        return reconciler(engine, false, "columnar");
+    }
+
+    private PointReconciler reconciler(String engine, boolean durableBalances, String historyStorage) {
+        PointHistoryWriter writer = PointTestFixture.syncWriter(historyStore, PointTestFixture.summary(historyStore));
+        // 구간을 잘게 나눠 여러 작업이 동시에 읽도록 한다.
+        return new PointReconciler(historyStore, userPointStore, lockManager, balanceCache, writer,
+                PointExpiry.disabled(), engine, durableBalances, historyStorage, 4, 3L, 10);
+    }
+
+    /**
+     * 유저마다 충전 후 일부 사용/만료한 잔액과 내역을 남긴다.
+     */
+    private void seed(int users) {
+        for (long userId = 0; userId < users; userId++) {
+            historyStore.insert(userId, 1_000L, TransactionType.CHARGE, 1L);
+            historyStore.insert(userId, userId, TransactionType.USE, 2L);
+            historyStore.insert(userId, 100L, TransactionType.EXPIRE, 3L);
+            userPointStore.insertOrUpdate(userId, 900L - userId);
+        }
+    }
+
+    @Test
+    @DisplayName("잔액과 내역 합계가 모두 같으면 불일치가 없다")
+    void consistent() {
+        seed(50);
+
+        PointReconciler.Report report = reconciler("lock").reconcile(false);
+
+        assertThat(report.scannedRows()).isEqualTo(150L);
+        assertThat(report.lastHistoryId()).isEqualTo(150L);
+        assertThat(report.checkedUsers()).isEqualTo(50);
+        assertThat(report.candidates()).isZero();
+        assertThat(report.mismatches()).isZero();
+    }
+
+    @Test
+    @DisplayName("잔액이 다르거나 잔액 없이 내역만 있는 유저를 찾고, repair 이면 내역 합계로 고친다")
+    void reportAndRepair() {
+        seed(50);
+        userPointStore.insertOrUpdate(7L, 1L);
+        historyStore.insert(99L, 300L, TransactionType.CHARGE, 4L);
+        PointReconciler reconciler = reconciler("lock");
+
+        PointReconciler.Report reported = reconciler.reconcile(false);
+        PointReconciler.Report repaired = reconciler.reconcile(true);
+        PointReconciler.Report after = reconciler.reconcile(false);
+
+        assertThat(reported.users())
+                .extracting(PointReconciler.Mismatch::userId, PointReconciler.Mismatch::balance,
+                        PointReconciler.Mismatch::expected, PointReconciler.Mismatch::repaired)
+                .containsExactlyInAnyOrder(tuple(7L, 1L, 893L, false), tuple(99L, 0L, 300L, false));
+        assertThat(repaired.repaired()).isEqualTo(2);
+        assertThat(userPointStore.selectById(7L).point()).isEqualTo(893L);
+        assertThat(balanceCache.getOrLoad(99L, userPointStore::selectById).point()).isEqualTo(300L);
+        assertThat(after.mismatches()).isZero();
+    }
+
+    @Test
+    @DisplayName("유저 락 밖에서 잔액을 바꾸는 엔진에서는 repair 를 요청해도 보고만 한다")
+    void reportOnlyOnOtherEngines() {
+        seed(10);
+        userPointStore.insertOrUpdate(3L, 1L);
+
+        PointReconciler.Report report = reconciler("optimistic").reconcile(true);
+
+        assertThat(report.repair()).isFalse();
+        assertThat(report.mismatches()).isEqualTo(1);
+        assertThat(report.repaired()).isZero();
+        assertThat(userPointStore.selectById(3L).point()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("잔액은 WAL 로 복구되는데 내역은 메모리에만 있으면 repair 를 요청해도 보고만 한다")
+    void reportOnlyWhenHistoryIsNotDurable() {
+        seed(10);
+        userPointStore.insertOrUpdate(3L, 1L);
+
+        PointReconciler.Report refused = reconciler("lock", true, "columnar").reconcile(true);
+        PointReconciler.Report repaired = reconciler("lock", true, "mmap").reconcile(true);
+
+        assertThat(refused.repair()).isFalse();
+        assertThat(refused.mismatches()).isEqualTo(1);
+        assertThat(repaired.repair()).isTrue();
+        assertThat(repaired.repaired()).isEqualTo(1);
+        assertThat(userPointStore.selectById(3L).point()).isEqualTo(897L);
+    }
+
+    @Test
+    @DisplayName("내역이 한 건도 없는 유저의 잔액은 repair 여도 0 으로 덮어쓰지 않는다")
+    void keepBalanceWithoutHistory() {
+        seed(10);
+        userPointStore.insertOrUpdate(42L, 500L);
+
+        PointReconciler.Report report = reconciler("lock").reconcile(true);
+
+        assertThat(report.users())
+                .extracting(PointReconciler.Mismatch::userId, PointReconciler.Mismatch::balance,
+                        PointReconciler.Mismatch::expected, PointReconciler.Mismatch::repaired)
+                .containsExactly(tuple(42L, 500L, 0L, false));
+        assertThat(report.repaired()).isZero();
+        assertThat(userPointStore.selectById(42L).point()).isEqualTo(500L);
+    }
+}
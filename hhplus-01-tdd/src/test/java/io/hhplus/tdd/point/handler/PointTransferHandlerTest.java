@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point.handler;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.exceptions.PointMaxException;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.exceptions.PointTransferException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PointTransferHandlerTest {
+
+    private final StripedUserPointStore userPointStore = new StripedUserPointStore(4, 16);
+    private final ColumnarPointHistoryStore historyStore = new ColumnarPointHistoryStore(1024);
+
+    private PointTransferHandler handler(int stripes) {
+        LockManager lockManager = new LockManager(stripes);
+        return new PointTestFixture(historyStore, userPointStore, lockManager,
+                new BalanceCache(lockManager, true, 16, 1)).transferHandler();
+    }
+
+    @Test
+    @DisplayName("송금하면 보낸 유저는 USE, 받은 유저는 CHARGE 내역이 남는다")
+    void transfer() {
+        userPointStore.insertOrUpdate(1L, 1_000L);
+
+        PointTransferResult result = handler(1024).transfer(1L, 2L, 300L);
+
+        assertThat(result.from().point()).isEqualTo(700L);
+        assertThat(result.to().point()).isEqualTo(300L);
+        assertThat(historyStore.selectAllByUserId(1L)).extracting(PointHistory::type, PointHistory::amount)
+                .containsExactly(tuple(TransactionType.USE, 300L));
+        assertThat(historyStore.selectAllByUserId(2L)).extracting(PointHistory::type, PointHistory::amount)
+                .containsExactly(tuple(TransactionType.CHARGE, 300L));
+    }
+
+    @Test
+    @DisplayName("잔액이 부족하거나 받는 유저가 한도를 넘으면 두 유저 모두 바뀌지 않는다")
+    void rejectWithoutPartialUpdate() {
+        PointTransferHandler handler = handler(1024);
+        userPointStore.insertOrUpdate(1L, 500L);
+        userPointStore.insertOrUpdate(2L, 999_900L);
+
+        assertThatThrownBy(() -> handler.transfer(1L, 2L, 600L)).isInstanceOf(PointNotException.class);
+        assertThatThrownBy(() -> handler.transfer(1L, 2L, 200L)).isInstanceOf(PointMaxException.class);
+        assertThatThrownBy(() -> handler.transfer(1L, 1L, 100L)).isInstanceOf(PointTransferException.class);
+
+        assertThat(userPointStore.selectById(1L).point()).isEqualTo(500L);
+        assertThat(userPointStore.selectById(2L).point()).isEqualTo(999_900L);
+        assertThat(historyStore.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("두 유저가 서로에게 동시에 송금해도 교착되지 않고 합계가 유지된다 (같은 스트라이프 포함)")
+    void opposingTransfersDoNotDeadlock() throws Exception {
+        for (int stripes : new int[]{1, 1024}) {
+            PointTransferHandler handler = handler(stripes);
+            userPointStore.insertOrUpdate(1L, 10_000L);
+            userPointStore.insertOrUpdate(2L, 10_000L);
+
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            List<CompletableFuture<PointTransferResult>> futures = new ArrayList<>();
+            for (int i = 0; i < 1_000; i++) {
+                long from = i % 2 == 0 ? 1L : 2L;
+                futures.add(CompletableFuture.supplyAsync(() -> handler.transfer(from, 3L - from, 10L), executor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+            executor.shutdown();
+
+            assertThat(userPointStore.selectById(1L).point()).isEqualTo(10_000L);
+            assertThat(userPointStore.selectById(2L).point()).isEqualTo(10_000L);
+        }
+        assertThat(historyStore.size()).isEqualTo(4_000);
+    }
+}
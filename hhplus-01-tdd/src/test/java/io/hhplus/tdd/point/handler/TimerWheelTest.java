@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point.handler;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerWheelTest {
+
+    @Test
+    @DisplayName("등록한 tick 이 되어야 꺼내고, 위 단계와 범위 밖 항목도 제때 꺼낸다")
+    void advanceReturnsEntriesAtDeadline() {
+        TimerWheel wheel = new TimerWheel(100L);
+        wheel.schedule(1L, 101L);
+        wheel.schedule(2L, 100L + 64 * 64 + 5);
+        wheel.schedule(3L, 100L + (1L << 24) + 7);
+        wheel.schedule(4L, 50L);
+
+        assertThat(advance(wheel, 100L + 64 * 64 + 4)).containsExactly(1L, 4L);
+        assertThat(advance(wheel, 100L + 64 * 64 + 5)).containsExactly(2L);
+        assertThat(advance(wheel, 100L + (1L << 24) + 6)).isEmpty();
+        assertThat(advance(wheel, 100L + (1L << 24) + 7)).containsExactly(3L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    private static List<Long> advance(TimerWheel wheel, long nowTick) {
+        TimerWheel.Entries due = new TimerWheel.Entries();
+        wheel.advance(nowTick, due);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < due.size(); i++) {
+            ids.add(due.id(i));
+            assertThat(due.deadline(i)).isLessThanOrEqualTo(nowTick);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.repository.PointHistoryTableRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private PointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        PointTestFixture fixture = new PointTestFixture(new PointHistoryTableRepository(new PointHistoryTable()),
+                new StripedUserPointStore(1, 16));
+        pointService = new PointService(
+                fixture.pointHistoryRepository,
+                fixture.userPointRepository,
+                fixture.lockManager,
+                fixture.balanceCache,
+                fixture.pointHistoryWriter,
+                fixture.pointHistorySummary,
+                new PointMetrics(registry),
+                fixture.transferHandler(),
+                PointExpiry.disabled()
+        );
+    }
+
+    @Test
+    @DisplayName("충전/사용 시 처리 시간과 락 대기/보유 시간이 기록된다")
+    void recordOperationAndLockTimers() {
+        pointService.charge(1L, 100L);
+        pointService.use(1L, 30L);
+
+        assertThat(registry.get("point.service").tag("operation", "charge").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.service").tag("operation", "use").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.lock.wait").tag("operation", "charge").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.lock.hold").tag("operation", "use").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("정책 위반으로 거절된 요청은 예외 종류별로 집계된다")
+    void countRejectionsByException() {
+        assertThatThrownBy(() -> pointService.use(1L, 100L)).isInstanceOf(PointNotException.class);
+
+        assertThat(registry.get("point.rejections").tag("exception", "PointNotException").counter().count()).isEqualTo(1);
+        assertThat(registry.get("point.rejections").tag("exception", "PointMaxException").counter().count()).isZero();
+        assertThat(registry.get("point.service").tag("operation", "use").timer().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.database.ColumnarPointHistoryStore;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.handler.PointReconciler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimedPointHistoryRepositoryTest {
+
+    @Test
+    @DisplayName("감싼 저장소로 대조해도 저장소의 구간 읽기를 그대로 쓰고, 호출 시간이 기록된다")
+    void reconcileThroughTimedRepository() {
+        AtomicInteger fullScans = new AtomicInteger();
+        ColumnarPointHistoryStore historyStore = new ColumnarPointHistoryStore(4) {
+            @Override
+            public void forEach(Consumer<PointHistory> consumer) {
+                fullScans.incrementAndGet();
+                super.forEach(consumer);
+            }
+        };
+        StripedUserPointStore userPointStore = new StripedUserPointStore(4, 16);
+        for (long userId = 0; userId < 20; userId++) {
+            historyStore.insert(userId, 500L, TransactionType.CHARGE, 1L);
+            historyStore.insert(userId, 200L, TransactionType.USE, 2L);
+            userPointStore.insertOrUpdate(userId, 300L);
+        }
+        userPointStore.insertOrUpdate(5L, 1L);
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TimedPointHistoryRepository timed = new TimedPointHistoryRepository(historyStore, "history", registry);
+        PointTestFixture fixture = new PointTestFixture(timed, userPointStore);
+        PointReconciler reconciler = new PointReconciler(timed, userPointStore, fixture.lockManager,
+                fixture.balanceCache, fixture.pointHistoryWriter, PointExpiry.disabled(),
+                "lock", false, "columnar", 2, 10L, 10);
+        fullScans.set(0);
+
+        PointReconciler.Report report = reconciler.reconcile(false);
+
+        assertThat(report.lastHistoryId()).isEqualTo(40L);
+        assertThat(report.scannedRows()).isEqualTo(40L);
+        assertThat(report.users()).extracting(PointReconciler.Mismatch::userId).containsExactly(5L);
+        assertThat(fullScans).hasValue(0);
+        assertThat(registry.get("point.storage").tag("method", "lastId").timer().count()).isEqualTo(1);
+        assertThat(registry.get("point.storage").tag("method", "forEachInRange").timer().count()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,166 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.handler.LockManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DurableUserPointRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("재기동하면 스냅샷과 스냅샷 이후의 WAL 로 잔액이 복구된다")
+    void recoverFromSnapshotAndWal() throws Exception {
+        DurableUserPointRepository repository = open();
+        repository.insertOrUpdate(1L, 100L);
+        repository.insertOrUpdate(2L, 200L);
+        repository.snapshot();
+        repository.insertOrUpdate(1L, 150L);
+        repository.insertOrUpdate(3L, 300L);
+        repository.close();
+
+        DurableUserPointRepository recovered = open();
+
+        assertThat(recovered.selectById(1L).point()).isEqualTo(150L);
+        assertThat(recovered.selectById(2L).point()).isEqualTo(200L);
+        assertThat(recovered.selectById(3L).point()).isEqualTo(300L);
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("기록 도중 잘린 WAL 레코드는 버리고 그 앞까지 복구한다")
+    void discardTornRecord() throws Exception {
+        DurableUserPointRepository repository = open();
+        repository.insertOrUpdate(1L, 100L);
+        repository.insertOrUpdate(1L, 200L);
+        repository.close();
+        Files.write(lastSegment(), new byte[20], StandardOpenOption.APPEND);
+
+        DurableUserPointRepository recovered = open();
+        recovered.insertOrUpdate(2L, 50L);
+        recovered.close();
+
+        DurableUserPointRepository reopened = open();
+        assertThat(reopened.selectById(1L).point()).isEqualTo(200L);
+        assertThat(reopened.selectById(2L).point()).isEqualTo(50L);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("WAL 기록에 실패하면 저장소의 잔액은 바뀌지 않는다")
+    void keepStoreWhenWalFails() throws Exception {
+        StripedUserPointStore store = new StripedUserPointStore(4, 16);
+        DurableUserPointRepository repository = open(store);
+        repository.insertOrUpdate(1L, 100L);
+        repository.close();
+
+        assertThatThrownBy(() -> repository.insertOrUpdate(1L, 200L)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.selectById(1L).point()).isEqualTo(100L);
+        DurableUserPointRepository reopened = open();
+        assertThat(reopened.selectById(1L).point()).isEqualTo(100L);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("동시에 compareAndSet 으로 바꾼 잔액도 재기동 후 마지막 잔액으로 복구된다")
+    void recoverConcurrentCompareAndSet() throws Exception {
+        DurableUserPointRepository repository = open();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[8];
+        for (int t = 0; t < tasks.length; t++) {
+            tasks[t] = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 200; i++) {
+                    UserPoint current;
+                    do {
+                        current = repository.selectById(1L);
+                    } while (repository.compareAndSet(1L, current.version(), current.point() + 1) == null);
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(tasks).join();
+        executor.shutdown();
+        repository.close();
+
+        DurableUserPointRepository recovered = open();
+        assertThat(recovered.selectById(1L).point()).isEqualTo(1_600L);
+        recovered.close();
+    }
+
+    @Test
+    @DisplayName("WAL 에 기록했지만 아직 반영하지 않은 변경이 있을 때 스냅샷을 떠도 재기동하면 그 변경이 복구된다")
+    void recoverWriteInFlightDuringSnapshot() throws Exception {
+        CountDownLatch logged = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StripedUserPointStore store = new StripedUserPointStore(4, 16) {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                if (id == 2L) {
+                    logged.countDown();
+                    awaitUninterruptibly(release);
+                }
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        DurableUserPointRepository repository = open(store);
+        repository.insertOrUpdate(1L, 100L);
+        CompletableFuture<UserPoint> write = CompletableFuture.supplyAsync(() -> repository.insertOrUpdate(2L, 200L));
+        logged.await();
+
+        Thread snapshotter = Thread.ofPlatform().start(repository::snapshot);
+        while (snapshotter.isAlive() && snapshotter.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        write.join();
+        snapshotter.join();
+        repository.close();
+
+        DurableUserPointRepository recovered = open();
+        assertThat(recovered.selectById(1L).point()).isEqualTo(100L);
+        assertThat(recovered.selectById(2L).point()).isEqualTo(200L);
+        recovered.close();
+    }
+
+    private DurableUserPointRepository open() {
+        return open(new StripedUserPointStore(4, 16));
+    }
+
+    private DurableUserPointRepository open(StripedUserPointStore store) {
+        return new DurableUserPointRepository(store, new LockManager(), directory.toString(), "group", 10, 1 << 20, 0);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log"))
+                    .sorted()
+                    .reduce((first, second) -> second)
+                    .orElseThrow();
+        }
+    }
+}
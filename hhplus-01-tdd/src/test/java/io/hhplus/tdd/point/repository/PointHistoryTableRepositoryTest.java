@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointHistoryTableRepositoryTest {
+
+    @Test
+    @DisplayName("동시에 저장해도 insert 가 반환되면 그 id 까지 빈 곳 없이 변경분 조회에 보인다")
+    void visibleWithoutGapsAfterConcurrentInserts() {
+        PointHistoryTableRepository repository = new PointHistoryTableRepository(new PointHistoryTable());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[4];
+        for (int t = 0; t < tasks.length; t++) {
+            long userId = t + 1;
+            tasks[t] = CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < 4; i++) {
+                    PointHistory history = repository.insert(userId, 100L, TransactionType.CHARGE, i);
+                    assertThat(repository.lastId()).isGreaterThanOrEqualTo(history.id());
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(tasks).join();
+        executor.shutdown();
+
+        List<Long> ids = new ArrayList<>();
+        repository.forEachAfter(0L, history -> ids.add(history.id()));
+
+        assertThat(repository.lastId()).isEqualTo(16L);
+        assertThat(ids).containsExactlyElementsOf(LongStream.rangeClosed(1, 16).boxed().toList());
+    }
+}
@@ -0,0 +1,132 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AsyncPointServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedPointHistoryLog historyLog;
+    private PointTestFixture fixture;
+    private StripedUserPointStore userPointStore;
+    private PointExpiry pointExpiry;
+    private AsyncPointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        historyLog = new MappedPointHistoryLog(directory.toString(), 1 << 16, false);
+        userPointStore = new StripedUserPointStore(16, 4096);
+        fixture = new PointTestFixture(historyLog, userPointStore, new LockManager(64));
+        pointExpiry = new PointExpiry(userPointStore, fixture.lockManager, fixture.balanceCache,
+                fixture.pointHistoryWriter, true, Duration.ofSeconds(10), 1_000L, () -> 1_000_000L);
+        PointService lockService = fixture.pointService(pointExpiry);
+        // 저장소에 지연이 없으므로 서비스 호출을 타이머 스레드에서 바로 실행해, 스레드 두 개로만 처리되게 한다.
+        pointService = new AsyncPointService(lockService, Runnable::run, 2, 20L, 20L, 20L);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointService.close();
+        fixture.pointHistoryWriter.close();
+        historyLog.close();
+    }
+
+    @Test
+    @DisplayName("같은 유저의 요청은 도착 순서대로 처리되고, 실패한 요청 뒤의 요청도 이어서 처리된다")
+    void keepOrderPerUser() {
+        List<CompletableFuture<UserPoint>> results = new ArrayList<>();
+        results.add(pointService.charge(1L, 100L));
+        for (int i = 0; i < 10; i++) {
+            results.add(pointService.use(1L, 10L));
+        }
+        CompletableFuture<UserPoint> rejected = pointService.use(1L, 1L);
+        CompletableFuture<UserPoint> last = pointService.charge(1L, 5L);
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).join().point()).isEqualTo(100L - 10L * i);
+        }
+        assertThatThrownBy(rejected::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(PointNotException.class);
+        assertThat(last.join().point()).isEqualTo(5L);
+        assertThat(pointService.getHistory(1L).join()).hasSize(12);
+    }
+
+    @Test
+    @DisplayName("비동기 충전/사용도 동기 API 와 같이 만료 lot 을 남기고 차감한다")
+    void recordExpiryLots() {
+        pointService.charge(2L, 300L).join();
+        pointService.use(2L, 120L).join();
+
+        assertThat(pointExpiry.expiringPoint(2L)).isEqualTo(180L);
+    }
+
+    @Test
+    @DisplayName("스레드 두 개로 2만 개의 요청을 동시에 기다리며 처리한다")
+    void manyInFlightOnFewThreads() throws Exception {
+        int requests = 20_000;
+        int users = 2_000;
+        CompletableFuture<?>[] results = new CompletableFuture<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            results[i] = pointService.charge((long) (i % users), 1L);
+        }
+        assertThat(pointService.stats().inFlight()).isPositive();
+
+        CompletableFuture.allOf(results).get(30, TimeUnit.SECONDS);
+
+        for (long userId = 0; userId < users; userId++) {
+            assertThat(userPointStore.selectById(userId).point()).isEqualTo(requests / users);
+        }
+        assertThat(pointService.stats()).isEqualTo(new AsyncPointService.Stats(0, 0));
+    }
+
+    @Test
+    @DisplayName("잔액 변경을 지금 엔진(event-loop)에 맡기므로 동기 API 와 섞여 들어와도 잔액이 맞는다")
+    void routeThroughActiveEngine() throws Exception {
+        EventLoopPointService eventLoop = new EventLoopPointService(historyLog, userPointStore, fixture.balanceCache,
+                fixture.pointHistoryWriter, fixture.pointHistorySummary, fixture.pointMetrics, 2, 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AsyncPointService asyncService = new AsyncPointService(eventLoop, executor, 2, 0L, 0L, 0L);
+
+        CompletableFuture<?>[] results = new CompletableFuture<?>[2_000];
+        for (int i = 0; i < results.length; i++) {
+            long userId = i % 10;
+            results[i] = i % 2 == 0
+                    ? asyncService.charge(userId, 1L)
+                    : CompletableFuture.runAsync(() -> eventLoop.charge(userId, 1L), executor);
+        }
+        CompletableFuture.allOf(results).get(30, TimeUnit.SECONDS);
+
+        for (long userId = 0; userId < 10; userId++) {
+            assertThat(userPointStore.selectById(userId).point()).isEqualTo(200L);
+        }
+        asyncService.close();
+        eventLoop.close();
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,154 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.exceptions.PointMaxException;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.exceptions.PointOverException;
+import io.hhplus.tdd.exceptions.PointTransferException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventLoopPointServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private MappedPointHistoryLog historyLog;
+    private PointHistoryWriter historyWriter;
+    private EventLoopPointService pointService;
+
+    @BeforeEach
+    void setUp() {
+        historyLog = new MappedPointHistoryLog(directory.toString(), 1024, false);
+        LockManager lockManager = new LockManager(64);
+        PointTestFixture fixture = new PointTestFixture(historyLog, new StripedUserPointStore(4, 1024), lockManager,
+                new BalanceCache(lockManager, true, 1024, 4));
+        historyWriter = fixture.pointHistoryWriter;
+        pointService = new EventLoopPointService(
+                historyLog,
+                fixture.userPointRepository,
+                fixture.balanceCache,
+                historyWriter,
+                fixture.pointHistorySummary,
+                fixture.pointMetrics,
+                2,
+                8
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointService.close();
+        historyWriter.close();
+        historyLog.close();
+    }
+
+    @Test
+    @DisplayName("한 유저에게 충전과 사용이 동시에 몰려도 writer 가 순서대로 처리해 모두 반영된다")
+    void concurrentChargeAndUse() {
+        long userId = 1L;
+        pointService.charge(userId, 10_000L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[400];
+        for (int i = 0; i < requests.length; i++) {
+            boolean charge = i % 2 == 0;
+            requests[i] = CompletableFuture.runAsync(() -> {
+                if (charge) {
+                    pointService.charge(userId, 30L);
+                } else {
+                    pointService.use(userId, 10L);
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(requests).join();
+        executor.shutdown();
+
+        UserPoint result = pointService.getPoint(userId);
+        List<PointHistory> histories = pointService.getHistory(userId);
+        assertThat(result.point()).isEqualTo(10_000L + 200 * 30L - 200 * 10L);
+        assertThat(histories).hasSize(401);
+        assertThat(histories).filteredOn(history -> history.type() == TransactionType.USE).hasSize(200);
+    }
+
+    @Test
+    @DisplayName("PointService 와 같은 예외가 발생하고, 실패한 요청은 잔액과 내역에 남지 않는다")
+    void sameValidationAsPointService() {
+        long userId = 2L;
+        pointService.charge(userId, 100L);
+
+        assertThatThrownBy(() -> pointService.charge(userId, -1L)).isInstanceOf(PointOverException.class);
+        assertThatThrownBy(() -> pointService.use(userId, 101L)).isInstanceOf(PointNotException.class);
+        assertThatThrownBy(() -> pointService.charge(userId, 1_000_000L)).isInstanceOf(PointMaxException.class);
+
+        assertThat(pointService.getPoint(userId).point()).isEqualTo(100L);
+        assertThat(pointService.getHistory(userId)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("양방향 송금과 충전/사용이 동시에 몰려도 두 파티션을 멈추고 처리해 전체 잔액과 내역이 맞는다")
+    void concurrentTransfer() {
+        int users = 6;
+        for (long userId = 10; userId < 10 + users; userId++) {
+            pointService.charge(userId, 10_000L);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<?>> requests = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            long fromId = 10 + i % users;
+            long toId = 10 + (i + 1 + i % (users - 1)) % users;
+            requests.add(CompletableFuture.runAsync(() -> pointService.transfer(fromId, toId, 7L), executor));
+            requests.add(CompletableFuture.runAsync(() -> pointService.charge(fromId, 1L), executor));
+        }
+        CompletableFuture.allOf(requests.toArray(CompletableFuture<?>[]::new)).join();
+        executor.shutdown();
+
+        long total = 0L;
+        for (long userId = 10; userId < 10 + users; userId++) {
+            long balance = pointService.getPoint(userId).point();
+            long replayed = pointService.getHistory(userId).stream()
+                    .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                    .sum();
+            assertThat(replayed).isEqualTo(balance);
+            total += balance;
+        }
+        assertThat(total).isEqualTo(users * 10_000L + 600L);
+        assertThatThrownBy(() -> pointService.transfer(10L, 10L, 1L)).isInstanceOf(PointTransferException.class);
+    }
+
+    @Test
+    @DisplayName("종료하면 이미 들어온 요청은 처리하고 새 요청은 받지 않는다")
+    void rejectAfterClose() throws InterruptedException {
+        List<CompletableFuture<UserPoint>> submitted = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            submitted.add(pointService.submit(3L, TransactionType.CHARGE, 1L));
+        }
+        pointService.close();
+
+        assertThat(submitted).allSatisfy(result -> assertThat(result).isCompleted());
+        assertThat(pointService.getPoint(3L).point()).isEqualTo(100L);
+        assertThatThrownBy(() -> pointService.charge(3L, 1L)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link PointServiceIntegrationTest} 의 동시성 테스트를 point.engine=optimistic 으로 다시 실행한다.
+ */
+@SpringBootTest(properties = "point.engine=optimistic")
+class OptimisticPointServiceIntegrationTest extends PointServiceIntegrationTest {
+
+    @Autowired
+    private IPointService pointService;
+
+    @Test
+    @DisplayName("point.engine=optimistic 이면 OptimisticPointService 가 주입된다")
+    void optimisticEngineActive() {
+        assertThat(pointService).isInstanceOf(OptimisticPointService.class);
+    }
+}
@@ -0,0 +1,129 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exceptions.PointConflictException;
+import io.hhplus.tdd.exceptions.PointTransferException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.repository.PointHistoryTableRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointTableRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.mock;
+
+class OptimisticPointServiceTest {
+
+    private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+
+    @Test
+    @DisplayName("잔액 충전 동시성 테스트 - 동시에 10번 충전 요청이 와도 충돌 후 다시 시도해 모두 반영된다")
+    void concurrentChargeIsRetried() {
+        OptimisticPointService pointService = service(new UserPointTableRepository(new UserPointTable()));
+        long userId = 1L;
+        pointService.charge(userId, 1000L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[10];
+        for (int i = 0; i < 10; i++) {
+            requests[i] = CompletableFuture.runAsync(() -> pointService.charge(userId, 100L), executor);
+        }
+        CompletableFuture.allOf(requests).join();
+        executor.shutdown();
+
+        assertThat(pointService.getPoint(userId).point()).isEqualTo(2000L);
+        assertThat(pointService.getHistory(userId)).hasSize(11);
+    }
+
+    @Test
+    @DisplayName("충전과 사용이 동시에 와도 잔액은 모든 요청을 반영한 값이 된다")
+    void concurrentChargeAndUse() {
+        OptimisticPointService pointService = service(new StripedUserPointStore(4, 16));
+        long userId = 2L;
+        pointService.charge(userId, 10_000L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        AtomicInteger completed = new AtomicInteger();
+        CompletableFuture<?>[] requests = new CompletableFuture<?>[200];
+        for (int i = 0; i < requests.length; i++) {
+            boolean charge = i % 2 == 0;
+            requests[i] = CompletableFuture.runAsync(() -> {
+                if (charge) {
+                    pointService.charge(userId, 30L);
+                } else {
+                    pointService.use(userId, 10L);
+                }
+                completed.incrementAndGet();
+            }, executor);
+        }
+        CompletableFuture.allOf(requests).join();
+        executor.shutdown();
+
+        UserPoint result = pointService.getPoint(userId);
+        List<PointHistory> histories = pointService.getHistory(userId);
+        assertThat(completed.get()).isEqualTo(200);
+        assertThat(result.point()).isEqualTo(10_000L + 100 * 30L - 100 * 10L);
+        assertThat(result.version()).isEqualTo(201L);
+        assertThat(histories).filteredOn(history -> history.type() == TransactionType.USE).hasSize(100);
+    }
+
+    @Test
+    @DisplayName("재시도 한도까지 모두 충돌하면 PointConflictException 이 발생한다")
+    void conflictAfterMaxAttempts() {
+        UserPointRepository userPointRepository = mock(UserPointRepository.class);
+        given(userPointRepository.selectById(anyLong())).willReturn(new UserPoint(3L, 100L, 0L, 5L));
+        given(userPointRepository.compareAndSet(anyLong(), anyLong(), anyLong())).willReturn(null);
+        OptimisticPointService pointService = service(userPointRepository);
+
+        assertThatThrownBy(() -> pointService.use(3L, 10L))
+                .isInstanceOf(PointConflictException.class);
+        assertThat(pointHistoryTable.selectAllByUserId(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("두 잔액을 한 번에 바꿀 수 없으므로 송금은 거절하고 잔액과 내역을 건드리지 않는다")
+    void transferRejected() {
+        OptimisticPointService pointService = service(new StripedUserPointStore(4, 16));
+        pointService.charge(4L, 1_000L);
+        pointService.charge(5L, 500L);
+
+        assertThatThrownBy(() -> pointService.transfer(4L, 5L, 100L)).isInstanceOf(PointTransferException.class);
+        assertThatThrownBy(() -> pointService.transfer(4L, 4L, 1L)).isInstanceOf(PointTransferException.class);
+
+        assertThat(pointService.getPoint(4L).point()).isEqualTo(1_000L);
+        assertThat(pointService.getPoint(5L).point()).isEqualTo(500L);
+        assertThat(pointService.getHistory(4L)).extracting(PointHistory::type).containsExactly(TransactionType.CHARGE);
+        assertThat(pointService.getHistory(5L)).extracting(PointHistory::type).containsExactly(TransactionType.CHARGE);
+    }
+
+    private OptimisticPointService service(UserPointRepository userPointRepository) {
+        PointTestFixture fixture = new PointTestFixture(new PointHistoryTableRepository(pointHistoryTable),
+                userPointRepository);
+        return new OptimisticPointService(
+                fixture.pointHistoryRepository,
+                userPointRepository,
+                fixture.balanceCache,
+                fixture.pointHistoryWriter,
+                fixture.pointHistorySummary,
+                fixture.pointMetrics,
+                32,
+                1_000L,
+                1_000_000L
+        );
+    }
+}
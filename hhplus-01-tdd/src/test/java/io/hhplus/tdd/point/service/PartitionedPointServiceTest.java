@@ -0,0 +1,149 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.MappedPointHistoryLog;
+import io.hhplus.tdd.database.StripedUserPointStore;
+import io.hhplus.tdd.exceptions.PointNotException;
+import io.hhplus.tdd.exceptions.PointTransferException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTestFixture;
+import io.hhplus.tdd.point.PointTransferResult;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.partition.PointShard;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartitionedPointServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private PartitionedPointService pointService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        pointService.close();
+    }
+
+    @Test
+    @DisplayName("유저마다 하나의 shard 로 요청이 가고, 정책 예외는 그대로 전달된다")
+    void routeByUser() {
+        pointService = new PartitionedPointService(this::shard, 4, 128);
+        for (long userId = 1; userId <= 200; userId++) {
+            pointService.charge(userId, userId * 10);
+            pointService.use(userId, userId);
+        }
+
+        for (long userId = 1; userId <= 200; userId++) {
+            assertThat(pointService.getPoint(userId).point()).isEqualTo(userId * 9);
+            assertThat(pointService.getHistory(userId)).extracting(PointHistory::type)
+                    .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+        }
+        assertThat(pointService.shards()).hasSize(4)
+                .allSatisfy(stats -> assertThat(stats.users()).isPositive());
+        assertThat(totalUsers()).isEqualTo(200L);
+        assertThatThrownBy(() -> pointService.use(1L, 10_000L)).isInstanceOf(PointNotException.class);
+    }
+
+    @Test
+    @DisplayName("shard 를 추가하면 약 1/(N+1) 의 유저만 새 shard 로 옮겨지고 잔액과 내역은 그대로다")
+    void addShardMovesFewUsers() {
+        pointService = new PartitionedPointService(this::shard, 4, 128);
+        int users = 2_000;
+        for (long userId = 0; userId < users; userId++) {
+            pointService.charge(userId, 1_000L + userId);
+            pointService.use(userId, userId);
+        }
+        Map<Long, String> before = new HashMap<>();
+        for (long userId = 0; userId < users; userId++) {
+            before.put(userId, pointService.shardFor(userId));
+        }
+
+        PartitionedPointService.RebalanceResult result = pointService.addShard();
+
+        assertThat(result.shardId()).isEqualTo("shard-4");
+        assertThat(result.movedUsers()).isBetween(users / 5L - 150, users / 5L + 150);
+        assertThat(result.movedHistories()).isEqualTo(result.movedUsers() * 2);
+        long moved = before.entrySet().stream()
+                .filter(entry -> !entry.getValue().equals(pointService.shardFor(entry.getKey())))
+                .peek(entry -> assertThat(pointService.shardFor(entry.getKey())).isEqualTo("shard-4"))
+                .count();
+        assertThat(moved).isEqualTo(result.movedUsers());
+        assertThat(totalUsers()).isEqualTo((long) users);
+
+        // 옮겨 간 유저의 이전 데이터가 다음 추가 때 다시 옮겨지지 않아야 한다.
+        for (long userId = 0; userId < users; userId++) {
+            pointService.charge(userId, 1L);
+        }
+        pointService.addShard();
+
+        for (long userId = 0; userId < users; userId++) {
+            assertThat(pointService.getPoint(userId).point()).isEqualTo(1_001L);
+            List<PointHistory> histories = pointService.getHistory(userId);
+            assertThat(histories).extracting(PointHistory::amount).containsExactly(1_000L + userId, userId, 1L);
+            assertThat(pointService.getSummary(userId, null).lifetime().get(TransactionType.CHARGE).count()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 shard 의 유저끼리는 shard 안에서 송금하고, 다른 shard 의 유저에게 보내는 송금은 거절한다")
+    void transfer() {
+        pointService = new PartitionedPointService(this::shard, 4, 128);
+        long fromId = 1L;
+        long sameShardId = 2L;
+        while (!pointService.shardFor(sameShardId).equals(pointService.shardFor(fromId))) {
+            sameShardId++;
+        }
+        long otherShardId = 2L;
+        while (pointService.shardFor(otherShardId).equals(pointService.shardFor(fromId))) {
+            otherShardId++;
+        }
+        pointService.charge(fromId, 1_000L);
+        pointService.charge(otherShardId, 500L);
+
+        PointTransferResult result = pointService.transfer(fromId, sameShardId, 200L);
+        long receiverId = otherShardId;
+        assertThatThrownBy(() -> pointService.transfer(fromId, receiverId, 100L)).isInstanceOf(PointTransferException.class);
+        assertThatThrownBy(() -> pointService.transfer(fromId, fromId, 1L)).isInstanceOf(PointTransferException.class);
+
+        assertThat(result.from().point()).isEqualTo(800L);
+        assertThat(result.to().point()).isEqualTo(200L);
+        assertThat(pointService.getPoint(fromId).point()).isEqualTo(800L);
+        assertThat(pointService.getPoint(otherShardId).point()).isEqualTo(500L);
+        assertThat(pointService.getHistory(fromId)).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+        assertThat(pointService.getHistory(otherShardId)).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE);
+    }
+
+    private long totalUsers() {
+        return pointService.shards().stream().mapToLong(PartitionedPointService.ShardStats::users).sum();
+    }
+
+    private PointShard shard(String shardId) {
+        MappedPointHistoryLog historyLog = new MappedPointHistoryLog(directory.resolve(shardId).toString(), 1024, false);
+        PointTestFixture fixture = new PointTestFixture(historyLog, new StripedUserPointStore(4, 1024),
+                new LockManager(64));
+        return new PointShard(
+                shardId,
+                fixture.userPointRepository,
+                historyLog,
+                fixture.lockManager,
+                fixture.balanceCache,
+                fixture.pointHistorySummary,
+                fixture.pointHistoryWriter,
+                fixture.pointMetrics,
+                4
+        );
+    }
+}
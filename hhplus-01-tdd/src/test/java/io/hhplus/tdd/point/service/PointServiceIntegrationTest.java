@@ -19,7 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 public class PointServiceIntegrationTest {
 
     @Autowired
-    private PointService pointService;
+    private IPointService pointService;
     @Test
     @DisplayName("포인트 충전 / 사용 동시성 테스트 - 포인트 충전/사용이 순차적으로 처리되는지 테스트")
     public void pointChargeUseConcurrentTest() throws Exception {
@@ -1,15 +1,21 @@
 package io.hhplus.tdd.point.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.exceptions.PointMaxException;
 import io.hhplus.tdd.exceptions.PointNotException;
 import io.hhplus.tdd.exceptions.PointOverException;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointTestFixture;
 import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
 
+import io.hhplus.tdd.point.cache.BalanceCache;
 import io.hhplus.tdd.point.handler.LockManager;
+import io.hhplus.tdd.point.handler.PointExpiry;
+import io.hhplus.tdd.point.handler.PointHistorySummary;
+import io.hhplus.tdd.point.handler.PointHistoryWriter;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -20,6 +26,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
@@ -37,11 +44,21 @@ class PointServiceTest {
     private UserPoint userPoint;
     private final ReentrantLock lock = new ReentrantLock();
     @Mock
-    private UserPointTable userPointTable;
+    private UserPointRepository userPointRepository;
     @Mock
-    private PointHistoryTable pointHistoryTable;
+    private PointHistoryRepository pointHistoryRepository;
     @Mock
     LockManager lockManager;
+    @Mock
+    private PointHistoryWriter pointHistoryWriter;
+    @Mock
+    private PointHistorySummary pointHistorySummary;
+    @Spy
+    private BalanceCache balanceCache = PointTestFixture.disabledCache(new LockManager());
+    @Spy
+    private PointMetrics pointMetrics = PointMetrics.noop();
+    @Spy
+    private PointExpiry pointExpiry = PointExpiry.disabled();
     @InjectMocks
     private PointService pointService;
     @BeforeEach
@@ -55,7 +72,7 @@ class PointServiceTest {
         @Test
         @DisplayName("존재하는 유저의 포인트를 조회하면 해당 포인트를 반환한다")
         void getPoint_whenUserExists() {
-            given(userPointTable.selectById(1L)).willReturn(userPoint);
+            given(userPointRepository.selectById(1L)).willReturn(userPoint);
 
             UserPoint point = pointService.getPoint(1L);
 
@@ -67,7 +84,7 @@ class PointServiceTest {
         @Test
         @DisplayName("포인트 저장 이력이 없는 회원 조회시 포인트 0원으로 조회되는지 테스트")
         void getPoint_whenUserDoesNotExist() {
-            given(userPointTable.selectById(2L)).willReturn(UserPoint.empty(2L));
+            given(userPointRepository.selectById(2L)).willReturn(UserPoint.empty(2L));
 
             UserPoint emptyPoint = pointService.getPoint(2L);
 
@@ -82,7 +99,7 @@ class PointServiceTest {
         @DisplayName("신규 Point History 조회")
         void getEmptyHistory() {
             // given
-            given(pointHistoryTable.selectAllByUserId(3L))
+            given(pointHistoryRepository.selectAllByUserId(3L))
                     .willReturn(Collections.emptyList());
 
             // when
@@ -107,7 +124,7 @@ class PointServiceTest {
                     new PointHistory(2, 3L, 400L, TransactionType.CHARGE, System.currentTimeMillis()),
                     new PointHistory(3, 3L, 500L, TransactionType.USE, System.currentTimeMillis())
             );
-            given(pointHistoryTable.selectAllByUserId(3L)).willReturn(history);
+            given(pointHistoryRepository.selectAllByUserId(3L)).willReturn(history);
 
             // when
             List<PointHistory> result = pointService.getHistory(3L);
@@ -134,13 +151,13 @@ class PointServiceTest {
             given(lockManager.getLock(1L))
                     .willReturn(lock);
             //given
-            given(userPointTable.selectById(1L))
+            given(userPointRepository.selectById(1L))
                     .willReturn(userPoint);
 
             long chargingPoint = 5000L;
             long newPoint = userPoint.point() + chargingPoint;
 
-            given(userPointTable.insertOrUpdate(1L, newPoint))
+            given(userPointRepository.insertOrUpdate(1L, newPoint))
                     .willReturn(new UserPoint(1L, 8000L, System.currentTimeMillis()));
 
             //when
@@ -168,7 +185,7 @@ class PointServiceTest {
                     .willReturn(lock);
 
             // given
-            given(userPointTable.selectById(2L))
+            given(userPointRepository.selectById(2L))
                     .willReturn(new UserPoint(2L, 500000L, System.currentTimeMillis()));
             // when & then
             assertThatThrownBy(() -> pointService.charge(2L, 600000L))
@@ -188,13 +205,13 @@ class PointServiceTest {
             given(lockManager.getLock(1L))
                     .willReturn(lock);
             //given
-            given(userPointTable.selectById(1L))
+            given(userPointRepository.selectById(1L))
                     .willReturn(userPoint);
 
             long usingPoint = 2000L;
             long newPoint = userPoint.point() - usingPoint;
 
-            given(userPointTable.insertOrUpdate(1L, newPoint))
+            given(userPointRepository.insertOrUpdate(1L, newPoint))
                     .willReturn(new UserPoint(1L, 1000L, System.currentTimeMillis()));
 
             //when
@@ -212,7 +229,7 @@ class PointServiceTest {
             given(lockManager.getLock(1L))
                     .willReturn(lock);
             // given
-            given(userPointTable.selectById(1L))
+            given(userPointRepository.selectById(1L))
                     .willReturn(userPoint);
 
             // when & then
@@ -224,6 +241,6 @@ class PointServiceTest {
 
     // insertHistory 메서드는 테스트 코드에서만 사용되는 메서드
     private void insertHistory(long userId, long amount, TransactionType transactionType) {
-        pointHistoryTable.insert(userId, amount, transactionType, System.currentTimeMillis());
+        pointHistoryRepository.insert(userId, amount, transactionType, System.currentTimeMillis());
     }
 }
\ No newline at end of file